@@ -20,6 +20,7 @@ package org.apache.skywalking.apm.commons.datacarrier;
 
 import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.Channels;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.IChannelsMonitor;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.ConsumeDriver;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.ConsumerPool;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
@@ -70,6 +71,16 @@ public class DataCarrier<T> {
         return this;
     }
 
+    /**
+     * set a monitor observing the producing and consuming of this DataCarrier, null means no monitor.
+     *
+     * @return DataCarrier instance for chain
+     */
+    public DataCarrier setMonitor(IChannelsMonitor monitor) {
+        this.channels.setMonitor(monitor);
+        return this;
+    }
+
     /**
      * produce data to buffer, using the given {@link BufferStrategy}.
      *
@@ -29,6 +29,7 @@ public class Channels<T> {
     private IDataPartitioner<T> dataPartitioner;
     private final BufferStrategy strategy;
     private final long size;
+    private volatile IChannelsMonitor monitor;
 
     public Channels(int channelSize, int bufferSize, IDataPartitioner<T> partitioner, BufferStrategy strategy) {
         this.dataPartitioner = partitioner;
@@ -59,6 +60,10 @@ public class Channels<T> {
                 return true;
             }
         }
+        final IChannelsMonitor monitor = this.monitor;
+        if (monitor != null) {
+            monitor.onDropped();
+        }
         return false;
     }
 
@@ -87,6 +92,14 @@ public class Channels<T> {
         return size;
     }
 
+    public IChannelsMonitor getMonitor() {
+        return monitor;
+    }
+
+    public void setMonitor(IChannelsMonitor monitor) {
+        this.monitor = monitor;
+    }
+
     public QueueBuffer<T> getBuffer(int index) {
         return this.bufferChannels[index];
     }
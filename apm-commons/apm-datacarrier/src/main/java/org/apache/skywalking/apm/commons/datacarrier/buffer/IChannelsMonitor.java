@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+/**
+ * IChannelsMonitor observes the producing and consuming of the {@link Channels}. It is called in the producer and
+ * consumer threads, so the implementation should be thread safe and cheap.
+ */
+public interface IChannelsMonitor {
+    /**
+     * The data is not saved into the channels, usually because the buffer is full in the {@link
+     * BufferStrategy#IF_POSSIBLE} strategy.
+     */
+    void onDropped();
+
+    /**
+     * A batch of data is obtained from the channels and consumed.
+     *
+     * @param size      the number of data in the batch, which is also the occupancy of the buffers when obtained.
+     * @param costNanos the time spent by the consumer.
+     */
+    void onConsumed(int size, long costNanos);
+}
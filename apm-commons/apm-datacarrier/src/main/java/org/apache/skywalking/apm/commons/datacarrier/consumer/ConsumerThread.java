@@ -21,6 +21,8 @@ package org.apache.skywalking.apm.commons.datacarrier.consumer;
 import java.util.ArrayList;
 import java.util.List;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.Buffer;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.Channels;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.IChannelsMonitor;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.QueueBuffer;
 
 public class ConsumerThread<T> extends Thread {
@@ -28,9 +30,11 @@ public class ConsumerThread<T> extends Thread {
     private IConsumer<T> consumer;
     private List<DataSource> dataSources;
     private long consumeCycle;
+    private Channels<T> channels;
 
-    ConsumerThread(String threadName, IConsumer<T> consumer, long consumeCycle) {
+    ConsumerThread(String threadName, Channels<T> channels, IConsumer<T> consumer, long consumeCycle) {
         super(threadName);
+        this.channels = channels;
         this.consumer = consumer;
         running = false;
         dataSources = new ArrayList<DataSource>(1);
@@ -71,11 +75,16 @@ public class ConsumerThread<T> extends Thread {
         }
 
         if (!consumeList.isEmpty()) {
+            final IChannelsMonitor monitor = channels.getMonitor();
+            final long startNanos = monitor == null ? 0 : System.nanoTime();
             try {
                 consumer.consume(consumeList);
             } catch (Throwable t) {
                 consumer.onError(consumeList, t);
             } finally {
+                if (monitor != null) {
+                    monitor.onConsumed(consumeList.size(), System.nanoTime() - startNanos);
+                }
                 consumeList.clear();
             }
             return true;
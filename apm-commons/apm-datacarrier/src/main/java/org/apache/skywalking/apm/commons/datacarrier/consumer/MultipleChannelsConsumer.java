@@ -21,6 +21,7 @@ package org.apache.skywalking.apm.commons.datacarrier.consumer;
 import java.util.ArrayList;
 import java.util.List;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.Channels;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.IChannelsMonitor;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.QueueBuffer;
 
 /**
@@ -76,11 +77,16 @@ public class MultipleChannelsConsumer extends Thread {
         }
 
         if (!consumeList.isEmpty()) {
+            final IChannelsMonitor monitor = target.channels.getMonitor();
+            final long startNanos = monitor == null ? 0 : System.nanoTime();
             try {
                 target.consumer.consume(consumeList);
             } catch (Throwable t) {
                 target.consumer.onError(consumeList, t);
             } finally {
+                if (monitor != null) {
+                    monitor.onConsumed(consumeList.size(), System.nanoTime() - startNanos);
+                }
                 consumeList.clear();
             }
             return true;
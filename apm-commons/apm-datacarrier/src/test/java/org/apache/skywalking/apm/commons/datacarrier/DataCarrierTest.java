@@ -20,10 +20,15 @@ package org.apache.skywalking.apm.commons.datacarrier;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.Channels;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.IChannelsMonitor;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.QueueBuffer;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.SampleConsumer;
 import org.apache.skywalking.apm.commons.datacarrier.partition.ProducerThreadPartitioner;
 import org.apache.skywalking.apm.commons.datacarrier.partition.SimpleRollingPartitioner;
 import org.junit.Assert;
@@ -147,4 +152,35 @@ public class DataCarrierTest {
 
         Assert.assertTrue(time2 - time1 > 2000);
     }
+
+    @Test
+    public void testMonitor() throws InterruptedException {
+        final AtomicInteger dropped = new AtomicInteger();
+        final AtomicInteger consumed = new AtomicInteger();
+        final CountDownLatch consumedLatch = new CountDownLatch(1);
+        DataCarrier<SampleData> carrier = new DataCarrier<SampleData>(2, 100, BufferStrategy.IF_POSSIBLE);
+        carrier.setMonitor(new IChannelsMonitor() {
+            @Override
+            public void onDropped() {
+                dropped.incrementAndGet();
+            }
+
+            @Override
+            public void onConsumed(int size, long costNanos) {
+                Assert.assertTrue(costNanos >= 0);
+                if (consumed.addAndGet(size) == 200) {
+                    consumedLatch.countDown();
+                }
+            }
+        });
+
+        for (int i = 0; i < 210; i++) {
+            carrier.produce(new SampleData().setName("d" + i));
+        }
+        Assert.assertEquals(10, dropped.get());
+
+        carrier.consume(new SampleConsumer(), 1);
+        Assert.assertTrue(consumedLatch.await(10, TimeUnit.SECONDS));
+        carrier.shutdownConsumers();
+    }
 }
@@ -19,6 +19,7 @@
 package org.apache.skywalking.apm.util;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.regex.Pattern;
@@ -73,6 +74,13 @@ public class StringFormatGroup {
         rules.sort(comparator);
     }
 
+    /**
+     * @return the rules in the matching order.
+     */
+    public List<PatternRule> getRules() {
+        return Collections.unmodifiableList(rules);
+    }
+
     @Getter
     @RequiredArgsConstructor
     public static class FormatResult {
@@ -222,6 +222,11 @@ public class Config {
          * Max size of the meter count, using {@link org.apache.skywalking.apm.agent.core.meter.MeterId} as identity
          */
         public static Integer MAX_METER_SIZE = 500;
+
+        /**
+         * If true, the counters and histograms not changed since the last report are not sent.
+         */
+        public static boolean REPORT_CHANGED_ONLY = false;
     }
 
     public static class Jvm {
@@ -18,11 +18,11 @@
 
 package org.apache.skywalking.apm.agent.core.meter;
 
+import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.network.language.agent.v3.MeterData;
 import org.apache.skywalking.apm.network.language.agent.v3.MeterSingleValue;
 
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.DoubleAdder;
 
 /**
@@ -32,7 +32,10 @@ public class Counter extends BaseMeter {
 
     protected final DoubleAdder count;
     protected final CounterMode mode;
-    private final AtomicReference<Double> previous = new AtomicReference();
+    /**
+     * The value of the last report, NaN means never reported. Only accessed by the reporting thread.
+     */
+    private double previous = Double.NaN;
 
     public Counter(MeterId meterId, CounterMode mode) {
         super(meterId);
@@ -52,12 +55,16 @@ public class Counter extends BaseMeter {
     public MeterData.Builder transform() {
         // using rate mode or increase
         final double currentValue = get();
+        if (Config.Meter.REPORT_CHANGED_ONLY && currentValue == previous) {
+            return null;
+        }
+        final double previousValue = previous;
+        previous = currentValue;
+
         double count;
         if (Objects.equals(mode, CounterMode.RATE)) {
-            final Double previousValue = previous.getAndSet(currentValue);
-
             // calculate the add count
-            if (previousValue == null) {
+            if (Double.isNaN(previousValue)) {
                 count = currentValue;
             } else {
                 count = currentValue - previousValue;
@@ -19,11 +19,10 @@
 package org.apache.skywalking.apm.agent.core.meter;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.stream.Collectors;
+import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.network.language.agent.v3.MeterBucketValue;
 import org.apache.skywalking.apm.network.language.agent.v3.MeterData;
 import org.apache.skywalking.apm.network.language.agent.v3.MeterHistogram;
@@ -32,9 +31,27 @@ import org.apache.skywalking.apm.network.language.agent.v3.MeterHistogram;
  * Histogram represents the distribution of data. It includes the buckets representing continuous ranges of values, with
  * the num of collected values in every specific range. The ranges could start from any value(default 0) to positive
  * infinitive. They can be set through the constructor and immutable after that.
+ * <p>
+ * The counts are kept in a primitive array striped by the recording thread, so concurrent {@link #addValue(double)}
+ * calls rarely update the same cache line. The stripes are only summed up when reporting.
  */
 public class Histogram extends BaseMeter {
-    protected final Bucket[] buckets;
+    /**
+     * Longs in a cache line, used to pad the stripes.
+     */
+    private static final int CACHE_LINE_LONGS = 8;
+    private static final int MAX_STRIPES = 16;
+    private static final int STRIPES = stripes();
+
+    /**
+     * The minimal values of every bucket, in ascending order.
+     */
+    protected final double[] steps;
+
+    private final int stripeLength;
+    private final AtomicLongArray counts;
+
+    private long lastReportedTotal = -1;
 
     /**
      * @param meterId as the unique id of this meter instance
@@ -42,61 +59,94 @@ public class Histogram extends BaseMeter {
      */
     public Histogram(MeterId meterId, List<Double> steps) {
         super(meterId);
-        this.buckets = initBuckets(steps);
+        this.steps = steps.stream().mapToDouble(Double::doubleValue).toArray();
+        this.stripeLength = (this.steps.length / CACHE_LINE_LONGS + 1) * CACHE_LINE_LONGS;
+        this.counts = new AtomicLongArray(stripeLength * STRIPES);
     }
 
     /**
      * Add value into the histogram, automatic analyze what bucket count need to be increment [step1, step2)
      */
     public void addValue(double value) {
-        Bucket bucket = findBucket(value);
-        if (bucket == null) {
+        int bucket = findBucket(value);
+        if (bucket < 0) {
             return;
         }
 
-        bucket.increment(1L);
+        final int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+        counts.incrementAndGet(stripe * stripeLength + bucket);
     }
 
     /**
      * Using binary search the bucket
+     *
+     * @return the index of the bucket, -1 if the value is less than the min value
      */
-    private Bucket findBucket(double value) {
+    private int findBucket(double value) {
         int low = 0;
-        int high = buckets.length - 1;
+        int high = steps.length - 1;
 
         while (low <= high) {
-            int mid = (low + high) / 2;
-            if (buckets[mid].bucket < value)
+            int mid = (low + high) >>> 1;
+            if (steps[mid] < value)
                 low = mid + 1;
-            else if (buckets[mid].bucket > value)
+            else if (steps[mid] > value)
                 high = mid - 1;
             else
-                return buckets[mid];
+                return mid;
         }
 
         // because using min value as bucket, need using previous bucket
-        low -= 1;
-
-        return low < buckets.length && low >= 0 ? buckets[low] : null;
+        return low - 1;
     }
 
-    private Bucket[] initBuckets(List<Double> steps) {
-        return steps.stream().map(Bucket::new).toArray(Bucket[]::new);
+    /**
+     * @return the count of every bucket, summed up from all stripes
+     */
+    public long[] getBucketCounts() {
+        final long[] result = new long[steps.length];
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            final int offset = stripe * stripeLength;
+            for (int i = 0; i < result.length; i++) {
+                result[i] += counts.get(offset + i);
+            }
+        }
+        return result;
     }
 
     @Override
     public MeterData.Builder transform() {
-        final MeterData.Builder builder = MeterData.newBuilder();
+        final long[] bucketCounts = getBucketCounts();
+
+        if (Config.Meter.REPORT_CHANGED_ONLY) {
+            long total = 0;
+            for (long count : bucketCounts) {
+                total += count;
+            }
+            // the counts only increase, so the same total means nothing changed
+            if (total == lastReportedTotal) {
+                return null;
+            }
+            lastReportedTotal = total;
+        }
 
-        // get all values
-        List<MeterBucketValue> values = Arrays.stream(buckets)
-                                              .map(Histogram.Bucket::transform).collect(Collectors.toList());
+        final MeterHistogram.Builder histogramBuilder = MeterHistogram.newBuilder()
+                                                                      .setName(getName())
+                                                                      .addAllLabels(transformTags());
+        for (int i = 0; i < steps.length; i++) {
+            histogramBuilder.addValues(MeterBucketValue.newBuilder().setBucket(steps[i]).setCount(bucketCounts[i]));
+        }
 
-        return builder.setHistogram(MeterHistogram.newBuilder()
-                                                  .setName(getName())
-                                                  .addAllLabels(transformTags())
-                                                  .addAllValues(values)
-                                                  .build());
+        return MeterData.newBuilder().setHistogram(histogramBuilder);
+    }
+
+    private static int stripes() {
+        int stripes = 1;
+        final int processors = Math.min(Runtime.getRuntime().availableProcessors(), MAX_STRIPES);
+        while (stripes < processors) {
+            stripes <<= 1;
+        }
+        return stripes;
     }
 
     public static class Builder extends AbstractBuilder<Builder, Histogram> {
@@ -118,6 +168,22 @@ public class Histogram extends BaseMeter {
             return this;
         }
 
+        /**
+         * Set exponential bucket steps: start, start * factor, start * factor^2 ... start * factor^(count - 1).
+         */
+        public Builder exponentialSteps(double start, double factor, int count) {
+            if (start <= 0 || factor <= 1 || count <= 0) {
+                throw new IllegalArgumentException("Exponential steps require start > 0, factor > 1 and count > 0");
+            }
+            this.steps = new ArrayList<>(count);
+            double step = start;
+            for (int i = 0; i < count; i++) {
+                this.steps.add(step);
+                step *= factor;
+            }
+            return this;
+        }
+
         /**
          * Set min value, default is zero
          */
@@ -151,42 +217,4 @@ public class Histogram extends BaseMeter {
             return new Histogram(meterId, steps);
         }
     }
-
-    /**
-     * Histogram bucket
-     */
-    protected static class Bucket {
-        protected double bucket;
-        protected AtomicLong count = new AtomicLong();
-
-        public Bucket(double bucket) {
-            this.bucket = bucket;
-        }
-
-        public void increment(long count) {
-            this.count.addAndGet(count);
-        }
-
-        public MeterBucketValue transform() {
-            return MeterBucketValue.newBuilder()
-                                   .setBucket(bucket)
-                                   .setCount(count.get())
-                                   .build();
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o)
-                return true;
-            if (o == null || getClass() != o.getClass())
-                return false;
-            Bucket bucket1 = (Bucket) o;
-            return bucket == bucket1.bucket;
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(bucket);
-        }
-    }
 }
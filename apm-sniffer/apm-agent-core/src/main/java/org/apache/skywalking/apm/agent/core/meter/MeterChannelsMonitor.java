@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.meter;
+
+import java.util.Arrays;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.IChannelsMonitor;
+
+/**
+ * MeterChannelsMonitor reports the dropped data, the consumed batch size and the consuming latency of the agent
+ * DataCarriers through the meter system, tagged by the stage name. The meters are only sent to the backend when the
+ * meter report is active.
+ */
+public class MeterChannelsMonitor implements IChannelsMonitor {
+    private final Counter droppedCounter;
+    private final Histogram batchSizeHistogram;
+    private final Histogram consumeLatency;
+
+    public MeterChannelsMonitor(String stage) {
+        droppedCounter = MeterFactory.counter("datacarrier_dropped_count")
+                                     .tag("stage", stage)
+                                     .mode(CounterMode.RATE)
+                                     .build();
+        batchSizeHistogram = MeterFactory.histogram("datacarrier_consume_batch_size")
+                                         .tag("stage", stage)
+                                         .steps(Arrays.asList(1d, 10d, 100d, 1000d, 10000d))
+                                         .build();
+        // in milliseconds
+        consumeLatency = MeterFactory.histogram("datacarrier_consume_latency")
+                                     .tag("stage", stage)
+                                     .steps(Arrays.asList(5d, 10d, 50d, 100d, 500d, 1000d, 5000d))
+                                     .build();
+    }
+
+    @Override
+    public void onDropped() {
+        droppedCounter.increment(1d);
+    }
+
+    @Override
+    public void onConsumed(final int size, final long costNanos) {
+        batchSizeHistogram.addValue(size);
+        consumeLatency.addValue(costNanos / 1.0E6D);
+    }
+}
@@ -28,7 +28,6 @@ import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
 import org.apache.skywalking.apm.agent.core.plugin.bytebuddy.AbstractJunction;
 import org.apache.skywalking.apm.agent.core.plugin.match.ClassMatch;
-import org.apache.skywalking.apm.agent.core.plugin.match.IndirectMatch;
 import org.apache.skywalking.apm.agent.core.plugin.match.NameMatch;
 import org.apache.skywalking.apm.agent.core.plugin.match.ProtectiveShieldMatcher;
 
@@ -41,7 +40,7 @@ import static net.bytebuddy.matcher.ElementMatchers.not;
  */
 public class PluginFinder {
     private final Map<String, LinkedList<AbstractClassEnhancePluginDefine>> nameMatchDefine = new HashMap<String, LinkedList<AbstractClassEnhancePluginDefine>>();
-    private final List<AbstractClassEnhancePluginDefine> signatureMatchDefine = new ArrayList<AbstractClassEnhancePluginDefine>();
+    private final SignatureMatchIndex signatureMatchDefine = new SignatureMatchIndex();
     private final List<AbstractClassEnhancePluginDefine> bootstrapClassMatchDefine = new ArrayList<AbstractClassEnhancePluginDefine>();
 
     public PluginFinder(List<AbstractClassEnhancePluginDefine> plugins) {
@@ -77,12 +76,7 @@ public class PluginFinder {
             matchedPlugins.addAll(nameMatchDefine.get(typeName));
         }
 
-        for (AbstractClassEnhancePluginDefine pluginDefine : signatureMatchDefine) {
-            IndirectMatch match = (IndirectMatch) pluginDefine.enhanceClass();
-            if (match.isMatch(typeDescription)) {
-                matchedPlugins.add(pluginDefine);
-            }
-        }
+        matchedPlugins.addAll(signatureMatchDefine.find(typeDescription));
 
         return matchedPlugins;
     }
@@ -95,12 +89,12 @@ public class PluginFinder {
             }
         };
         judge = judge.and(not(isInterface()));
-        for (AbstractClassEnhancePluginDefine define : signatureMatchDefine) {
-            ClassMatch match = define.enhanceClass();
-            if (match instanceof IndirectMatch) {
-                judge = judge.or(((IndirectMatch) match).buildJunction());
+        judge = judge.or(new AbstractJunction<TypeDescription>() {
+            @Override
+            public boolean matches(TypeDescription target) {
+                return signatureMatchDefine.matches(target);
             }
-        }
+        });
         return new ProtectiveShieldMatcher(judge);
     }
 
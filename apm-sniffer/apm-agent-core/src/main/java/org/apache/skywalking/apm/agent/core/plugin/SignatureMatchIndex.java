@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.type.TypeDefinition;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.apache.skywalking.apm.agent.core.plugin.match.ClassAnnotationMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.HierarchyMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.IndirectMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.MultiClassNameMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.PrefixMatch;
+
+/**
+ * The pre-filter of the signature matched plugins. Most of the {@link IndirectMatch}es require a name, name prefix,
+ * declared annotation or super type, which are indexed here, so for a given type only the plugins whose requirement is
+ * found through a hash lookup are candidates. The candidates still need to be checked by their own match, the index
+ * never adds a plugin which can't match.
+ * <p>
+ * The matches can't be indexed, such as {@link org.apache.skywalking.apm.agent.core.plugin.match.RegexMatch} and the
+ * logical matches, are always candidates.
+ */
+public class SignatureMatchIndex {
+    private final List<AbstractClassEnhancePluginDefine> defines = new ArrayList<>();
+    private final List<ElementMatcher.Junction> junctions = new ArrayList<>();
+
+    private final PrefixNode prefixIndex = new PrefixNode();
+    private final Map<String, List<Integer>> nameIndex = new HashMap<>();
+    private final Map<String, List<Integer>> annotationIndex = new HashMap<>();
+    private final Map<String, List<Integer>> superTypeIndex = new HashMap<>();
+    private final BitSet unindexed = new BitSet();
+
+    public void add(AbstractClassEnhancePluginDefine define) {
+        final int position = defines.size();
+        final IndirectMatch match = (IndirectMatch) define.enhanceClass();
+        defines.add(define);
+        junctions.add(match.buildJunction());
+
+        if (match instanceof PrefixMatch) {
+            for (String prefix : ((PrefixMatch) match).getPrefixes()) {
+                prefixIndex.add(prefix, position);
+            }
+        } else if (match instanceof MultiClassNameMatch) {
+            for (String className : ((MultiClassNameMatch) match).getMatchClassNames()) {
+                index(nameIndex, className, position);
+            }
+        } else if (match instanceof ClassAnnotationMatch) {
+            // all annotations are required, so the first one is enough to filter
+            index(annotationIndex, ((ClassAnnotationMatch) match).getAnnotations()[0], position);
+        } else if (match instanceof HierarchyMatch) {
+            // all parent types are required, so the first one is enough to filter
+            index(superTypeIndex, ((HierarchyMatch) match).getParentTypes()[0], position);
+        } else {
+            unindexed.set(position);
+        }
+    }
+
+    /**
+     * @return plugins matched by the type through {@link IndirectMatch#isMatch(TypeDescription)}, in the added order.
+     */
+    public List<AbstractClassEnhancePluginDefine> find(TypeDescription typeDescription) {
+        final BitSet candidates = candidates(typeDescription);
+        final List<AbstractClassEnhancePluginDefine> matched = new ArrayList<>(candidates.cardinality());
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            final AbstractClassEnhancePluginDefine define = defines.get(i);
+            if (((IndirectMatch) define.enhanceClass()).isMatch(typeDescription)) {
+                matched.add(define);
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * @return true if the type is matched by any {@link IndirectMatch#buildJunction()} of the plugins.
+     */
+    @SuppressWarnings("unchecked")
+    public boolean matches(TypeDescription typeDescription) {
+        final BitSet candidates = candidates(typeDescription);
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            if (junctions.get(i).matches(typeDescription)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private BitSet candidates(TypeDescription typeDescription) {
+        final BitSet candidates = (BitSet) unindexed.clone();
+        final String typeName = typeDescription.getActualName();
+        prefixIndex.collect(typeName, candidates);
+        collect(nameIndex, typeName, candidates);
+
+        if (!annotationIndex.isEmpty()) {
+            for (AnnotationDescription annotation : typeDescription.getDeclaredAnnotations()) {
+                collect(annotationIndex, annotation.getAnnotationType().getActualName(), candidates);
+            }
+        }
+        if (!superTypeIndex.isEmpty()) {
+            collectSuperTypes(typeDescription, new HashSet<>(), candidates);
+        }
+        return candidates;
+    }
+
+    /**
+     * Walk the type itself, the super classes and the interfaces once for all the hierarchy matches.
+     */
+    private void collectSuperTypes(TypeDefinition type, Set<String> visited, BitSet candidates) {
+        final String typeName = type.asErasure().getActualName();
+        if (!visited.add(typeName)) {
+            return;
+        }
+        collect(superTypeIndex, typeName, candidates);
+
+        for (TypeDescription.Generic implInterface : type.getInterfaces()) {
+            collectSuperTypes(implInterface, visited, candidates);
+        }
+        final TypeDescription.Generic superClass = type.getSuperClass();
+        if (superClass != null) {
+            collectSuperTypes(superClass, visited, candidates);
+        }
+    }
+
+    private static void index(Map<String, List<Integer>> index, String key, int position) {
+        index.computeIfAbsent(key, k -> new ArrayList<>()).add(position);
+    }
+
+    private static void collect(Map<String, List<Integer>> index, String key, BitSet candidates) {
+        final List<Integer> positions = index.get(key);
+        if (positions != null) {
+            for (Integer position : positions) {
+                candidates.set(position);
+            }
+        }
+    }
+
+    /**
+     * Char trie of the name prefixes, the plugins are held by the node at the end of their prefix.
+     */
+    private static class PrefixNode {
+        private final Map<Character, PrefixNode> children = new HashMap<>();
+        private final List<Integer> positions = new ArrayList<>();
+
+        void add(String prefix, int position) {
+            PrefixNode node = this;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), c -> new PrefixNode());
+            }
+            node.positions.add(position);
+        }
+
+        void collect(String name, BitSet candidates) {
+            PrefixNode node = this;
+            for (int i = 0; ; i++) {
+                for (Integer position : node.positions) {
+                    candidates.set(position);
+                }
+                if (i == name.length() || (node = node.children.get(name.charAt(i))) == null) {
+                    return;
+                }
+            }
+        }
+    }
+}
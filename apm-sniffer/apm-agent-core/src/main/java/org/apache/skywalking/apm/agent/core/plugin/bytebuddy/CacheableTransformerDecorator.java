@@ -28,7 +28,8 @@ import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
 import org.apache.skywalking.apm.agent.core.util.FileUtils;
 import org.apache.skywalking.apm.agent.core.util.IOUtils;
 
-import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -37,12 +38,21 @@ import java.lang.instrument.IllegalClassFormatException;
 import java.security.ProtectionDomain;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
 
 /**
  * Wrapper classFileTransformer of ByteBuddy, save the enhanced bytecode to memory cache or file cache,
  * and automatically load the previously generated bytecode during the second retransform,
  * to solve the problem that ByteBuddy generates auxiliary classes with different random names every time.
  * Allow other javaagent to enhance those classes that enhanced by SkyWalking agent.
+ * <p>
+ * Each cached class is validated by the checksum of its original bytecode, so a class loader hash collision or a
+ * redefined class never gets the bytecode enhanced from another class file.
+ * <p>
+ * The cache is bound to the current JVM: the enhanced bytecode relies on the auxiliary classes and the loaded type
+ * initializers(interceptor delegates) registered by ByteBuddy during the transformation, so it can't skip the
+ * transformation after a restart.
  */
 public class CacheableTransformerDecorator implements AgentBuilder.TransformerDecorator {
 
@@ -51,6 +61,9 @@ public class CacheableTransformerDecorator implements AgentBuilder.TransformerDe
     private final ClassCacheMode cacheMode;
     private ClassCacheResolver cacheResolver;
 
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
     public CacheableTransformerDecorator(ClassCacheMode cacheMode) throws IOException {
         this.cacheMode = cacheMode;
         initClassCache();
@@ -85,20 +98,25 @@ public class CacheableTransformerDecorator implements AgentBuilder.TransformerDe
             @Override
             public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined, ProtectionDomain protectionDomain, byte[] classfileBuffer) throws IllegalClassFormatException {
                 // load from cache
-                byte[] classCache = cacheResolver.getClassCache(loader, className);
+                byte[] classCache = cacheResolver.getClassCache(loader, className, classfileBuffer);
                 if (classCache != null) {
+                    long hits = hitCount.incrementAndGet();
+                    if (LOGGER.isDebugEnable()) {
+                        LOGGER.debug("Class {} loaded from cache, cache hits: {}, misses: {}", className, hits, missCount.get());
+                    }
                     return classCache;
                 }
 
                 //transform class
-                classfileBuffer = classFileTransformer.transform(loader, className, classBeingRedefined, protectionDomain, classfileBuffer);
+                byte[] enhancedBuffer = classFileTransformer.transform(loader, className, classBeingRedefined, protectionDomain, classfileBuffer);
 
                 // save to cache
-                if (classfileBuffer != null) {
-                    cacheResolver.putClassCache(loader, className, classfileBuffer);
+                if (enhancedBuffer != null) {
+                    missCount.incrementAndGet();
+                    cacheResolver.putClassCache(loader, className, classfileBuffer, enhancedBuffer);
                 }
 
-                return classfileBuffer;
+                return enhancedBuffer;
             }
         };
     }
@@ -114,27 +132,44 @@ public class CacheableTransformerDecorator implements AgentBuilder.TransformerDe
         return classloader;
     }
 
+    /**
+     * @return the checksum of the original bytecode, identifies the class file the cached bytecode enhanced from
+     */
+    static long checksum(byte[] originBuffer) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(originBuffer, 0, originBuffer.length);
+        return crc32.getValue();
+    }
+
     interface ClassCacheResolver {
 
-        byte[] getClassCache(ClassLoader loader, String className);
+        /**
+         * @param originBuffer the original bytecode of the class
+         * @return the cached enhanced bytecode, null if absent or enhanced from a different original bytecode
+         */
+        byte[] getClassCache(ClassLoader loader, String className, byte[] originBuffer);
 
-        void putClassCache(ClassLoader loader, String className, byte[] classfileBuffer);
+        void putClassCache(ClassLoader loader, String className, byte[] originBuffer, byte[] classfileBuffer);
     }
 
     static class MemoryCacheResolver implements ClassCacheResolver {
         // classloaderHashcode@className -> class bytes
-        private Map<String, byte[]> classCacheMap = new ConcurrentHashMap<String, byte[]>();
+        private Map<String, CachedClass> classCacheMap = new ConcurrentHashMap<String, CachedClass>();
 
         @Override
-        public byte[] getClassCache(ClassLoader loader, String className) {
+        public byte[] getClassCache(ClassLoader loader, String className, byte[] originBuffer) {
             String cacheKey = getCacheKey(loader, className);
-            return classCacheMap.get(cacheKey);
+            CachedClass cachedClass = classCacheMap.get(cacheKey);
+            if (cachedClass == null || cachedClass.originChecksum != checksum(originBuffer)) {
+                return null;
+            }
+            return cachedClass.classfileBuffer;
         }
 
         @Override
-        public void putClassCache(ClassLoader loader, String className, byte[] classfileBuffer) {
+        public void putClassCache(ClassLoader loader, String className, byte[] originBuffer, byte[] classfileBuffer) {
             String cacheKey = getCacheKey(loader, className);
-            classCacheMap.put(cacheKey, classfileBuffer);
+            classCacheMap.put(cacheKey, new CachedClass(checksum(originBuffer), classfileBuffer));
         }
 
         private String getCacheKey(ClassLoader loader, String className) {
@@ -153,14 +188,20 @@ public class CacheableTransformerDecorator implements AgentBuilder.TransformerDe
             FileUtils.deleteDirectoryOnExit(cacheDir);
         }
 
+        /**
+         * The cache file starts with the checksum of the original bytecode, followed by the enhanced bytecode.
+         */
         @Override
-        public byte[] getClassCache(ClassLoader loader, String className) {
+        public byte[] getClassCache(ClassLoader loader, String className, byte[] originBuffer) {
             // load from cache
             File cacheFile = getCacheFile(loader, className);
             if (cacheFile.exists()) {
-                FileInputStream fileInputStream = null;
+                DataInputStream fileInputStream = null;
                 try {
-                    fileInputStream = new FileInputStream(cacheFile);
+                    fileInputStream = new DataInputStream(new FileInputStream(cacheFile));
+                    if (fileInputStream.readLong() != checksum(originBuffer)) {
+                        return null;
+                    }
                     return IOUtils.toByteArray(fileInputStream);
                 } catch (IOException e) {
                     LOGGER.error("load class bytes from cache file failure", e);
@@ -172,13 +213,14 @@ public class CacheableTransformerDecorator implements AgentBuilder.TransformerDe
         }
 
         @Override
-        public void putClassCache(ClassLoader loader, String className, byte[] classfileBuffer) {
+        public void putClassCache(ClassLoader loader, String className, byte[] originBuffer, byte[] classfileBuffer) {
             File cacheFile = getCacheFile(loader, className);
             cacheFile.getParentFile().mkdirs();
-            FileOutputStream output = null;
+            DataOutputStream output = null;
             try {
-                output = new FileOutputStream(cacheFile);
-                IOUtils.copy(new ByteArrayInputStream(classfileBuffer), output);
+                output = new DataOutputStream(new FileOutputStream(cacheFile));
+                output.writeLong(checksum(originBuffer));
+                output.write(classfileBuffer);
             } catch (IOException e) {
                 LOGGER.error("save class bytes to cache file failure", e);
             } finally {
@@ -192,4 +234,14 @@ public class CacheableTransformerDecorator implements AgentBuilder.TransformerDe
         }
 
     }
+
+    private static class CachedClass {
+        private final long originChecksum;
+        private final byte[] classfileBuffer;
+
+        private CachedClass(long originChecksum, byte[] classfileBuffer) {
+            this.originChecksum = originChecksum;
+            this.classfileBuffer = classfileBuffer;
+        }
+    }
 }
@@ -18,16 +18,19 @@
 
 package org.apache.skywalking.apm.agent.core.plugin.loader;
 
-import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -61,6 +64,11 @@ public class AgentClassLoader extends ClassLoader {
 
     private List<File> classpath;
     private List<Jar> allJars;
+    /**
+     * Entry name(class file path or resource name) to the jars including it, in the order of {@link #allJars}. Built
+     * once with the jar scan, so class and resource lookup doesn't need to check every jar.
+     */
+    private volatile Map<String, List<Jar>> entryIndex;
     private ReentrantLock jarScanLock = new ReentrantLock();
 
     public static AgentClassLoader getDefault() {
@@ -91,21 +99,20 @@ public class AgentClassLoader extends ClassLoader {
 
     @Override
     protected Class<?> findClass(String name) throws ClassNotFoundException {
-        List<Jar> allJars = getAllJars();
         String path = name.replace('.', '/').concat(".class");
-        for (Jar jar : allJars) {
+        for (Jar jar : findJars(path)) {
             JarEntry entry = jar.jarFile.getJarEntry(path);
             if (entry == null) {
                 continue;
             }
             try {
-                URL classFileUrl = new URL("jar:file:" + jar.sourceFile.getAbsolutePath() + "!/" + path);
                 byte[] data;
-                try (final BufferedInputStream is = new BufferedInputStream(
-                    classFileUrl.openStream()); final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-                    int ch;
-                    while ((ch = is.read()) != -1) {
-                        baos.write(ch);
+                try (final InputStream is = jar.jarFile.getInputStream(
+                    entry); final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+                    byte[] buffer = new byte[4096];
+                    int length;
+                    while ((length = is.read(buffer)) != -1) {
+                        baos.write(buffer, 0, length);
                     }
                     data = baos.toByteArray();
                 }
@@ -119,14 +126,10 @@ public class AgentClassLoader extends ClassLoader {
 
     @Override
     protected URL findResource(String name) {
-        List<Jar> allJars = getAllJars();
-        for (Jar jar : allJars) {
-            JarEntry entry = jar.jarFile.getJarEntry(name);
-            if (entry != null) {
-                try {
-                    return new URL("jar:file:" + jar.sourceFile.getAbsolutePath() + "!/" + name);
-                } catch (MalformedURLException ignored) {
-                }
+        for (Jar jar : findJars(name)) {
+            try {
+                return new URL("jar:file:" + jar.sourceFile.getAbsolutePath() + "!/" + name);
+            } catch (MalformedURLException ignored) {
             }
         }
         return null;
@@ -135,12 +138,8 @@ public class AgentClassLoader extends ClassLoader {
     @Override
     protected Enumeration<URL> findResources(String name) throws IOException {
         List<URL> allResources = new LinkedList<>();
-        List<Jar> allJars = getAllJars();
-        for (Jar jar : allJars) {
-            JarEntry entry = jar.jarFile.getJarEntry(name);
-            if (entry != null) {
-                allResources.add(new URL("jar:file:" + jar.sourceFile.getAbsolutePath() + "!/" + name));
-            }
+        for (Jar jar : findJars(name)) {
+            allResources.add(new URL("jar:file:" + jar.sourceFile.getAbsolutePath() + "!/" + name));
         }
 
         final Iterator<URL> iterator = allResources.iterator();
@@ -169,19 +168,45 @@ public class AgentClassLoader extends ClassLoader {
         return loadedClass;
     }
 
-    private List<Jar> getAllJars() {
-        if (allJars == null) {
+    /**
+     * @return the jars including the entry, empty list if not found.
+     */
+    private List<Jar> findJars(String entryName) {
+        if (entryIndex == null) {
             jarScanLock.lock();
             try {
-                if (allJars == null) {
+                if (entryIndex == null) {
+                    long startTime = System.currentTimeMillis();
                     allJars = doGetJars();
+                    entryIndex = buildEntryIndex(allJars);
+                    LOGGER.info(
+                        "{} jars scanned, {} entries indexed in {}ms.", allJars.size(), entryIndex.size(),
+                        System.currentTimeMillis() - startTime
+                    );
                 }
             } finally {
                 jarScanLock.unlock();
             }
         }
 
-        return allJars;
+        List<Jar> jars = entryIndex.get(entryName);
+        if (jars == null && !entryName.endsWith("/")) {
+            // Same as JarFile#getJarEntry, the directory could be found by the name without the trailing slash.
+            jars = entryIndex.get(entryName + "/");
+        }
+        return jars == null ? Collections.emptyList() : jars;
+    }
+
+    private Map<String, List<Jar>> buildEntryIndex(List<Jar> jars) {
+        Map<String, List<Jar>> index = new HashMap<>();
+        for (Jar jar : jars) {
+            Enumeration<JarEntry> entries = jar.jarFile.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                index.computeIfAbsent(entry.getName(), key -> new LinkedList<>()).add(jar);
+            }
+        }
+        return index;
     }
 
     private LinkedList<Jar> doGetJars() {
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.profile;
+
+import com.google.protobuf.ByteString;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Frame dictionary of the profile task, the code signature of each distinct stack element is built and encoded only
+ * once, then every snapshot of the task refers to the same encoded frame.
+ *
+ * Only accessed by the {@link ProfileThread} of the task, so it isn't thread safe.
+ */
+public class ProfileFrameDictionary {
+
+    /**
+     * Limit of the dictionary size, frames out of the limit are encoded on each dump.
+     */
+    static final int MAX_FRAME_COUNT = 50_000;
+
+    private final Map<StackTraceElement, ByteString> frames = new HashMap<>();
+
+    /**
+     * find the encoded code signature of the stack element, create it if absent
+     */
+    public ByteString find(StackTraceElement element) {
+        ByteString frame = frames.get(element);
+        if (frame != null) {
+            return frame;
+        }
+
+        frame = ByteString.copyFromUtf8(buildStackElementCodeSignature(element));
+        if (frames.size() < MAX_FRAME_COUNT) {
+            frames.put(element, frame);
+        }
+        return frame;
+    }
+
+    public int size() {
+        return frames.size();
+    }
+
+    /**
+     * build thread stack element code signature
+     *
+     * @return code sign: className.methodName:lineNumber
+     */
+    private static String buildStackElementCodeSignature(StackTraceElement element) {
+        return element.getClassName() + "." + element.getMethodName() + ":" + element.getLineNumber();
+    }
+}
@@ -46,6 +46,9 @@ public class ProfileTaskExecutionContext {
     // total started profiling tracing context count
     private final AtomicInteger totalStartedProfilingCount = new AtomicInteger(0);
 
+    // encoded frames of all dumped stacks in this task
+    private final ProfileFrameDictionary frameDictionary = new ProfileFrameDictionary();
+
     public ProfileTaskExecutionContext(ProfileTask task) {
         this.task = task;
         profilingSegmentSlots = new AtomicReferenceArray<>(Config.Profile.MAX_PARALLEL);
@@ -144,6 +147,10 @@ public class ProfileTaskExecutionContext {
         return task;
     }
 
+    public ProfileFrameDictionary getFrameDictionary() {
+        return frameDictionary;
+    }
+
     public AtomicReferenceArray<ThreadProfiler> threadProfilerSlots() {
         return profilingSegmentSlots;
     }
@@ -19,7 +19,7 @@
 package org.apache.skywalking.apm.agent.core.profile;
 
 import com.google.common.base.Objects;
-import java.util.ArrayList;
+import com.google.protobuf.ByteString;
 import java.util.concurrent.TimeUnit;
 import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.context.TracingContext;
@@ -43,6 +43,9 @@ public class ThreadProfiler {
     private final ProfileStatusReference profilingStatus;
     // thread dump sequence
     private int dumpSequence = 0;
+    // last dumped stack, the unchanged bottom frames are reused by next dump
+    private StackTraceElement[] lastStackTrace;
+    private ByteString[] lastFrames;
 
     public ThreadProfiler(TracingContext tracingContext, String traceSegmentId, Thread profilingThread,
         ProfileTaskExecutionContext executionContext) {
@@ -110,22 +113,31 @@ public class ThreadProfiler {
         int dumpElementCount = Math.min(stackTrace.length, Config.Profile.DUMP_MAX_STACK_DEPTH);
 
         // use inverted order, because thread dump is start with bottom
-        final ArrayList<String> stackList = new ArrayList<>(dumpElementCount);
-        for (int i = dumpElementCount - 1; i >= 0; i--) {
-            stackList.add(buildStackElementCodeSignature(stackTrace[i]));
+        final ByteString[] frames = new ByteString[dumpElementCount];
+        final ProfileFrameDictionary frameDictionary = executionContext.getFrameDictionary();
+        for (int i = dumpElementCount - 1, depth = 0; i >= 0; i--, depth++) {
+            final StackTraceElement element = stackTrace[i];
+            if (isSameBottomFrame(stackTrace, i, depth)) {
+                frames[depth] = lastFrames[depth];
+            } else {
+                frames[depth] = frameDictionary.find(element);
+            }
         }
+        this.lastStackTrace = stackTrace;
+        this.lastFrames = frames;
 
         String taskId = executionContext.getTask().getTaskId();
-        return new TracingThreadSnapshot(taskId, traceSegmentId, dumpSequence++, currentTime, stackList);
+        return new TracingThreadSnapshot(taskId, traceSegmentId, dumpSequence++, currentTime, frames);
     }
 
     /**
-     * build thread stack element code signature
-     *
-     * @return code sign: className.methodName:lineNumber
+     * check the element at the same depth of the last dumped stack is the same one
      */
-    private String buildStackElementCodeSignature(StackTraceElement element) {
-        return element.getClassName() + "." + element.getMethodName() + ":" + element.getLineNumber();
+    private boolean isSameBottomFrame(StackTraceElement[] stackTrace, int index, int depth) {
+        if (lastFrames == null || depth >= lastFrames.length) {
+            return false;
+        }
+        return stackTrace[index].equals(lastStackTrace[lastFrames.length - 1 - depth]);
     }
 
     /**
@@ -18,7 +18,7 @@
 
 package org.apache.skywalking.apm.agent.core.profile;
 
-import java.util.List;
+import com.google.protobuf.ByteString;
 import org.apache.skywalking.apm.network.language.profile.v3.ThreadSnapshot;
 import org.apache.skywalking.apm.network.language.profile.v3.ThreadStack;
 
@@ -31,18 +31,18 @@ public class TracingThreadSnapshot {
     // dump info
     private final int sequence;
     private final long time;
-    private final List<String> stackList;
+    private final ByteString[] frames;
 
     public TracingThreadSnapshot(String taskId,
                                  String traceSegmentId,
                                  int sequence,
                                  long time,
-                                 List<String> stackList) {
+                                 ByteString[] frames) {
         this.taskId = taskId;
         this.traceSegmentId = traceSegmentId;
         this.sequence = sequence;
         this.time = time;
-        this.stackList = stackList;
+        this.frames = frames;
     }
 
     /**
@@ -60,8 +60,8 @@ public class TracingThreadSnapshot {
         builder.setSequence(sequence);
         // snapshot stack
         final ThreadStack.Builder stackBuilder = ThreadStack.newBuilder();
-        for (String codeSign : stackList) {
-            stackBuilder.addCodeSignatures(codeSign);
+        for (ByteString frame : frames) {
+            stackBuilder.addCodeSignaturesBytes(frame);
         }
         builder.setStack(stackBuilder);
 
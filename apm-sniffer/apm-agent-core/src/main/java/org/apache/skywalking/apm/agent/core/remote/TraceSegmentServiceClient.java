@@ -32,6 +32,7 @@ import org.apache.skywalking.apm.agent.core.context.TracingContextListener;
 import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
 import org.apache.skywalking.apm.agent.core.logging.api.ILog;
 import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+import org.apache.skywalking.apm.agent.core.meter.MeterChannelsMonitor;
 import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
@@ -65,6 +66,7 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
         segmentUplinkedCounter = 0;
         segmentAbandonedCounter = 0;
         carrier = new DataCarrier<>(CHANNEL_SIZE, BUFFER_SIZE, BufferStrategy.IF_POSSIBLE);
+        carrier.setMonitor(new MeterChannelsMonitor("TraceSegmentServiceClient"));
         carrier.consume(this, 1);
     }
 
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.meter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Record throughput of {@link Histogram#addValue(double)} when the same histogram is shared by many threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Threads(8)
+public class HistogramBenchmark {
+    private final Histogram histogram = new Histogram(
+        new MeterId("benchmark", MeterType.HISTOGRAM, Collections.emptyList()),
+        Arrays.asList(0d, 5d, 10d, 25d, 50d, 100d, 250d, 500d, 1000d, 2500d, 5000d, 10000d)
+    );
+
+    /**
+     * Created by the builder without the registration, as no MeterService is running in the benchmark.
+     */
+    private final Histogram exponentialHistogram = new Histogram.Builder("benchmark_exponential")
+        .exponentialSteps(5d, 2d, 12)
+        .create(new MeterId("benchmark_exponential", MeterType.HISTOGRAM, Collections.emptyList()));
+
+    @Benchmark
+    public void addValue() {
+        histogram.addValue(ThreadLocalRandom.current().nextInt(12000));
+    }
+
+    @Benchmark
+    public void addValueExponential() {
+        exponentialHistogram.addValue(ThreadLocalRandom.current().nextInt(12000));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(HistogramBenchmark.class.getSimpleName()).build();
+        new Runner(opt).run();
+    }
+
+    /**
+     * # JMH version: 1.21
+     * # VM version: JDK 1.8.0_392, OpenJDK 64-Bit Server VM, 25.392-b08
+     * # Warmup: 3 iterations, 10 s each
+     * # Measurement: 5 iterations, 10 s each
+     * # Threads: 8 threads, will synchronize iterations, on 1 CPU
+     *
+     * Before, one AtomicLong per bucket:
+     * Benchmark                     Mode  Cnt   Score   Error   Units
+     * HistogramBenchmark.addValue  thrpt   10  31.221 ± 3.861  ops/us
+     *
+     * After, the counts striped by the recording thread:
+     * Benchmark                                Mode  Cnt   Score   Error   Units
+     * HistogramBenchmark.addValue             thrpt   10  33.695 ± 2.385  ops/us
+     * HistogramBenchmark.addValueExponential  thrpt   10  33.545 ± 1.292  ops/us
+     *
+     * With 1 CPU there is a single stripe and the threads never update the counts at the same time, so the striping is
+     * not exercised here, the results only show the array layout costs no more than the buckets. Calculating the
+     * exponential bucket by the logarithm was measured at 20.880 ± 2.159 ops/us, slower than the binary search over 13
+     * steps, so the exponential steps are searched too.
+     */
+}
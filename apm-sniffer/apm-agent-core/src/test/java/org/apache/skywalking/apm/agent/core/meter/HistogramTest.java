@@ -22,6 +22,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.test.tools.AgentServiceRule;
 import org.apache.skywalking.apm.network.language.agent.v3.Label;
 import org.apache.skywalking.apm.network.language.agent.v3.MeterData;
@@ -54,10 +55,61 @@ public class HistogramTest {
 
         // Check buckets
         final Histogram histogram = MeterFactory.histogram("test").steps(Arrays.asList(2d, 5d)).minValue(2d).build();
-        final Histogram.Bucket[] buckets = (Histogram.Bucket[]) Whitebox.getInternalState(histogram, "buckets");
-        Assert.assertEquals(2, buckets.length);
-        Assert.assertEquals(buckets[0], new Histogram.Bucket(2));
-        Assert.assertEquals(buckets[1], new Histogram.Bucket(5));
+        final double[] steps = (double[]) Whitebox.getInternalState(histogram, "steps");
+        Assert.assertArrayEquals(new double[] {2d, 5d}, steps, 0.0);
+    }
+
+    @Test
+    public void testExponentialBuckets() {
+        final Histogram histogram = MeterFactory.histogram("test_exponential")
+                                                .exponentialSteps(1d, 2d, 4)
+                                                .minValue(0d)
+                                                .build();
+        final double[] steps = (double[]) Whitebox.getInternalState(histogram, "steps");
+        Assert.assertArrayEquals(new double[] {0d, 1d, 2d, 4d, 8d}, steps, 0.0);
+
+        histogram.addValue(-1);
+        histogram.addValue(0.5);
+        histogram.addValue(1);
+        histogram.addValue(3.99);
+        histogram.addValue(4);
+        histogram.addValue(7.99);
+        histogram.addValue(8);
+        histogram.addValue(1000);
+        Assert.assertArrayEquals(new long[] {1L, 1L, 1L, 2L, 2L}, histogram.getBucketCounts());
+    }
+
+    @Test
+    public void testConcurrentAddValue() throws InterruptedException {
+        final Histogram histogram = MeterFactory.histogram("test_concurrent").steps(Arrays.asList(1d, 10d)).build();
+        final Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    histogram.addValue(j % 20);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertArrayEquals(new long[] {4000L, 36000L, 40000L}, histogram.getBucketCounts());
+    }
+
+    @Test
+    public void testReportChangedOnly() {
+        Config.Meter.REPORT_CHANGED_ONLY = true;
+        try {
+            final Histogram histogram = MeterFactory.histogram("test_changed").steps(Arrays.asList(1d, 10d)).build();
+            Assert.assertNotNull(histogram.transform());
+            Assert.assertNull(histogram.transform());
+            histogram.addValue(5);
+            Assert.assertNotNull(histogram.transform());
+            Assert.assertNull(histogram.transform());
+        } finally {
+            Config.Meter.REPORT_CHANGED_ONLY = false;
+        }
     }
 
     @Test
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.meter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.test.tools.AgentServiceRule;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.powermock.reflect.Whitebox;
+
+public class MeterChannelsMonitorTest {
+    @Rule
+    public AgentServiceRule agentServiceRule = new AgentServiceRule();
+
+    @AfterClass
+    public static void afterClass() {
+        ServiceManager.INSTANCE.shutdown();
+    }
+
+    @After
+    public void after() {
+        meterMap().clear();
+    }
+
+    @Test
+    public void testReportThroughMeters() {
+        final MeterChannelsMonitor monitor = new MeterChannelsMonitor("test");
+        monitor.onDropped();
+        monitor.onDropped();
+        monitor.onConsumed(20, 3_000_000L);
+
+        final Counter dropped = (Counter) findMeter("datacarrier_dropped_count");
+        Assert.assertEquals(2d, dropped.get(), 0.0);
+
+        final Histogram batchSize = (Histogram) findMeter("datacarrier_consume_batch_size");
+        Assert.assertArrayEquals(new long[] {0L, 0L, 1L, 0L, 0L, 0L}, batchSize.getBucketCounts());
+
+        final Histogram latency = (Histogram) findMeter("datacarrier_consume_latency");
+        Assert.assertArrayEquals(new long[] {1L, 0L, 0L, 0L, 0L, 0L, 0L, 0L}, latency.getBucketCounts());
+    }
+
+    private static BaseMeter findMeter(String name) {
+        return meterMap().values()
+                         .stream()
+                         .filter(meter -> meter.getName().equals(name) && "test".equals(meter.getTag("stage")))
+                         .findFirst()
+                         .orElseThrow(() -> new AssertionError(name + " is not registered"));
+    }
+
+    private static Map<MeterId, BaseMeter> meterMap() {
+        final MeterService meterService = ServiceManager.INSTANCE.findService(MeterService.class);
+        return (ConcurrentHashMap<MeterId, BaseMeter>) Whitebox.getInternalState(meterService, "meterMap");
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin;
+
+import java.io.Serializable;
+import java.util.List;
+import net.bytebuddy.description.type.TypeDescription;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.ConstructorInterceptPoint;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.InstanceMethodsInterceptPoint;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.ClassInstanceMethodsEnhancePluginDefine;
+import org.apache.skywalking.apm.agent.core.plugin.match.ClassMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.MatchTestAnnotation;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.apache.skywalking.apm.agent.core.plugin.match.ClassAnnotationMatch.byClassAnnotationMatch;
+import static org.apache.skywalking.apm.agent.core.plugin.match.HierarchyMatch.byHierarchyMatch;
+import static org.apache.skywalking.apm.agent.core.plugin.match.PrefixMatch.nameStartsWith;
+import static org.apache.skywalking.apm.agent.core.plugin.match.RegexMatch.byRegexMatch;
+
+public class SignatureMatchIndexTest {
+
+    @Test
+    public void testFind() {
+        final SignatureMatchIndex index = new SignatureMatchIndex();
+        final MockPluginDefine prefix = new MockPluginDefine(nameStartsWith(SignatureMatchIndexTest.class.getName()));
+        final MockPluginDefine otherPrefix = new MockPluginDefine(nameStartsWith("org.apache.skywalking.apm.plugin"));
+        final MockPluginDefine annotation = new MockPluginDefine(byClassAnnotationMatch(MatchTestAnnotation.class.getName()));
+        final MockPluginDefine hierarchy = new MockPluginDefine(byHierarchyMatch(Serializable.class.getName()));
+        final MockPluginDefine regex = new MockPluginDefine(byRegexMatch(".*Dao"));
+        index.add(prefix);
+        index.add(otherPrefix);
+        index.add(annotation);
+        index.add(hierarchy);
+        index.add(regex);
+
+        List<AbstractClassEnhancePluginDefine> matched = index.find(TypeDescription.ForLoadedType.of(TestDao.class));
+        Assert.assertEquals(4, matched.size());
+        Assert.assertSame(prefix, matched.get(0));
+        Assert.assertSame(annotation, matched.get(1));
+        Assert.assertSame(hierarchy, matched.get(2));
+        Assert.assertSame(regex, matched.get(3));
+        Assert.assertTrue(index.matches(TypeDescription.ForLoadedType.of(TestDao.class)));
+
+        matched = index.find(TypeDescription.ForLoadedType.of(String.class));
+        Assert.assertEquals(1, matched.size());
+        Assert.assertSame(hierarchy, matched.get(0));
+
+        Assert.assertFalse(index.matches(TypeDescription.ForLoadedType.of(Object.class)));
+    }
+
+    @MatchTestAnnotation
+    public static class TestDao extends BaseDao {
+    }
+
+    public static class BaseDao implements Serializable {
+    }
+
+    private static class MockPluginDefine extends ClassInstanceMethodsEnhancePluginDefine {
+        private final ClassMatch match;
+
+        private MockPluginDefine(ClassMatch match) {
+            this.match = match;
+        }
+
+        @Override
+        protected ClassMatch enhanceClass() {
+            return match;
+        }
+
+        @Override
+        public ConstructorInterceptPoint[] getConstructorsInterceptPoints() {
+            return new ConstructorInterceptPoint[0];
+        }
+
+        @Override
+        public InstanceMethodsInterceptPoint[] getInstanceMethodsInterceptPoints() {
+            return new InstanceMethodsInterceptPoint[0];
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.bytebuddy;
+
+import java.io.File;
+import org.apache.skywalking.apm.agent.core.util.FileUtils;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClassCacheResolverTest {
+    private static final String CLASS_NAME = "org/apache/skywalking/Demo";
+
+    private final byte[] originBuffer = new byte[] {1, 2, 3};
+    private final byte[] enhancedBuffer = new byte[] {1, 2, 3, 4};
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testMemoryCache() {
+        assertCache(new CacheableTransformerDecorator.MemoryCacheResolver());
+    }
+
+    @Test
+    public void testFileCache() throws Exception {
+        File cacheDir = folder.newFolder("class-cache");
+        assertCache(new CacheableTransformerDecorator.FileCacheResolver(cacheDir));
+        FileUtils.deleteDirectory(cacheDir);
+    }
+
+    private void assertCache(CacheableTransformerDecorator.ClassCacheResolver resolver) {
+        ClassLoader loader = ClassCacheResolverTest.class.getClassLoader();
+        Assert.assertNull(resolver.getClassCache(loader, CLASS_NAME, originBuffer));
+
+        resolver.putClassCache(loader, CLASS_NAME, originBuffer, enhancedBuffer);
+        Assert.assertArrayEquals(enhancedBuffer, resolver.getClassCache(loader, CLASS_NAME, originBuffer));
+        // the class file changed, cached bytecode can't be used
+        Assert.assertNull(resolver.getClassCache(loader, CLASS_NAME, new byte[] {3, 2, 1}));
+        Assert.assertNull(resolver.getClassCache(null, CLASS_NAME, originBuffer));
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.profile;
+
+import com.google.protobuf.ByteString;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ProfileFrameDictionaryTest {
+
+    @Test
+    public void testFindSharedFrame() {
+        final ProfileFrameDictionary dictionary = new ProfileFrameDictionary();
+        final StackTraceElement element = new StackTraceElement("org.apache.Demo", "run", "Demo.java", 10);
+
+        final ByteString frame = dictionary.find(element);
+        Assert.assertEquals("org.apache.Demo.run:10", frame.toStringUtf8());
+        Assert.assertSame(frame, dictionary.find(new StackTraceElement("org.apache.Demo", "run", "Demo.java", 10)));
+        Assert.assertEquals(1, dictionary.size());
+
+        dictionary.find(new StackTraceElement("org.apache.Demo", "run", "Demo.java", 11));
+        Assert.assertEquals(2, dictionary.size());
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.ConstructorInterceptPoint;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.InstanceMethodsInterceptPoint;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.ClassInstanceMethodsEnhancePluginDefine;
+import org.apache.skywalking.apm.agent.core.plugin.match.ClassMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.IndirectMatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static org.apache.skywalking.apm.agent.core.plugin.match.ClassAnnotationMatch.byClassAnnotationMatch;
+import static org.apache.skywalking.apm.agent.core.plugin.match.HierarchyMatch.byHierarchyMatch;
+import static org.apache.skywalking.apm.agent.core.plugin.match.MultiClassNameMatch.byMultiClassMatch;
+import static org.apache.skywalking.apm.agent.core.plugin.match.PrefixMatch.nameStartsWith;
+
+/**
+ * Simulate the agent startup, match the signature matched plugins against the loaded JDK classes, through the
+ * {@link PluginFinder} pre-filter and through evaluating every plugin junction one by one as before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(2)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PluginFinderBenchmark {
+    private static final int PLUGIN_GROUPS = 50;
+
+    private final List<TypeDescription> types = new ArrayList<>();
+    private final List<ElementMatcher.Junction> junctions = new ArrayList<>();
+    private ElementMatcher<? super TypeDescription> indexedMatcher;
+    private PluginFinder pluginFinder;
+
+    @Setup
+    public void setup() throws ClassNotFoundException {
+        final List<AbstractClassEnhancePluginDefine> plugins = new ArrayList<>();
+        for (int i = 0; i < PLUGIN_GROUPS; i++) {
+            plugins.add(new MockPluginDefine(nameStartsWith("org.apache.skywalking.apm.mock" + i + ".")));
+            plugins.add(new MockPluginDefine(byMultiClassMatch("org.apache.skywalking.apm.mock" + i + ".Client")));
+            plugins.add(new MockPluginDefine(byClassAnnotationMatch("org.apache.skywalking.apm.mock" + i + ".Controller")));
+            plugins.add(new MockPluginDefine(byHierarchyMatch("org.apache.skywalking.apm.mock" + i + ".Handler")));
+        }
+        for (AbstractClassEnhancePluginDefine plugin : plugins) {
+            junctions.add(((IndirectMatch) plugin.enhanceClass()).buildJunction());
+        }
+        pluginFinder = new PluginFinder(plugins);
+        indexedMatcher = pluginFinder.buildMatch();
+
+        for (Class<?> type : new Class<?>[] {
+            String.class, java.util.HashMap.class, java.util.concurrent.ConcurrentHashMap.class,
+            java.util.ArrayList.class, java.util.LinkedList.class, java.io.FileInputStream.class,
+            java.io.BufferedReader.class, java.net.URLClassLoader.class, java.lang.Thread.class,
+            java.util.concurrent.ThreadPoolExecutor.class, java.lang.StringBuilder.class,
+            java.util.TreeMap.class, java.text.SimpleDateFormat.class, java.lang.reflect.Method.class
+        }) {
+            types.add(TypeDescription.ForLoadedType.of(type));
+        }
+    }
+
+    @Benchmark
+    public void indexedMatch(Blackhole bh) {
+        for (TypeDescription type : types) {
+            bh.consume(indexedMatcher.matches(type));
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void linearMatch(Blackhole bh) {
+        for (TypeDescription type : types) {
+            boolean matched = false;
+            for (ElementMatcher.Junction junction : junctions) {
+                if (junction.matches(type)) {
+                    matched = true;
+                    break;
+                }
+            }
+            bh.consume(matched);
+        }
+    }
+
+    @Benchmark
+    public void indexedFind(Blackhole bh) {
+        for (TypeDescription type : types) {
+            bh.consume(pluginFinder.find(type));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(PluginFinderBenchmark.class.getSimpleName()).build();
+        new Runner(opt).run();
+    }
+
+    /**
+     * # JMH version: 1.21
+     * # VM version: JDK 1.8.0_392, OpenJDK 64-Bit Server VM, 25.392-b08
+     * # Warmup: 3 iterations, 10 s each
+     * # Measurement: 5 iterations, 10 s each
+     * # Threads: 1 thread, will synchronize iterations
+     * # 200 plugins(prefix, multiple class names, class annotation, hierarchy), 14 JDK types per op
+     *
+     * Benchmark                           Mode  Cnt  Score   Error  Units
+     * PluginFinderBenchmark.indexedFind   avgt   10  0.021 ± 0.003  ms/op
+     * PluginFinderBenchmark.indexedMatch  avgt   10  0.022 ± 0.003  ms/op
+     * PluginFinderBenchmark.linearMatch   avgt   10  1.413 ± 0.191  ms/op
+     */
+
+    private static class MockPluginDefine extends ClassInstanceMethodsEnhancePluginDefine {
+        private final ClassMatch match;
+
+        private MockPluginDefine(ClassMatch match) {
+            this.match = match;
+        }
+
+        @Override
+        protected ClassMatch enhanceClass() {
+            return match;
+        }
+
+        @Override
+        public ConstructorInterceptPoint[] getConstructorsInterceptPoints() {
+            return new ConstructorInterceptPoint[0];
+        }
+
+        @Override
+        public InstanceMethodsInterceptPoint[] getInstanceMethodsInterceptPoints() {
+            return new InstanceMethodsInterceptPoint[0];
+        }
+    }
+}
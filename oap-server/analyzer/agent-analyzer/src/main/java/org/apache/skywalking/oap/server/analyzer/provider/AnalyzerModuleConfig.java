@@ -121,6 +121,21 @@ public class AnalyzerModuleConfig extends ModuleConfig {
     @Getter
     private String segmentStatusAnalysisStrategy = FROM_SPAN_STATUS.name();
 
+    /**
+     * The number of threads analyzing the trace segments. The segments of the same trace are analyzed by the same
+     * thread. 0 means the segments are analyzed in the receiver threads.
+     */
+    @Setter
+    @Getter
+    private int segmentAnalysisThreads = 0;
+
+    /**
+     * The queue size of every segment analysis thread. The receivers are blocked when the queue is full.
+     */
+    @Setter
+    @Getter
+    private int segmentAnalysisBufferSize = 10000;
+
     private List<Integer> virtualPeers;
 
     /**
@@ -125,6 +125,7 @@ public class AnalyzerModuleProvider extends ModuleProvider {
         dynamicConfigurationService.registerConfigChangeWatcher(traceLatencyThresholdsAndWatcher);
 
         segmentParserService.setListenerManager(listenerManager());
+        segmentParserService.start();
 
         processService.start(meterConfigs);
     }
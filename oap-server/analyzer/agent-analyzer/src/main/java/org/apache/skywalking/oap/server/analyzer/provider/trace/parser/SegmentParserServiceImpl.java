@@ -18,25 +18,127 @@
 
 package org.apache.skywalking.oap.server.analyzer.provider.trace.parser;
 
-import lombok.RequiredArgsConstructor;
+import java.util.List;
 import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
+import org.apache.skywalking.apm.commons.datacarrier.partition.IDataPartitioner;
 import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
-import org.apache.skywalking.oap.server.library.module.ModuleManager;
 import org.apache.skywalking.oap.server.analyzer.provider.AnalyzerModuleConfig;
+import org.apache.skywalking.oap.server.core.worker.DataCarrierMonitor;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.HistogramMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
 
 /**
  * The open service to the receivers.
+ * <p>
+ * The segments are analyzed in the receiver threads by default, by a new {@link TraceAnalyzer} per segment. If {@link
+ * AnalyzerModuleConfig#getSegmentAnalysisThreads()} is set, the segments are queued and analyzed by the fixed analysis
+ * threads, sharded by the trace id. Every analysis thread reuses its own {@link TraceAnalyzer} and listeners.
  */
-@RequiredArgsConstructor
+@Slf4j
 public class SegmentParserServiceImpl implements ISegmentParserService {
     private final ModuleManager moduleManager;
     private final AnalyzerModuleConfig config;
     @Setter
     private SegmentParserListenerManager listenerManager;
+    /**
+     * The analyzers of the analysis threads.
+     */
+    private final ThreadLocal<TraceAnalyzer> traceAnalyzer;
+    private DataCarrier<SegmentObject> dataCarrier;
+    private HistogramMetrics analysisLatency;
+    private CounterMetrics analysisErrorCounter;
+
+    public SegmentParserServiceImpl(ModuleManager moduleManager, AnalyzerModuleConfig config) {
+        this.moduleManager = moduleManager;
+        this.config = config;
+        this.traceAnalyzer = ThreadLocal.withInitial(
+            () -> new TraceAnalyzer(this.moduleManager, listenerManager, this.config, true));
+    }
+
+    /**
+     * Start the analysis threads if required, after the listener manager is set.
+     */
+    public void start() {
+        final int threads = config.getSegmentAnalysisThreads();
+        if (threads <= 0) {
+            return;
+        }
+        MetricsCreator metricsCreator = moduleManager.find(TelemetryModule.NAME)
+                                                     .provider()
+                                                     .getService(MetricsCreator.class);
+        analysisLatency = metricsCreator.createHistogramMetric(
+            "trace_analysis_latency", "The analysis latency of trace segments in the analysis threads",
+            MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+        );
+        analysisErrorCounter = metricsCreator.createCounter(
+            "trace_analysis_thread_error_count", "The error number of trace analysis in the analysis threads",
+            MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+        );
+
+        // One channel per thread, so the segments of the same trace are always analyzed by the same thread.
+        dataCarrier = new DataCarrier<>("SegmentAnalysis", threads, config.getSegmentAnalysisBufferSize());
+        dataCarrier.setPartitioner(new TraceIdPartitioner());
+        dataCarrier.setMonitor(new DataCarrierMonitor(moduleManager, "SegmentAnalysis"));
+        dataCarrier.consume(new AnalysisConsumer(), threads);
+    }
 
     @Override
     public void send(SegmentObject segment) {
-        final TraceAnalyzer traceAnalyzer = new TraceAnalyzer(moduleManager, listenerManager, config);
-        traceAnalyzer.doAnalysis(segment);
+        if (dataCarrier != null) {
+            // Blocking when the channel is full, the receivers are slowed down.
+            dataCarrier.produce(segment);
+        } else {
+            new TraceAnalyzer(moduleManager, listenerManager, config).doAnalysis(segment);
+        }
+    }
+
+    private class AnalysisConsumer implements IConsumer<SegmentObject> {
+        @Override
+        public void init() {
+        }
+
+        @Override
+        public void consume(final List<SegmentObject> data) {
+            final TraceAnalyzer analyzer = traceAnalyzer.get();
+            for (final SegmentObject segment : data) {
+                HistogramMetrics.Timer timer = analysisLatency.createTimer();
+                try {
+                    analyzer.doAnalysis(segment);
+                } catch (Exception e) {
+                    analysisErrorCounter.inc();
+                    log.error(e.getMessage(), e);
+                } finally {
+                    timer.finish();
+                }
+            }
+        }
+
+        @Override
+        public void onError(final List<SegmentObject> data, final Throwable t) {
+            log.error(t.getMessage(), t);
+        }
+
+        @Override
+        public void onExit() {
+        }
+    }
+
+    private static class TraceIdPartitioner implements IDataPartitioner<SegmentObject> {
+        @Override
+        public int partition(final int total, final SegmentObject data) {
+            return Math.abs(data.getTraceId().hashCode() % total);
+        }
+
+        @Override
+        public int maxRetryCount() {
+            return 1;
+        }
     }
 }
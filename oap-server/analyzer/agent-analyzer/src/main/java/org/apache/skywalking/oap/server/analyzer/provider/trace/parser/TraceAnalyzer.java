@@ -19,6 +19,7 @@
 package org.apache.skywalking.oap.server.analyzer.provider.trace.parser;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +28,7 @@ import org.apache.skywalking.apm.network.language.agent.v3.SpanObject;
 import org.apache.skywalking.apm.network.language.agent.v3.SpanType;
 import org.apache.skywalking.oap.server.analyzer.provider.AnalyzerModuleConfig;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.AnalysisListener;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.AnalysisListenerFactory;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.EntryAnalysisListener;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.ExitAnalysisListener;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.FirstAnalysisListener;
@@ -40,7 +42,18 @@ public class TraceAnalyzer {
     private final ModuleManager moduleManager;
     private final SegmentParserListenerManager listenerManager;
     private final AnalyzerModuleConfig config;
-    private List<AnalysisListener> analysisListeners = new ArrayList<>();
+    /**
+     * Reset the listeners after every segment, and reuse them for the following segments. Otherwise, the analyzer
+     * analyzes only one segment.
+     */
+    private final boolean reuseListeners;
+    private final List<AnalysisListener> analysisListeners = new ArrayList<>();
+
+    public TraceAnalyzer(ModuleManager moduleManager,
+                         SegmentParserListenerManager listenerManager,
+                         AnalyzerModuleConfig config) {
+        this(moduleManager, listenerManager, config, false);
+    }
 
     public void doAnalysis(SegmentObject segmentObject) {
         if (segmentObject.getSpansList().size() == 0) {
@@ -49,26 +62,32 @@ public class TraceAnalyzer {
 
         createSpanListeners();
 
-        notifySegmentListener(segmentObject);
-
-        segmentObject.getSpansList().forEach(spanObject -> {
-            if (spanObject.getSpanId() == 0) {
-                notifyFirstListener(spanObject, segmentObject);
-            }
-
-            if (SpanType.Exit.equals(spanObject.getSpanType())) {
-                notifyExitListener(spanObject, segmentObject);
-            } else if (SpanType.Entry.equals(spanObject.getSpanType())) {
-                notifyEntryListener(spanObject, segmentObject);
-            } else if (SpanType.Local.equals(spanObject.getSpanType())) {
-                notifyLocalListener(spanObject, segmentObject);
-            } else {
-                log.error("span type value was unexpected, span type name: {}", spanObject.getSpanType()
-                                                                                          .name());
+        try {
+            notifySegmentListener(segmentObject);
+
+            segmentObject.getSpansList().forEach(spanObject -> {
+                if (spanObject.getSpanId() == 0) {
+                    notifyFirstListener(spanObject, segmentObject);
+                }
+
+                if (SpanType.Exit.equals(spanObject.getSpanType())) {
+                    notifyExitListener(spanObject, segmentObject);
+                } else if (SpanType.Entry.equals(spanObject.getSpanType())) {
+                    notifyEntryListener(spanObject, segmentObject);
+                } else if (SpanType.Local.equals(spanObject.getSpanType())) {
+                    notifyLocalListener(spanObject, segmentObject);
+                } else {
+                    log.error("span type value was unexpected, span type name: {}", spanObject.getSpanType()
+                                                                                              .name());
+                }
+            });
+
+            notifyListenerToBuild();
+        } finally {
+            if (reuseListeners) {
+                resetSpanListeners();
             }
-        });
-
-        notifyListenerToBuild();
+        }
     }
 
     private void notifyListenerToBuild() {
@@ -115,10 +134,26 @@ public class TraceAnalyzer {
         });
     }
 
+    /**
+     * The listeners are created once, and reused by the following segments analyzed by this analyzer.
+     */
     private void createSpanListeners() {
+        if (!analysisListeners.isEmpty()) {
+            return;
+        }
         listenerManager.getSpanListenerFactories()
                        .forEach(
                            spanListenerFactory -> analysisListeners.add(
                                spanListenerFactory.create(moduleManager, config)));
     }
+
+    private void resetSpanListeners() {
+        final Iterator<AnalysisListenerFactory> factories = listenerManager.getSpanListenerFactories().iterator();
+        for (int i = 0; i < analysisListeners.size(); i++) {
+            final AnalysisListenerFactory factory = factories.next();
+            if (!analysisListeners.get(i).reset()) {
+                analysisListeners.set(i, factory.create(moduleManager, config));
+            }
+        }
+    }
 }
@@ -33,6 +33,16 @@ public interface AnalysisListener {
      */
     boolean containsPoint(Point point);
 
+    /**
+     * Clear the status of the analyzed segment, then the listener could be reused by the next segment analyzed in the
+     * same thread.
+     *
+     * @return false, if the listener can't be reused. A new one is created through its factory.
+     */
+    default boolean reset() {
+        return false;
+    }
+
     /**
      * Analysis point when the analysis core traverses the segment
      */
@@ -57,7 +57,7 @@ public class SegmentAnalysisListener implements FirstAnalysisListener, EntryAnal
     private final SegmentStatusAnalyzer segmentStatusAnalyzer;
     private final TraceLatencyThresholdsAndWatcher traceLatencyThresholdsAndWatcher;
 
-    private final Segment segment = new Segment();
+    private Segment segment = new Segment();
     private SAMPLE_STATUS sampleStatus = SAMPLE_STATUS.UNKNOWN;
     private String serviceName = Const.EMPTY_STRING;
     private String serviceId = Const.EMPTY_STRING;
@@ -187,6 +187,22 @@ public class SegmentAnalysisListener implements FirstAnalysisListener, EntryAnal
         sourceReceiver.receive(segment);
     }
 
+    @Override
+    public boolean reset() {
+        // The segment has been sent to the source receiver, create a new one rather than cleaning it.
+        segment = new Segment();
+        sampleStatus = SAMPLE_STATUS.UNKNOWN;
+        serviceName = Const.EMPTY_STRING;
+        serviceId = Const.EMPTY_STRING;
+        endpointId = Const.EMPTY_STRING;
+        endpointName = Const.EMPTY_STRING;
+        startTimestamp = 0;
+        endTimestamp = 0;
+        duration = 0;
+        isError = false;
+        return true;
+    }
+
     private enum SAMPLE_STATUS {
         UNKNOWN, SAMPLED, IGNORE
     }
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.analyzer.provider.trace.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+import org.apache.skywalking.apm.network.language.agent.v3.SpanObject;
+import org.apache.skywalking.oap.server.analyzer.provider.AnalyzerModuleConfig;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.AnalysisListener;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.SegmentListener;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TraceAnalyzerTest {
+
+    @Test
+    public void testReuseListeners() {
+        final AtomicInteger reusableCreated = new AtomicInteger();
+        final AtomicInteger disposableCreated = new AtomicInteger();
+        final List<String> built = new ArrayList<>();
+
+        SegmentParserListenerManager listenerManager = new SegmentParserListenerManager();
+        listenerManager.add((moduleManager, config) -> {
+            reusableCreated.incrementAndGet();
+            return new MockSegmentListener(true, built);
+        });
+        listenerManager.add((moduleManager, config) -> {
+            disposableCreated.incrementAndGet();
+            return new MockSegmentListener(false, built);
+        });
+
+        TraceAnalyzer analyzer = new TraceAnalyzer(null, listenerManager, new AnalyzerModuleConfig(), true);
+        analyzer.doAnalysis(segment("trace-1"));
+        analyzer.doAnalysis(segment("trace-2"));
+        analyzer.doAnalysis(segment("trace-3"));
+
+        Assert.assertEquals(1, reusableCreated.get());
+        Assert.assertEquals(4, disposableCreated.get());
+        // every segment is built once by every listener, nothing left from the previous segments
+        Assert.assertEquals(6, built.size());
+        Assert.assertEquals("trace-3", built.get(4));
+        Assert.assertEquals("trace-3", built.get(5));
+    }
+
+    @Test
+    public void testOneShotListeners() {
+        final AtomicInteger created = new AtomicInteger();
+        final List<MockSegmentListener> listeners = new ArrayList<>();
+        final List<String> built = new ArrayList<>();
+
+        SegmentParserListenerManager listenerManager = new SegmentParserListenerManager();
+        listenerManager.add((moduleManager, config) -> {
+            created.incrementAndGet();
+            MockSegmentListener listener = new MockSegmentListener(true, built);
+            listeners.add(listener);
+            return listener;
+        });
+
+        new TraceAnalyzer(null, listenerManager, new AnalyzerModuleConfig()).doAnalysis(segment("trace-1"));
+        new TraceAnalyzer(null, listenerManager, new AnalyzerModuleConfig()).doAnalysis(segment("trace-2"));
+
+        Assert.assertEquals(2, created.get());
+        Assert.assertEquals(2, built.size());
+        // The listeners are never reset, as before.
+        Assert.assertEquals("trace-1", listeners.get(0).traceId);
+        Assert.assertEquals("trace-2", listeners.get(1).traceId);
+    }
+
+    private static SegmentObject segment(String traceId) {
+        return SegmentObject.newBuilder()
+                            .setTraceId(traceId)
+                            .addSpans(SpanObject.newBuilder().setSpanId(1))
+                            .build();
+    }
+
+    private static class MockSegmentListener implements SegmentListener {
+        private final boolean reusable;
+        private final List<String> built;
+        private String traceId;
+
+        private MockSegmentListener(boolean reusable, List<String> built) {
+            this.reusable = reusable;
+            this.built = built;
+        }
+
+        @Override
+        public void parseSegment(final SegmentObject segmentObject) {
+            Assert.assertNull(traceId);
+            traceId = segmentObject.getTraceId();
+        }
+
+        @Override
+        public void build() {
+            built.add(traceId);
+        }
+
+        @Override
+        public boolean containsPoint(final AnalysisListener.Point point) {
+            return AnalysisListener.Point.Segment.equals(point);
+        }
+
+        @Override
+        public boolean reset() {
+            traceId = null;
+            return reusable;
+        }
+    }
+}
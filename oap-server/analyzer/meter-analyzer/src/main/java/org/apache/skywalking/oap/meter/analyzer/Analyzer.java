@@ -244,21 +244,21 @@ public class Analyzer {
         s.setName(requireNonNull(entity.getServiceName()));
         s.setNodeType(NodeType.Normal);
         s.setTimeBucket(TimeBucket.getMinuteTimeBucket(System.currentTimeMillis()));
-        MetricsStreamProcessor.getInstance().in(s);
+        MetricsStreamProcessor.getInstance().inDistinct(s);
         if (!com.google.common.base.Strings.isNullOrEmpty(entity.getInstanceName())) {
             InstanceTraffic instanceTraffic = new InstanceTraffic();
             instanceTraffic.setName(entity.getInstanceName());
             instanceTraffic.setServiceId(entity.serviceId());
             instanceTraffic.setTimeBucket(TimeBucket.getMinuteTimeBucket(System.currentTimeMillis()));
             instanceTraffic.setLastPingTimestamp(TimeBucket.getMinuteTimeBucket(System.currentTimeMillis()));
-            MetricsStreamProcessor.getInstance().in(instanceTraffic);
+            MetricsStreamProcessor.getInstance().inDistinct(instanceTraffic);
         }
         if (!com.google.common.base.Strings.isNullOrEmpty(entity.getEndpointName())) {
             EndpointTraffic endpointTraffic = new EndpointTraffic();
             endpointTraffic.setName(entity.getEndpointName());
             endpointTraffic.setServiceId(entity.serviceId());
             endpointTraffic.setTimeBucket(TimeBucket.getMinuteTimeBucket(System.currentTimeMillis()));
-            MetricsStreamProcessor.getInstance().in(endpointTraffic);
+            MetricsStreamProcessor.getInstance().inDistinct(endpointTraffic);
         }
     }
 }
@@ -20,13 +20,20 @@ package org.apache.skywalking.oap.server.exporter.provider.grpc;
 
 import io.grpc.ManagedChannel;
 import io.grpc.stub.StreamObserver;
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.IChannelsMonitor;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
 import org.apache.skywalking.oap.server.core.analysis.metrics.DoubleValueHolder;
 import org.apache.skywalking.oap.server.core.analysis.metrics.IntValueHolder;
@@ -42,7 +49,6 @@ import org.apache.skywalking.oap.server.exporter.grpc.EventType;
 import org.apache.skywalking.oap.server.exporter.grpc.ExportMetricValue;
 import org.apache.skywalking.oap.server.exporter.grpc.ExportResponse;
 import org.apache.skywalking.oap.server.exporter.grpc.MetricExportServiceGrpc;
-import org.apache.skywalking.oap.server.exporter.grpc.SubscriptionMetric;
 import org.apache.skywalking.oap.server.exporter.grpc.SubscriptionReq;
 import org.apache.skywalking.oap.server.exporter.grpc.SubscriptionsResp;
 import org.apache.skywalking.oap.server.exporter.grpc.ValueType;
@@ -60,9 +66,12 @@ public class GRPCExporter extends MetricFormatter implements MetricValuesExportS
     private final MetricExportServiceGrpc.MetricExportServiceStub exportServiceFutureStub;
     private final MetricExportServiceGrpc.MetricExportServiceBlockingStub blockingStub;
     private final DataCarrier exportBuffer;
-    private final ReentrantLock fetchListLock;
-    private volatile List<SubscriptionMetric> subscriptionList;
-    private volatile long lastFetchTimestamp = 0;
+    /**
+     * The subscribed event types indexed by the metric name, empty means all metrics are subscribed in the increment
+     * type.
+     */
+    private volatile Map<String, Set<ExportEvent.EventType>> subscriptions;
+    private final AtomicLong droppedCount = new AtomicLong();
 
     public GRPCExporter(GRPCExporterSetting setting) {
         this.setting = setting;
@@ -71,29 +80,47 @@ public class GRPCExporter extends MetricFormatter implements MetricValuesExportS
         ManagedChannel channel = client.getChannel();
         exportServiceFutureStub = MetricExportServiceGrpc.newStub(channel);
         blockingStub = MetricExportServiceGrpc.newBlockingStub(channel);
-        exportBuffer = new DataCarrier<ExportData>(setting.getBufferChannelNum(), setting.getBufferChannelSize());
+        exportBuffer = new DataCarrier<ExportData>(
+            setting.getBufferChannelNum(), setting.getBufferChannelSize(), BufferStrategy.IF_POSSIBLE);
         exportBuffer.consume(this, 1, 200);
-        subscriptionList = new ArrayList<>();
-        fetchListLock = new ReentrantLock();
+        subscriptions = Collections.emptyMap();
+    }
+
+    /**
+     * Set the monitor of the export buffer, once the telemetry is available.
+     */
+    public void setMonitor(IChannelsMonitor monitor) {
+        exportBuffer.setMonitor(monitor);
+    }
+
+    /**
+     * Start fetching the subscription list in the background periodically.
+     */
+    public void start() {
+        Executors.newSingleThreadScheduledExecutor()
+                 .scheduleWithFixedDelay(
+                     this::fetchSubscriptionList, 0, FETCH_SUBSCRIPTION_PERIOD, TimeUnit.MILLISECONDS);
     }
 
+    /**
+     * Export never blocks the caller, the metrics is dropped when the buffer is full.
+     */
     @Override
     public void export(ExportEvent event) {
         Metrics metrics = event.getMetrics();
         if (metrics instanceof WithMetadata) {
             MetricsMetaInfo meta = ((WithMetadata) metrics).getMeta();
-            if (subscriptionList.size() == 0 && ExportEvent.EventType.INCREMENT.equals(event.getType())) {
-                exportBuffer.produce(new ExportData(meta, metrics, event.getType()));
+            final Map<String, Set<ExportEvent.EventType>> subscriptions = this.subscriptions;
+            final boolean subscribed;
+            if (subscriptions.isEmpty()) {
+                subscribed = ExportEvent.EventType.INCREMENT.equals(event.getType());
             } else {
-                subscriptionList.forEach(subscriptionMetric -> {
-                    if (subscriptionMetric.getMetricName().equals(meta.getMetricsName()) &&
-                        eventTypeMatch(event.getType(), subscriptionMetric.getEventType())) {
-                        exportBuffer.produce(new ExportData(meta, metrics, event.getType()));
-                    }
-                });
+                Set<ExportEvent.EventType> eventTypes = subscriptions.get(meta.getMetricsName());
+                subscribed = eventTypes != null && eventTypes.contains(event.getType());
+            }
+            if (subscribed && !exportBuffer.produce(new ExportData(meta, metrics, event.getType()))) {
+                droppedCount.incrementAndGet();
             }
-
-            fetchSubscriptionList();
         }
     }
 
@@ -101,22 +128,27 @@ public class GRPCExporter extends MetricFormatter implements MetricValuesExportS
      * Read the subscription list.
      */
     public void fetchSubscriptionList() {
-        final long currentTimeMillis = System.currentTimeMillis();
-        if (currentTimeMillis - lastFetchTimestamp > FETCH_SUBSCRIPTION_PERIOD) {
-            try {
-                fetchListLock.lock();
-                if (currentTimeMillis - lastFetchTimestamp > FETCH_SUBSCRIPTION_PERIOD) {
-                    lastFetchTimestamp = currentTimeMillis;
-                    SubscriptionsResp subscription = blockingStub.withDeadlineAfter(10, TimeUnit.SECONDS)
-                                                                 .subscription(SubscriptionReq.newBuilder().build());
-                    subscriptionList = subscription.getMetricsList();
-                    log.debug("Get exporter subscription list, {}", subscriptionList);
+        try {
+            SubscriptionsResp subscription = blockingStub.withDeadlineAfter(10, TimeUnit.SECONDS)
+                                                         .subscription(SubscriptionReq.newBuilder().build());
+            Map<String, Set<ExportEvent.EventType>> subscriptions = new HashMap<>();
+            subscription.getMetricsList().forEach(subscriptionMetric -> {
+                ExportEvent.EventType eventType = toExportEventType(subscriptionMetric.getEventType());
+                if (eventType != null) {
+                    subscriptions.computeIfAbsent(
+                        subscriptionMetric.getMetricName(), name -> EnumSet.noneOf(ExportEvent.EventType.class))
+                                 .add(eventType);
                 }
-            } catch (Throwable e) {
-                log.error("Getting exporter subscription list fails.", e);
-            } finally {
-                fetchListLock.unlock();
-            }
+            });
+            this.subscriptions = subscriptions;
+            log.debug("Get exporter subscription list, {}", subscription.getMetricsList());
+        } catch (Throwable e) {
+            log.error("Getting exporter subscription list fails.", e);
+        }
+
+        long dropped = droppedCount.getAndSet(0);
+        if (dropped > 0) {
+            log.warn("{} metrics are dropped as the export buffer is full.", dropped);
         }
     }
 
@@ -219,8 +251,6 @@ public class GRPCExporter extends MetricFormatter implements MetricValuesExportS
         log.debug(
             "Exported {} metrics to {}:{} in {} milliseconds.", exportNum.get(), setting.getTargetHost(), setting
                 .getTargetPort(), sleepTime);
-
-        fetchSubscriptionList();
     }
 
     @Override
@@ -233,9 +263,14 @@ public class GRPCExporter extends MetricFormatter implements MetricValuesExportS
 
     }
 
-    private boolean eventTypeMatch(ExportEvent.EventType eventType,
-                                   org.apache.skywalking.oap.server.exporter.grpc.EventType subscriptionType) {
-        return (ExportEvent.EventType.INCREMENT.equals(eventType) && EventType.INCREMENT.equals(subscriptionType))
-            || (ExportEvent.EventType.TOTAL.equals(eventType) && EventType.TOTAL.equals(subscriptionType));
+    private ExportEvent.EventType toExportEventType(EventType subscriptionType) {
+        switch (subscriptionType) {
+            case INCREMENT:
+                return ExportEvent.EventType.INCREMENT;
+            case TOTAL:
+                return ExportEvent.EventType.TOTAL;
+            default:
+                return null;
+        }
     }
 }
@@ -21,6 +21,7 @@ package org.apache.skywalking.oap.server.exporter.provider.grpc;
 import org.apache.skywalking.oap.server.core.CoreModule;
 import org.apache.skywalking.oap.server.core.exporter.ExporterModule;
 import org.apache.skywalking.oap.server.core.exporter.MetricValuesExportService;
+import org.apache.skywalking.oap.server.core.worker.DataCarrierMonitor;
 import org.apache.skywalking.oap.server.library.module.ModuleConfig;
 import org.apache.skywalking.oap.server.library.module.ModuleDefine;
 import org.apache.skywalking.oap.server.library.module.ModuleProvider;
@@ -60,7 +61,8 @@ public class GRPCExporterProvider extends ModuleProvider {
 
     @Override
     public void notifyAfterCompleted() throws ServiceNotProvidedException, ModuleStartException {
-        exporter.fetchSubscriptionList();
+        exporter.setMonitor(new DataCarrierMonitor(getManager(), "GRPCExporter"));
+        exporter.start();
     }
 
     @Override
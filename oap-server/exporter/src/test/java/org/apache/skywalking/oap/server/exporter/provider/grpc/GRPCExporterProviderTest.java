@@ -28,6 +28,8 @@ import org.apache.skywalking.oap.server.library.module.ModuleProviderHolder;
 import org.apache.skywalking.oap.server.library.module.ModuleServiceHolder;
 import org.apache.skywalking.oap.server.library.module.ModuleStartException;
 import org.apache.skywalking.oap.server.library.module.ServiceNotProvidedException;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -90,7 +92,9 @@ public class GRPCExporterProviderTest {
         ModuleServiceHolder serviceHolder = mock(ModuleServiceHolder.class);
 
         when(manager.find(CoreModule.NAME)).thenReturn(providerHolder);
+        when(manager.find(TelemetryModule.NAME)).thenReturn(providerHolder);
         when(providerHolder.provider()).thenReturn(serviceHolder);
+        when(serviceHolder.getService(MetricsCreator.class)).thenReturn(mock(MetricsCreator.class));
 
         doNothing().when(exporter).fetchSubscriptionList();
 
@@ -22,18 +22,31 @@ import io.grpc.testing.GrpcServerRule;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
 import org.apache.skywalking.oap.server.core.analysis.metrics.MetricsMetaInfo;
 import org.apache.skywalking.oap.server.core.analysis.metrics.WithMetadata;
 import org.apache.skywalking.oap.server.core.exporter.ExportData;
 import org.apache.skywalking.oap.server.core.exporter.ExportEvent;
 import org.apache.skywalking.oap.server.core.source.DefaultScopeDefine;
 import org.apache.skywalking.oap.server.exporter.grpc.MetricExportServiceGrpc;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.powermock.reflect.Whitebox;
 
 import static org.apache.skywalking.oap.server.core.exporter.ExportEvent.EventType.INCREMENT;
+import static org.apache.skywalking.oap.server.core.exporter.ExportEvent.EventType.TOTAL;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class GRPCExporterTest {
 
@@ -74,6 +87,52 @@ public class GRPCExporterTest {
     @Test
     public void initSubscriptionList() {
         exporter.fetchSubscriptionList();
+        Map<String, Set<ExportEvent.EventType>> subscriptions = Whitebox.getInternalState(exporter, "subscriptions");
+        Assert.assertEquals(2, subscriptions.size());
+        Assert.assertEquals(Collections.singleton(INCREMENT), subscriptions.get("first"));
+        Assert.assertEquals(Collections.singleton(INCREMENT), subscriptions.get("second"));
+    }
+
+    @Test
+    public void exportSubscribedMetrics() {
+        DataCarrier<ExportData> exportBuffer = mock(DataCarrier.class);
+        when(exportBuffer.produce(any())).thenReturn(true);
+        Whitebox.setInternalState(exporter, "exportBuffer", exportBuffer);
+
+        // All metrics are exported in the increment type before any subscription.
+        exporter.export(event("third", INCREMENT));
+        exporter.export(event("third", TOTAL));
+
+        exporter.fetchSubscriptionList();
+        exporter.export(event("first", INCREMENT));
+        exporter.export(event("first", TOTAL));
+        exporter.export(event("second", INCREMENT));
+        exporter.export(event("third", INCREMENT));
+
+        ArgumentCaptor<ExportData> captor = ArgumentCaptor.forClass(ExportData.class);
+        verify(exportBuffer, times(3)).produce(captor.capture());
+        List<ExportData> exported = captor.getAllValues();
+        Assert.assertEquals("third", exported.get(0).getMeta().getMetricsName());
+        Assert.assertEquals("first", exported.get(1).getMeta().getMetricsName());
+        Assert.assertEquals("second", exported.get(2).getMeta().getMetricsName());
+        exported.forEach(data -> Assert.assertEquals(INCREMENT, data.getEventType()));
+    }
+
+    @Test
+    public void dropWhenBufferFull() {
+        Whitebox.setInternalState(
+            exporter, "exportBuffer", new DataCarrier<ExportData>(1, 1, BufferStrategy.IF_POSSIBLE));
+
+        // No consumer drains the buffer, the export after the first one returns without blocking.
+        exporter.export(event("first", INCREMENT));
+        exporter.export(event("first", INCREMENT));
+        exporter.export(event("first", INCREMENT));
+
+        AtomicLong droppedCount = Whitebox.getInternalState(exporter, "droppedCount");
+        Assert.assertEquals(2, droppedCount.get());
+        // The drops are logged and reset in every refresh of the subscription list.
+        exporter.fetchSubscriptionList();
+        Assert.assertEquals(0, droppedCount.get());
     }
 
     @Test
@@ -100,6 +159,15 @@ public class GRPCExporterTest {
         exporter.onExit();
     }
 
+    private static ExportEvent event(String metricName, ExportEvent.EventType type) {
+        return new ExportEvent(new MockExporterMetrics() {
+            @Override
+            public MetricsMetaInfo getMeta() {
+                return new MetricsMetaInfo(metricName, DefaultScopeDefine.ALL);
+            }
+        }, type);
+    }
+
     private List<ExportData> dataList() {
         List<ExportData> dataList = new LinkedList<>();
         dataList.add(new ExportData(metaInfo, new MockMetrics(), INCREMENT));
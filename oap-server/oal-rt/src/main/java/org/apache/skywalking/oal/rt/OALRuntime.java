@@ -28,6 +28,7 @@ import java.io.IOException;
 import java.io.Reader;
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -67,7 +68,9 @@ import org.apache.skywalking.oap.server.core.oal.rt.OALDefine;
 import org.apache.skywalking.oap.server.core.oal.rt.OALEngine;
 import org.apache.skywalking.oap.server.core.storage.StorageBuilderFactory;
 import org.apache.skywalking.oap.server.core.storage.StorageException;
+import org.apache.skywalking.oap.server.core.storage.StorageHashMapBuilder;
 import org.apache.skywalking.oap.server.core.storage.annotation.Column;
+import org.apache.skywalking.oap.server.core.storage.type.StreamingStorageBuilder;
 import org.apache.skywalking.oap.server.library.module.ModuleStartException;
 import org.apache.skywalking.oap.server.library.util.ResourceUtils;
 
@@ -98,6 +101,10 @@ public class OALRuntime implements OALEngine {
         "entity2Storage",
         "storage2Entity"
     };
+    /**
+     * The template of {@link StreamingStorageBuilder}, only provided with the default {@link StorageHashMapBuilder}.
+     */
+    private static final String METRICS_BUILDER_STREAMING_METHOD = "entity2StorageWriter";
     private static boolean IS_RT_TEMP_FOLDER_INIT_COMPLETED = false;
 
     private final OALDefine oalDefine;
@@ -323,8 +330,13 @@ public class OALRuntime implements OALEngine {
     private void generateMetricsBuilderClass(AnalysisResult metricsStmt) throws OALCompileException {
         String className = metricsBuilderClassName(metricsStmt, false);
         CtClass metricsBuilderClass = classPool.makeClass(metricsBuilderClassName(metricsStmt, true));
+        final boolean isStreaming = StorageHashMapBuilder.class.getName().equals(
+            storageBuilderFactory.builderTemplate().getSuperClass());
         try {
             metricsBuilderClass.addInterface(classPool.get(storageBuilderFactory.builderTemplate().getSuperClass()));
+            if (isStreaming) {
+                metricsBuilderClass.addInterface(classPool.get(StreamingStorageBuilder.class.getName()));
+            }
         } catch (NotFoundException e) {
             log.error("Can't find StorageBuilder interface for " + className + ".", e);
             throw new OALCompileException(e.getMessage(), e);
@@ -345,7 +357,11 @@ public class OALRuntime implements OALEngine {
         /**
          * Generate methods
          */
-        for (String method : METRICS_BUILDER_CLASS_METHODS) {
+        final List<String> methods = new ArrayList<>(Arrays.asList(METRICS_BUILDER_CLASS_METHODS));
+        if (isStreaming) {
+            methods.add(METRICS_BUILDER_STREAMING_METHOD);
+        }
+        for (String method : methods) {
             StringWriter methodEntity = new StringWriter();
             try {
                 configuration
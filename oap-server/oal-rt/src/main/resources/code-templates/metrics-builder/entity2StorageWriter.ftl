@@ -0,0 +1,9 @@
+public void entity2Storage(org.apache.skywalking.oap.server.core.storage.StorageData input, org.apache.skywalking.oap.server.core.storage.type.StorageColumnWriter writer) throws java.io.IOException {
+${metricsClassPackage}${metricsName}Metrics storageData = (${metricsClassPackage}${metricsName}Metrics)input;
+<#list fieldsFromSource as field>
+    writer.write("${field.columnName}", storageData.${field.fieldGetter}());
+</#list>
+<#list persistentFields as field>
+    writer.write("${field.columnName}", storageData.${field.fieldGetter}());
+</#list>
+}
@@ -104,6 +104,13 @@ public class CoreModuleConfig extends ModuleConfig {
      * Analyze profile snapshots max size.
      */
     private int maxSizeOfAnalyzeProfileSnapshot = 12000;
+    /**
+     * Analyze the profile snapshots page by page in bounded memory, with no limit of {@link
+     * #maxSizeOfAnalyzeProfileSnapshot}.
+     *
+     * @since 8.7.0
+     */
+    private boolean enableStreamingProfileAnalysis = false;
     /**
      * Extra model column are the column defined by {@link ScopeDefaultColumn.DefinedByField#requireDynamicActive()} ==
      * true. These columns of model are not required logically in aggregation or further query, and it will cause more
@@ -166,6 +173,85 @@ public class CoreModuleConfig extends ModuleConfig {
     @Setter
     private boolean enableEndpointNameGroupingByOpenapi = true;
 
+    /**
+     * The max number of the grouped endpoint names cached per service, 0 means no cache.
+     *
+     * @since 8.7.0
+     */
+    @Getter
+    @Setter
+    private int endpointNameGroupingCacheSize = 1000;
+
+    /**
+     * The max number of spans returned in one trace query, the segments beyond it are not decoded. 0 means no limit.
+     *
+     * @since 8.7.0
+     */
+    @Getter
+    @Setter
+    private int maxSpansOfTraceQuery = 50000;
+
+    /**
+     * The max number of the assembled traces cached for the repeated trace queries, 0 means no cache.
+     *
+     * @since 8.7.0
+     */
+    @Getter
+    @Setter
+    private int traceQueryCacheSize = 100;
+
+    /**
+     * How long in seconds the assembled trace is cached, 0 means no cache.
+     *
+     * @since 8.7.0
+     */
+    @Getter
+    @Setter
+    private int traceQueryCacheTTL = 30;
+
+    /**
+     * Hand off the cached metrics to their new owner OAP nodes when the cluster changes, to avoid the new owners reading
+     * them back from the storage. Only works when {@link #enableDatabaseSession} is true.
+     * <p>
+     * Opt-in, as the OAP nodes of old versions have no receiver of the handed off metrics, which are dropped during a
+     * rolling upgrade. Enable it only when all nodes of the cluster support it.
+     *
+     * @since 8.7.0
+     */
+    @Getter
+    @Setter
+    private boolean enableL2CacheHandoff = false;
+
+    /**
+     * How long in seconds the services, instances and endpoints are cached for the metadata queries, 0 means no cache.
+     *
+     * @since 8.7.0
+     */
+    @Getter
+    @Setter
+    private int metadataQueryCacheTTL = 10;
+
+    /**
+     * The max number of the endpoints of one service held in memory for the endpoint search, the services having more
+     * endpoints are searched in the storage.
+     *
+     * @since 8.7.0
+     */
+    @Getter
+    @Setter
+    private int maxEndpointsOfMetadataIndex = 5000;
+
+    /**
+     * The max minutes of holding the down-sampling metrics of the open hour and day in memory. The metrics are written
+     * once when their hour or day is closed, or when this period passed. 0 means the down-sampling metrics are written
+     * in every 4 persistent periods.
+     *
+     * @since 8.7.0
+     */
+    @Getter
+    @Setter
+    private int downsamplingRollupPeriod = 0;
+
     /**
      * The maximum size in bytes allowed for request headers.
      * Use -1 to disable it.
@@ -29,6 +29,6 @@ public class EndpointMetaDispatcher implements SourceDispatcher<EndpointMeta> {
         traffic.setTimeBucket(source.getTimeBucket());
         traffic.setName(source.getEndpoint());
         traffic.setServiceId(source.getServiceId());
-        MetricsStreamProcessor.getInstance().in(traffic);
+        MetricsStreamProcessor.getInstance().inDistinct(traffic);
     }
 }
@@ -30,6 +30,6 @@ public class EndpointTrafficDispatcher implements SourceDispatcher<Endpoint> {
         traffic.setTimeBucket(source.getTimeBucket());
         traffic.setName(source.getName());
         traffic.setServiceId(source.getServiceId());
-        MetricsStreamProcessor.getInstance().in(traffic);
+        MetricsStreamProcessor.getInstance().inDistinct(traffic);
     }
 }
@@ -30,6 +30,6 @@ public class InstanceTrafficDispatcher implements SourceDispatcher<ServiceInstan
         traffic.setName(source.getName());
         traffic.setServiceId(source.getServiceId());
         traffic.setLastPingTimestamp(source.getTimeBucket());
-        MetricsStreamProcessor.getInstance().in(traffic);
+        MetricsStreamProcessor.getInstance().inDistinct(traffic);
     }
 }
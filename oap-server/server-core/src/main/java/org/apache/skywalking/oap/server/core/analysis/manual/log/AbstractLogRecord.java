@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.analysis.manual.log;
 
+import java.io.IOException;
 import java.util.Base64;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +32,8 @@ import org.apache.skywalking.oap.server.core.analysis.record.Record;
 import org.apache.skywalking.oap.server.core.query.type.ContentType;
 import org.apache.skywalking.oap.server.core.storage.StorageHashMapBuilder;
 import org.apache.skywalking.oap.server.core.storage.annotation.Column;
+import org.apache.skywalking.oap.server.core.storage.type.StorageColumnWriter;
+import org.apache.skywalking.oap.server.core.storage.type.StreamingStorageBuilder;
 import org.apache.skywalking.oap.server.library.util.CollectionUtils;
 
 public abstract class AbstractLogRecord extends Record {
@@ -115,7 +118,7 @@ public abstract class AbstractLogRecord extends Record {
         throw new UnexpectedException("AbstractLogRecord doesn't provide id()");
     }
 
-    public static abstract class Builder<T extends AbstractLogRecord> implements StorageHashMapBuilder<T> {
+    public static abstract class Builder<T extends AbstractLogRecord> implements StorageHashMapBuilder<T>, StreamingStorageBuilder<T> {
 
         protected void data2Map(Map<String, Object> map, AbstractLogRecord record) {
             map.put(SERVICE_ID, record.getServiceId());
@@ -137,6 +140,26 @@ public abstract class AbstractLogRecord extends Record {
             map.put(TAGS, record.getTagsInString());
         }
 
+        protected void data2Writer(StorageColumnWriter writer, AbstractLogRecord record) throws IOException {
+            writer.write(SERVICE_ID, record.getServiceId());
+            writer.write(SERVICE_INSTANCE_ID, record.getServiceInstanceId());
+            writer.write(ENDPOINT_ID, record.getEndpointId());
+            writer.write(ENDPOINT_NAME, record.getEndpointName());
+            writer.write(TRACE_ID, record.getTraceId());
+            writer.write(TRACE_SEGMENT_ID, record.getTraceSegmentId());
+            writer.write(SPAN_ID, record.getSpanId());
+            writer.write(TIME_BUCKET, record.getTimeBucket());
+            writer.write(CONTENT_TYPE, record.getContentType());
+            writer.write(CONTENT, record.getContent());
+            writer.write(TIMESTAMP, record.getTimestamp());
+            if (CollectionUtils.isEmpty(record.getTagsRawData())) {
+                writer.write(TAGS_RAW_DATA, Const.EMPTY_STRING);
+            } else {
+                writer.write(TAGS_RAW_DATA, record.getTagsRawData());
+            }
+            writer.write(TAGS, record.getTagsInString());
+        }
+
         protected void map2Data(T record, Map<String, Object> dbMap) {
             record.setServiceId((String) dbMap.get(SERVICE_ID));
             record.setServiceInstanceId((String) dbMap.get(SERVICE_INSTANCE_ID));
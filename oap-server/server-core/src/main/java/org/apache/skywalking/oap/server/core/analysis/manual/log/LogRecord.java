@@ -17,6 +17,7 @@
 
 package org.apache.skywalking.oap.server.core.analysis.manual.log;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.Getter;
@@ -26,6 +27,7 @@ import org.apache.skywalking.oap.server.core.analysis.worker.RecordStreamProcess
 import org.apache.skywalking.oap.server.core.source.DefaultScopeDefine;
 import org.apache.skywalking.oap.server.core.storage.annotation.Column;
 import org.apache.skywalking.oap.server.core.storage.annotation.SuperDataset;
+import org.apache.skywalking.oap.server.core.storage.type.StorageColumnWriter;
 
 @SuperDataset
 @Stream(name = LogRecord.INDEX_NAME, scopeId = DefaultScopeDefine.LOG, builder = LogRecord.Builder.class, processor = RecordStreamProcessor.class)
@@ -62,6 +64,12 @@ public class LogRecord extends AbstractLogRecord {
             dbMap.put(UNIQUE_ID, record.getUniqueId());
             return dbMap;
         }
+
+        @Override
+        public void entity2Storage(final LogRecord record, final StorageColumnWriter writer) throws IOException {
+            data2Writer(writer, record);
+            writer.write(UNIQUE_ID, record.getUniqueId());
+        }
     }
 
 }
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.analysis.manual.segment;
 
+import java.io.IOException;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
@@ -36,6 +37,8 @@ import org.apache.skywalking.oap.server.core.source.DefaultScopeDefine;
 import org.apache.skywalking.oap.server.core.storage.StorageHashMapBuilder;
 import org.apache.skywalking.oap.server.core.storage.annotation.Column;
 import org.apache.skywalking.oap.server.core.storage.annotation.SuperDataset;
+import org.apache.skywalking.oap.server.core.storage.type.StorageColumnWriter;
+import org.apache.skywalking.oap.server.core.storage.type.StreamingStorageBuilder;
 import org.apache.skywalking.oap.server.library.util.CollectionUtils;
 
 @SuperDataset
@@ -126,7 +129,7 @@ public class SegmentRecord extends Record {
         return segmentId;
     }
 
-    public static class Builder implements StorageHashMapBuilder<SegmentRecord> {
+    public static class Builder implements StorageHashMapBuilder<SegmentRecord>, StreamingStorageBuilder<SegmentRecord> {
 
         @Override
         public Map<String, Object> entity2Storage(SegmentRecord storageData) {
@@ -157,6 +160,33 @@ public class SegmentRecord extends Record {
             return map;
         }
 
+        @Override
+        public void entity2Storage(SegmentRecord storageData, StorageColumnWriter writer) throws IOException {
+            storageData.statement = Strings.join(new String[] {
+                storageData.endpointName,
+                storageData.traceId
+            }, " - ");
+            writer.write(SEGMENT_ID, storageData.getSegmentId());
+            writer.write(TRACE_ID, storageData.getTraceId());
+            writer.write(TopN.STATEMENT, storageData.getStatement());
+            writer.write(SERVICE_ID, storageData.getServiceId());
+            writer.write(SERVICE_INSTANCE_ID, storageData.getServiceInstanceId());
+            writer.write(ENDPOINT_NAME, storageData.getEndpointName());
+            writer.write(ENDPOINT_ID, storageData.getEndpointId());
+            writer.write(START_TIME, storageData.getStartTime());
+            writer.write(END_TIME, storageData.getEndTime());
+            writer.write(LATENCY, storageData.getLatency());
+            writer.write(IS_ERROR, storageData.getIsError());
+            writer.write(TIME_BUCKET, storageData.getTimeBucket());
+            if (CollectionUtils.isEmpty(storageData.getDataBinary())) {
+                writer.write(DATA_BINARY, Const.EMPTY_STRING);
+            } else {
+                writer.write(DATA_BINARY, storageData.getDataBinary());
+            }
+            writer.write(VERSION, storageData.getVersion());
+            writer.write(TAGS, storageData.getTags());
+        }
+
         @Override
         public SegmentRecord storage2Entity(Map<String, Object> dbMap) {
             SegmentRecord record = new SegmentRecord();
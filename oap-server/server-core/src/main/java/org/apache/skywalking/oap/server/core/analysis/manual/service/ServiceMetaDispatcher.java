@@ -29,6 +29,6 @@ public class ServiceMetaDispatcher implements SourceDispatcher<ServiceMeta> {
         traffic.setTimeBucket(source.getTimeBucket());
         traffic.setName(source.getName());
         traffic.setNodeType(source.getNodeType());
-        MetricsStreamProcessor.getInstance().in(traffic);
+        MetricsStreamProcessor.getInstance().inDistinct(traffic);
     }
 }
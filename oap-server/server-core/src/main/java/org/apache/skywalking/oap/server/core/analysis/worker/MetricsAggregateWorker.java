@@ -28,6 +28,7 @@ import org.apache.skywalking.oap.server.core.UnexpectedException;
 import org.apache.skywalking.oap.server.core.analysis.data.MergableBufferedData;
 import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
 import org.apache.skywalking.oap.server.core.worker.AbstractWorker;
+import org.apache.skywalking.oap.server.core.worker.DataCarrierMonitor;
 import org.apache.skywalking.oap.server.library.module.ModuleDefineHolder;
 import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
 import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
@@ -47,15 +48,20 @@ public class MetricsAggregateWorker extends AbstractWorker<Metrics> {
     private final DataCarrier<Metrics> dataCarrier;
     private final MergableBufferedData<Metrics> mergeDataCache;
     private CounterMetrics aggregationCounter;
+    private final String modelName;
+    private volatile RecentTrafficFilter recentTrafficFilter;
+    private CounterMetrics suppressedCounter;
     private long lastSendTime = 0;
 
     MetricsAggregateWorker(ModuleDefineHolder moduleDefineHolder, AbstractWorker<Metrics> nextWorker,
                            String modelName, long l1FlushPeriod) {
         super(moduleDefineHolder);
         this.nextWorker = nextWorker;
+        this.modelName = modelName;
         this.mergeDataCache = new MergableBufferedData();
         String name = "METRICS_L1_AGGREGATION";
         this.dataCarrier = new DataCarrier<>("MetricsAggregateWorker." + modelName, name, 2, 10000);
+        this.dataCarrier.setMonitor(new DataCarrierMonitor(moduleDefineHolder, "MetricsAggregateWorker"));
 
         BulkConsumePool.Creator creator = new BulkConsumePool.Creator(
             name, BulkConsumePool.Creator.recommendMaxSize() * 2, 20);
@@ -85,6 +91,38 @@ public class MetricsAggregateWorker extends AbstractWorker<Metrics> {
         dataCarrier.produce(metrics);
     }
 
+    /**
+     * Enqueue the metrics only if the same entity hasn't been enqueued in the time bucket recently, otherwise it is
+     * counted as suppressed.
+     */
+    public final void inDistinct(Metrics metrics) {
+        if (getRecentTrafficFilter().isFirstInTimeBucket(metrics.id(), metrics.getTimeBucket())) {
+            in(metrics);
+        } else {
+            suppressedCounter.inc();
+        }
+    }
+
+    private RecentTrafficFilter getRecentTrafficFilter() {
+        if (recentTrafficFilter == null) {
+            synchronized (this) {
+                if (recentTrafficFilter == null) {
+                    MetricsCreator metricsCreator = getModuleDefineHolder().find(TelemetryModule.NAME)
+                                                                           .provider()
+                                                                           .getService(MetricsCreator.class);
+                    suppressedCounter = metricsCreator.createCounter(
+                        "metrics_aggregation_suppressed",
+                        "The number of rows suppressed before aggregation as the entity has been sent in the time bucket",
+                        new MetricsTag.Keys("metricName", "level", "dimensionality"),
+                        new MetricsTag.Values(modelName, "1", "minute")
+                    );
+                    recentTrafficFilter = new RecentTrafficFilter();
+                }
+            }
+        }
+        return recentTrafficFilter;
+    }
+
     /**
      * Dequeue consuming. According to {@link IConsumer#consume(List)}, this is a serial operation for every work
      * instance.
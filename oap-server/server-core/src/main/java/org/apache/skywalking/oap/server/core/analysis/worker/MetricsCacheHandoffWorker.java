@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.worker;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.oap.server.core.CoreModule;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.remote.client.RemoteClient;
+import org.apache.skywalking.oap.server.core.remote.client.RemoteClientManager;
+import org.apache.skywalking.oap.server.core.remote.selector.HashCodeSelector;
+import org.apache.skywalking.oap.server.core.worker.AbstractWorker;
+import org.apache.skywalking.oap.server.library.module.ModuleDefineHolder;
+
+/**
+ * MetricsCacheHandoffWorker keeps the L2 cache of the minute {@link MetricsPersistentWorker} warm when the OAP cluster
+ * changes. Once the remote client list is rebuilt, the metrics routed by {@link HashCodeSelector} to another OAP node
+ * are pushed to the same worker of that node and removed from the local cache. The receiver puts them into its cache,
+ * rather than reading them back from the storage, in the next round.
+ *
+ * @since 8.7.0
+ */
+@Slf4j
+public class MetricsCacheHandoffWorker extends AbstractWorker<Metrics> {
+    @Getter
+    private final String workerName;
+    private final boolean handoffEnabled;
+    private final HashCodeSelector hashCodeSelector;
+    private final Queue<Metrics> received;
+    private RemoteClientManager remoteClientManager;
+    private List<RemoteClient> lastRemoteClients;
+
+    /**
+     * @param workerName     the name of this worker, registered in the remote receivers.
+     * @param handoffEnabled false means the cached metrics are only received, never sent out.
+     */
+    MetricsCacheHandoffWorker(ModuleDefineHolder moduleDefineHolder, String workerName, boolean handoffEnabled) {
+        super(moduleDefineHolder);
+        this.workerName = workerName;
+        this.handoffEnabled = handoffEnabled;
+        this.hashCodeSelector = new HashCodeSelector();
+        this.received = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Accept the metrics handed off by another OAP node, they are put into the cache by {@link #warmUp(Map, long)}.
+     */
+    @Override
+    public void in(Metrics metrics) {
+        received.offer(metrics);
+    }
+
+    /**
+     * Put the received metrics into the cache, unless the cache has them already.
+     *
+     * @param timestamp of the metrics put into the cache, for the session timeout.
+     */
+    void warmUp(Map<Metrics, Metrics> context, long timestamp) {
+        Metrics metrics;
+        while ((metrics = received.poll()) != null) {
+            if (context.putIfAbsent(metrics, metrics) == null) {
+                metrics.setLastUpdateTimestamp(timestamp);
+            }
+        }
+    }
+
+    /**
+     * Hand off the cached metrics to their new owners, if the remote clients changed since the last round. The first
+     * round only records the remote clients.
+     *
+     * @return the number of the handed off metrics.
+     */
+    int handOff(Map<Metrics, Metrics> context) {
+        if (!handoffEnabled) {
+            return 0;
+        }
+        if (remoteClientManager == null) {
+            remoteClientManager = getModuleDefineHolder().find(CoreModule.NAME)
+                                                         .provider()
+                                                         .getService(RemoteClientManager.class);
+        }
+        // The client list is replaced as a whole when rebuilt.
+        final List<RemoteClient> remoteClients = remoteClientManager.getRemoteClient();
+        final List<RemoteClient> previous = lastRemoteClients;
+        lastRemoteClients = remoteClients;
+        if (previous == null || previous == remoteClients || previous.isEmpty() || remoteClients.isEmpty()) {
+            return 0;
+        }
+
+        int count = 0;
+        final Iterator<Metrics> iterator = context.values().iterator();
+        while (iterator.hasNext()) {
+            final Metrics metrics = iterator.next();
+            final RemoteClient owner = hashCodeSelector.select(remoteClients, metrics);
+            if (owner.getAddress().isSelf()) {
+                continue;
+            }
+            // Removed, the late metrics still routed to this node are merged with the data read from the storage.
+            iterator.remove();
+            owner.push(workerName, metrics);
+            count++;
+        }
+        if (count > 0) {
+            log.info("Cluster changed, hand off {} cached metrics of {} to the new owners.", count, workerName);
+        }
+        return count;
+    }
+}
@@ -40,6 +40,7 @@ import org.apache.skywalking.oap.server.core.exporter.ExportEvent;
 import org.apache.skywalking.oap.server.core.storage.IMetricsDAO;
 import org.apache.skywalking.oap.server.core.storage.model.Model;
 import org.apache.skywalking.oap.server.core.worker.AbstractWorker;
+import org.apache.skywalking.oap.server.core.worker.DataCarrierMonitor;
 import org.apache.skywalking.oap.server.library.client.request.PrepareRequest;
 import org.apache.skywalking.oap.server.library.module.ModuleDefineHolder;
 import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
@@ -82,6 +83,17 @@ public class MetricsPersistentWorker extends PersistenceWorker<Metrics> {
      * @since 8.7.0 TTL settings from {@link org.apache.skywalking.oap.server.core.CoreModuleConfig#getMetricsDataTTL()}
      */
     private int metricsDataTTL;
+    /**
+     * Hand off the cache to the other OAP nodes when the cluster changes, only for the minute worker with the database
+     * session enabled.
+     */
+    private MetricsCacheHandoffWorker cacheHandoffWorker;
+    /**
+     * Hold the down-sampling metrics in memory until their time buckets close, null means writing them in every
+     * {@link #persistentMod} periods.
+     */
+    private MetricsRollup rollup;
+    private CounterMetrics rollupSavedCounter;
 
     MetricsPersistentWorker(ModuleDefineHolder moduleDefineHolder, Model model, IMetricsDAO metricsDAO,
                             AbstractWorker<Metrics> nextAlarmWorker, AbstractWorker<ExportEvent> nextExportWorker,
@@ -114,6 +126,7 @@ public class MetricsPersistentWorker extends PersistenceWorker<Metrics> {
         }
 
         this.dataCarrier = new DataCarrier<>("MetricsPersistentWorker." + model.getName(), name, 1, 2000);
+        this.dataCarrier.setMonitor(new DataCarrierMonitor(moduleDefineHolder, "MetricsPersistentWorker"));
         this.dataCarrier.consume(ConsumerPoolFactory.INSTANCE.get(name), new PersistentConsumer());
 
         MetricsCreator metricsCreator = moduleDefineHolder.find(TelemetryModule.NAME)
@@ -129,6 +142,9 @@ public class MetricsPersistentWorker extends PersistenceWorker<Metrics> {
 
     /**
      * Create the leaf and down-sampling MetricsPersistentWorker, no next step.
+     *
+     * @param rollupPeriod the max time in ms the metrics of the open time buckets are held in memory, 0 means the
+     *                     metrics are written in every 4 periods.
      */
     MetricsPersistentWorker(ModuleDefineHolder moduleDefineHolder,
                             Model model,
@@ -136,7 +152,8 @@ public class MetricsPersistentWorker extends PersistenceWorker<Metrics> {
                             boolean enableDatabaseSession,
                             boolean supportUpdate,
                             long storageSessionTimeout,
-                            int metricsDataTTL) {
+                            int metricsDataTTL,
+                            long rollupPeriod) {
         this(moduleDefineHolder, model, metricsDAO,
              null, null, null,
              enableDatabaseSession, supportUpdate, storageSessionTimeout, metricsDataTTL
@@ -147,6 +164,27 @@ public class MetricsPersistentWorker extends PersistenceWorker<Metrics> {
         this.sessionTimeout = this.sessionTimeout * 4 + SESSION_TIMEOUT_OFFSITE_COUNTER * 200;
         // The down sampling level worker executes every 4 periods.
         this.persistentMod = 4;
+
+        if (rollupPeriod > 0) {
+            this.rollup = new MetricsRollup(model.getDownsampling(), rollupPeriod, System.currentTimeMillis());
+            MetricsCreator metricsCreator = moduleDefineHolder.find(TelemetryModule.NAME)
+                                                              .provider()
+                                                              .getService(MetricsCreator.class);
+            this.rollupSavedCounter = metricsCreator.createCounter(
+                "metrics_rollup_saved_writes", "The number of the down-sampling rows merged in memory rather than storage",
+                new MetricsTag.Keys("metricName", "dimensionality"),
+                new MetricsTag.Values(model.getName(), model.getDownsampling().getName())
+            );
+        }
+    }
+
+    /**
+     * Keep the cache warm through the given worker, when the database session is enabled.
+     */
+    void setCacheHandoffWorker(MetricsCacheHandoffWorker cacheHandoffWorker) {
+        if (enableDatabaseSession) {
+            this.cacheHandoffWorker = cacheHandoffWorker;
+        }
     }
 
     /**
@@ -158,13 +196,27 @@ public class MetricsPersistentWorker extends PersistenceWorker<Metrics> {
         dataCarrier.produce(metrics);
     }
 
+    /**
+     * Read the cache only in the executing rounds, the metrics keep being merged in the cache in the other rounds.
+     */
     @Override
-    public List<PrepareRequest> prepareBatch(Collection<Metrics> lastCollection) {
+    public List<PrepareRequest> buildBatchRequests() {
         if (persistentCounter++ % persistentMod != 0) {
             return Collections.EMPTY_LIST;
         }
+        return super.buildBatchRequests();
+    }
 
+    @Override
+    public List<PrepareRequest> prepareBatch(Collection<Metrics> lastCollection) {
         long start = System.currentTimeMillis();
+        if (cacheHandoffWorker != null) {
+            cacheHandoffWorker.warmUp(context, start);
+        }
+        if (rollup != null) {
+            rollupSavedCounter.inc(rollup.accept(lastCollection));
+            lastCollection = rollup.release(start);
+        }
         if (lastCollection.size() == 0) {
             return Collections.EMPTY_LIST;
         }
@@ -310,6 +362,9 @@ public class MetricsPersistentWorker extends PersistenceWorker<Metrics> {
                     iterator.remove();
                 }
             }
+            if (cacheHandoffWorker != null) {
+                cacheHandoffWorker.handOff(context);
+            }
         }
     }
 
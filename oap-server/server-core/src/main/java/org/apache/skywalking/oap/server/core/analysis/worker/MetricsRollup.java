@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.worker;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.analysis.TimeBucket;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+
+/**
+ * MetricsRollup holds the hour and day metrics rolled up from the minute metrics in memory, rather than writing them
+ * to the storage in every persistent round. The metrics of a time bucket are released once, when the time bucket is
+ * closed, and the open time buckets are released every {@link #period} to bound the delay of the query and the loss
+ * at shutdown.
+ *
+ * This class is not thread safe, it is driven by the persistent rounds of the {@link MetricsPersistentWorker}.
+ */
+class MetricsRollup {
+    /**
+     * The minute metrics reach the down-sampling worker after the minute persistent round, so the time bucket is
+     * treated as closed after this delay.
+     */
+    static final long CLOSE_DELAY = 2 * 60 * 1000L;
+
+    private final DownSampling downSampling;
+    private final long period;
+    private final Map<Metrics, Metrics> buffer;
+    private long lastReleaseTimestamp;
+
+    /**
+     * @param period    the max time in ms the metrics of the open time buckets are held.
+     * @param timestamp the current time in ms.
+     */
+    MetricsRollup(DownSampling downSampling, long period, long timestamp) {
+        this.downSampling = downSampling;
+        this.period = period;
+        this.buffer = new HashMap<>();
+        this.lastReleaseTimestamp = timestamp;
+    }
+
+    /**
+     * Merge the metrics into the held ones of the same ID. The metrics the held ones refuse to combine are abandoned,
+     * as {@link MetricsPersistentWorker} does with the metrics read from the storage.
+     *
+     * @return the number of the metrics merged into the held ones, every one of them saves a read and a write of the
+     * storage.
+     */
+    int accept(Collection<Metrics> metricsCollection) {
+        int merged = 0;
+        for (Metrics metrics : metricsCollection) {
+            final Metrics held = buffer.get(metrics);
+            if (held == null) {
+                buffer.put(metrics, metrics);
+                continue;
+            }
+            // The held metrics is kept unaltered when the combination is abandoned, only the incoming one is dropped.
+            if (held.combine(metrics)) {
+                merged++;
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Release the metrics of the closed time buckets, or all the held metrics if the period passed since the last
+     * release of all.
+     *
+     * @param timestamp the current time in ms.
+     * @return the released metrics, which are removed from this rollup.
+     */
+    List<Metrics> release(long timestamp) {
+        if (timestamp - lastReleaseTimestamp >= period) {
+            lastReleaseTimestamp = timestamp;
+            final List<Metrics> released = new ArrayList<>(buffer.values());
+            buffer.clear();
+            return released;
+        }
+
+        final long openTimeBucket = TimeBucket.getTimeBucket(timestamp - CLOSE_DELAY, downSampling);
+        final List<Metrics> released = new ArrayList<>();
+        final Iterator<Metrics> iterator = buffer.values().iterator();
+        while (iterator.hasNext()) {
+            final Metrics metrics = iterator.next();
+            if (metrics.getTimeBucket() < openTimeBucket) {
+                released.add(metrics);
+                iterator.remove();
+            }
+        }
+        return released;
+    }
+
+    int size() {
+        return buffer.size();
+    }
+}
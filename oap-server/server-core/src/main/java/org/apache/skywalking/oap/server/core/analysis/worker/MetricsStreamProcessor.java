@@ -82,6 +82,17 @@ public class MetricsStreamProcessor implements StreamProcessor<Metrics> {
     @Setter
     @Getter
     private boolean enableDatabaseSession;
+    /**
+     * Hold and forward CoreModuleConfig#enableL2CacheHandoff to the minute persistent worker.
+     */
+    @Setter
+    private boolean enableL2CacheHandoff = false;
+    /**
+     * The max time of holding the down-sampling metrics of the open time buckets in memory. Unit is ms. 0 means the
+     * down-sampling metrics are written in every 4 persistent periods.
+     */
+    @Setter
+    private long downsamplingRollupPeriod = 0;
     /**
      * The threshold of session time. Unit is ms. Default value is 70s.
      */
@@ -105,6 +116,18 @@ public class MetricsStreamProcessor implements StreamProcessor<Metrics> {
         }
     }
 
+    /**
+     * Same as {@link #in(Metrics)}, except the metrics is dropped if this OAP has sent the same entity in the same time
+     * bucket recently. It fits the traffic of services, instances and endpoints, which are generated by almost every
+     * segment or meter, but only the first one in every time bucket matters.
+     */
+    public void inDistinct(Metrics metrics) {
+        MetricsAggregateWorker worker = entryWorkers.get(metrics.getClass());
+        if (worker != null) {
+            worker.inDistinct(metrics);
+        }
+    }
+
     /**
      * Create the workers and work flow for every metrics.
      *
@@ -192,6 +215,11 @@ public class MetricsStreamProcessor implements StreamProcessor<Metrics> {
                                                                        .getService(IWorkerInstanceSetter.class);
         workerInstanceSetter.put(remoteReceiverWorkerName, minutePersistentWorker, metricsClass);
 
+        MetricsCacheHandoffWorker cacheHandoffWorker = new MetricsCacheHandoffWorker(
+            moduleDefineHolder, stream.getName() + "_handoff", enableL2CacheHandoff);
+        workerInstanceSetter.put(cacheHandoffWorker.getWorkerName(), cacheHandoffWorker, metricsClass);
+        minutePersistentWorker.setCacheHandoffWorker(cacheHandoffWorker);
+
         MetricsRemoteWorker remoteWorker = new MetricsRemoteWorker(moduleDefineHolder, remoteReceiverWorkerName);
         MetricsAggregateWorker aggregateWorker = new MetricsAggregateWorker(
             moduleDefineHolder, remoteWorker, stream.getName(), l1FlushPeriod);
@@ -222,7 +250,7 @@ public class MetricsStreamProcessor implements StreamProcessor<Metrics> {
                                                        boolean supportUpdate) {
         MetricsPersistentWorker persistentWorker = new MetricsPersistentWorker(
             moduleDefineHolder, model, metricsDAO,
-            enableDatabaseSession, supportUpdate, storageSessionTimeout, metricsDataTTL
+            enableDatabaseSession, supportUpdate, storageSessionTimeout, metricsDataTTL, downsamplingRollupPeriod
         );
         persistentWorkers.add(persistentWorker);
 
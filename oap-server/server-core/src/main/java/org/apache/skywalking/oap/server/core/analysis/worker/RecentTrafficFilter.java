@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.worker;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RecentTrafficFilter remembers the ids of the entities sent into the stream in the latest two time buckets. Only the
+ * first one of every entity in a time bucket passes, the following ones would be merged into it by the L1 aggregation
+ * anyway. The metrics of the earlier time buckets always pass, as they are not remembered any more.
+ */
+class RecentTrafficFilter {
+    private volatile Bucket current = new Bucket(0);
+    private volatile Bucket previous = new Bucket(0);
+
+    /**
+     * @return true if the entity hasn't passed in the time bucket.
+     */
+    boolean isFirstInTimeBucket(String id, long timeBucket) {
+        Bucket bucket = current;
+        if (timeBucket > bucket.timeBucket) {
+            bucket = advance(timeBucket);
+        }
+        if (timeBucket == bucket.timeBucket) {
+            return bucket.ids.add(id);
+        }
+        bucket = previous;
+        if (timeBucket == bucket.timeBucket) {
+            return bucket.ids.add(id);
+        }
+        return true;
+    }
+
+    private synchronized Bucket advance(long timeBucket) {
+        if (timeBucket > current.timeBucket) {
+            previous = current;
+            current = new Bucket(timeBucket);
+        }
+        return current;
+    }
+
+    private static class Bucket {
+        private final long timeBucket;
+        private final Set<String> ids = ConcurrentHashMap.newKeySet();
+
+        private Bucket(long timeBucket) {
+            this.timeBucket = timeBucket;
+        }
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.skywalking.oap.server.core.analysis.worker;
 
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.skywalking.oap.server.core.analysis.record.Record;
 import org.apache.skywalking.oap.server.core.storage.IBatchDAO;
 import org.apache.skywalking.oap.server.core.storage.IRecordDAO;
@@ -27,26 +28,54 @@ import org.apache.skywalking.oap.server.core.storage.model.Model;
 import org.apache.skywalking.oap.server.core.worker.AbstractWorker;
 import org.apache.skywalking.oap.server.library.client.request.InsertRequest;
 import org.apache.skywalking.oap.server.library.module.ModuleDefineHolder;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class RecordPersistentWorker extends AbstractWorker<Record> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RecordPersistentWorker.class);
+    /**
+     * The dropped records are logged at most once in this period. Unit is millisecond.
+     */
+    private static final long DROP_LOG_PERIOD = 10_000;
 
     private final Model model;
     private final IRecordDAO recordDAO;
     private final IBatchDAO batchDAO;
+    private final CounterMetrics droppedCounter;
+    private final AtomicLong droppedSinceLastLog = new AtomicLong();
+    private final AtomicLong lastDropLogTime = new AtomicLong();
 
     RecordPersistentWorker(ModuleDefineHolder moduleDefineHolder, Model model, IRecordDAO recordDAO) {
         super(moduleDefineHolder);
         this.model = model;
         this.recordDAO = recordDAO;
         this.batchDAO = moduleDefineHolder.find(StorageModule.NAME).provider().getService(IBatchDAO.class);
+        MetricsCreator metricsCreator = moduleDefineHolder.find(TelemetryModule.NAME)
+                                                          .provider()
+                                                          .getService(MetricsCreator.class);
+        this.droppedCounter = metricsCreator.createCounter(
+            "record_persistent_dropped", "The number of the records dropped because the storage is backpressured",
+            new MetricsTag.Keys("metricName"),
+            new MetricsTag.Values(model.getName())
+        );
     }
 
     @Override
     public void in(Record record) {
+        try {
+            // Slow down the analysis when the storage is backpressured, for at most the time configured by the storage.
+            if (!batchDAO.awaitRecordCapacity()) {
+                drop();
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
         try {
             InsertRequest insertRequest = recordDAO.prepareBatchInsert(model, record);
             batchDAO.insert(insertRequest);
@@ -54,4 +83,17 @@ public class RecordPersistentWorker extends AbstractWorker<Record> {
             LOGGER.error(e.getMessage(), e);
         }
     }
+
+    private void drop() {
+        droppedCounter.inc();
+        droppedSinceLastLog.incrementAndGet();
+        final long now = System.currentTimeMillis();
+        final long lastLogTime = lastDropLogTime.get();
+        if (now - lastLogTime >= DROP_LOG_PERIOD && lastDropLogTime.compareAndSet(lastLogTime, now)) {
+            LOGGER.warn(
+                "Storage is backpressured, {} records of {} are dropped since the last report.",
+                droppedSinceLastLog.getAndSet(0), model.getName()
+            );
+        }
+    }
 }
@@ -30,6 +30,7 @@ import org.apache.skywalking.oap.server.core.analysis.data.ReadWriteSafeCache;
 import org.apache.skywalking.oap.server.core.analysis.topn.TopN;
 import org.apache.skywalking.oap.server.core.storage.IRecordDAO;
 import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.apache.skywalking.oap.server.core.worker.DataCarrierMonitor;
 import org.apache.skywalking.oap.server.library.client.request.PrepareRequest;
 import org.apache.skywalking.oap.server.library.module.ModuleDefineHolder;
 
@@ -53,6 +54,7 @@ public class TopNWorker extends PersistenceWorker<TopN> {
         this.recordDAO = recordDAO;
         this.model = model;
         this.dataCarrier = new DataCarrier<>("TopNWorker", 1, 1000);
+        this.dataCarrier.setMonitor(new DataCarrierMonitor(moduleDefineHolder, "TopNWorker"));
         this.dataCarrier.consume(new TopNWorker.TopNConsumer(), 1);
         this.lastReportTimestamp = System.currentTimeMillis();
         // Top N persistent works per 10 minutes default.
@@ -30,6 +30,6 @@ public class BrowserAppPageTrafficDispatcher extends BrowserAppTrafficSourceDisp
         traffic.setTimeBucket(source.getTimeBucket());
         traffic.setName(source.getName());
         traffic.setServiceId(source.getServiceId());
-        MetricsStreamProcessor.getInstance().in(traffic);
+        MetricsStreamProcessor.getInstance().inDistinct(traffic);
     }
 }
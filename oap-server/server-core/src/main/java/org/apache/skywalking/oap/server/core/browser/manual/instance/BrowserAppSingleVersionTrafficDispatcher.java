@@ -31,6 +31,6 @@ public class BrowserAppSingleVersionTrafficDispatcher extends BrowserAppTrafficS
         traffic.setName(source.getName());
         traffic.setServiceId(source.getServiceId());
         traffic.setLastPingTimestamp(source.getTimeBucket());
-        MetricsStreamProcessor.getInstance().in(traffic);
+        MetricsStreamProcessor.getInstance().inDistinct(traffic);
     }
 }
@@ -30,6 +30,6 @@ public class BrowserAppTrafficDispatcher extends BrowserAppTrafficSourceDispatch
         traffic.setTimeBucket(source.getTimeBucket());
         traffic.setName(source.getName());
         traffic.setNodeType(source.getNodeType());
-        MetricsStreamProcessor.getInstance().in(traffic);
+        MetricsStreamProcessor.getInstance().inDistinct(traffic);
     }
 }
@@ -18,19 +18,65 @@
 
 package org.apache.skywalking.oap.server.core.config.group;
 
-import lombok.Setter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.apm.util.StringFormatGroup;
 import org.apache.skywalking.oap.server.core.config.group.openapi.EndpointGroupingRule4Openapi;
 
 @Slf4j
 public class EndpointNameGrouping {
-    @Setter
+    private static final int DEFAULT_CACHE_SIZE_PER_SERVICE = 1000;
+
     private volatile EndpointGroupingRule endpointGroupingRule;
-    @Setter
     private volatile EndpointGroupingRule4Openapi endpointGroupingRule4Openapi;
+    /**
+     * The max number of the formatted endpoint names cached per service, 0 means no cache.
+     */
+    private final int cacheSizePerService;
+    /**
+     * The formatted endpoint names of the current rules, it is replaced after the rules changed.
+     */
+    private volatile Map<String/*serviceName*/, Cache<String/*endpointName*/, String/*formattedName*/>> formattedNames;
+
+    public EndpointNameGrouping() {
+        this(DEFAULT_CACHE_SIZE_PER_SERVICE);
+    }
+
+    public EndpointNameGrouping(int cacheSizePerService) {
+        this.cacheSizePerService = cacheSizePerService;
+        this.formattedNames = new ConcurrentHashMap<>();
+    }
+
+    public void setEndpointGroupingRule(EndpointGroupingRule endpointGroupingRule) {
+        this.endpointGroupingRule = endpointGroupingRule;
+        this.formattedNames = new ConcurrentHashMap<>();
+    }
+
+    public void setEndpointGroupingRule4Openapi(EndpointGroupingRule4Openapi endpointGroupingRule4Openapi) {
+        this.endpointGroupingRule4Openapi = endpointGroupingRule4Openapi;
+        this.formattedNames = new ConcurrentHashMap<>();
+    }
 
     public String format(String serviceName, String endpointName) {
+        if (cacheSizePerService <= 0 || (endpointGroupingRule == null && endpointGroupingRule4Openapi == null)) {
+            return doFormat(serviceName, endpointName);
+        }
+        // Read the cache before the rules, the setters change them in the reverse order, so a name formatted by the
+        // previous rules never goes into the cache of the new ones.
+        final Cache<String, String> cache = formattedNames.computeIfAbsent(
+            serviceName, name -> CacheBuilder.newBuilder().maximumSize(cacheSizePerService).build());
+        String formattedName = cache.getIfPresent(endpointName);
+        if (formattedName == null) {
+            formattedName = doFormat(serviceName, endpointName);
+            cache.put(endpointName, formattedName);
+        }
+        return formattedName;
+    }
+
+    private String doFormat(String serviceName, String endpointName) {
         String formattedName = endpointName;
         if (endpointGroupingRule4Openapi != null) {
             formattedName = formatByOpenapi(serviceName, formattedName);
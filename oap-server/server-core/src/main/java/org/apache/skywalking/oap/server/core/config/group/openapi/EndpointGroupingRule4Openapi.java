@@ -28,6 +28,10 @@ public class EndpointGroupingRule4Openapi {
     private final Map<String/*serviceName*/, Map<String/*endpointName*/, String/*endpointGroupName*/>> directLookup = new HashMap<>();
     @Getter
     private final Map<String, Map<String, StringFormatGroup>> groupedRules = new HashMap<>();
+    /**
+     * The compiled {@link #groupedRules}, which are used in the format.
+     */
+    private final Map<String, Map<String, PathTemplateMatcher>> matchers = new HashMap<>();
 
     void addDirectLookup(String serviceName, String endpointName, String endpointGroupName) {
         Map<String, String> endpointNameLookup = directLookup.computeIfAbsent(serviceName, name -> new HashMap<>());
@@ -38,7 +42,13 @@ public class EndpointGroupingRule4Openapi {
         String rulesGroupkey = getGroupedRulesKey(ruleRegex);
         Map<String, StringFormatGroup> rules = groupedRules.computeIfAbsent(serviceName, name -> new HashMap<>());
         StringFormatGroup formatGroup = rules.computeIfAbsent(rulesGroupkey, name -> new StringFormatGroup());
+        int size = formatGroup.getRules().size();
         formatGroup.addRule(endpointGroupName, ruleRegex);
+        if (formatGroup.getRules().size() > size) {
+            matchers.computeIfAbsent(serviceName, name -> new HashMap<>())
+                    .computeIfAbsent(rulesGroupkey, name -> new PathTemplateMatcher())
+                    .add(formatGroup.getRules().get(size));
+        }
     }
 
     public StringFormatGroup.FormatResult format(String service, String endpointName) {
@@ -47,11 +57,11 @@ public class EndpointGroupingRule4Openapi {
             return new StringFormatGroup.FormatResult(true, endpointNameLookup.get(endpointName), endpointName);
         }
 
-        Map<String, StringFormatGroup> rules = groupedRules.get(service);
+        Map<String, PathTemplateMatcher> rules = matchers.get(service);
         if (rules != null) {
-            final StringFormatGroup stringFormatGroup = rules.get(getGroupedRulesKey(endpointName));
-            if (stringFormatGroup != null) {
-                return stringFormatGroup.format(endpointName);
+            final PathTemplateMatcher matcher = rules.get(getGroupedRulesKey(endpointName));
+            if (matcher != null) {
+                return matcher.format(endpointName);
             }
         }
 
@@ -70,6 +80,8 @@ public class EndpointGroupingRule4Openapi {
             rules.entrySet().forEach(stringFormatGroup -> {
                 stringFormatGroup.getValue()
                                  .sortRules(new EndpointGroupingRule4Openapi.EndpointGroupingRulesComparator());
+                matchers.get(serviceName)
+                        .put(stringFormatGroup.getKey(), new PathTemplateMatcher(stringFormatGroup.getValue()));
             });
         }
     }
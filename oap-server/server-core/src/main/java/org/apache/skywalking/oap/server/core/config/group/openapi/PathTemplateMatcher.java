@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.config.group.openapi;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.skywalking.apm.util.StringFormatGroup;
+
+/**
+ * PathTemplateMatcher compiles the rules of a {@link StringFormatGroup} into a trie of the path segments. The literal
+ * segments and the variable segments, `([^/]+)`, are matched without regex, the rules including any other regex syntax
+ * keep matching by their patterns. The result is the same as {@link StringFormatGroup#format(String)}, the first rule
+ * in the order of the group wins.
+ */
+class PathTemplateMatcher {
+    private static final String VAR_SEGMENT = "([^/]+)";
+    /**
+     * Replaces the {@link #VAR_SEGMENT} before splitting the pattern by `/`, as the variable includes `/` too.
+     */
+    private static final String VAR_MARK = "\u0000";
+    private static final String REGEX_META_CHARS = "\\^$.|?*+()[]{}\u0000";
+
+    private final Node root = new Node(0);
+    /**
+     * The rules can't be compiled into the trie, in the order of the group.
+     */
+    private final List<RegexRule> regexRules = new ArrayList<>();
+    private int size;
+
+    PathTemplateMatcher() {
+    }
+
+    PathTemplateMatcher(StringFormatGroup group) {
+        group.getRules().forEach(this::add);
+    }
+
+    /**
+     * Add the rule to the end of the matching order.
+     */
+    void add(StringFormatGroup.PatternRule rule) {
+        final int rank = size++;
+        final String pattern = rule.getPattern().pattern();
+        if (pattern.contains(VAR_MARK)) {
+            regexRules.add(new RegexRule(rank, rule));
+            return;
+        }
+        final String[] segments = pattern.replace(VAR_SEGMENT, VAR_MARK).split("/", -1);
+        for (String segment : segments) {
+            if (!VAR_MARK.equals(segment) && !isLiteral(segment)) {
+                regexRules.add(new RegexRule(rank, rule));
+                return;
+            }
+        }
+        Node node = root;
+        for (String segment : segments) {
+            node = VAR_MARK.equals(segment) ? node.varChild(rank) : node.literalChild(segment, rank);
+        }
+        if (node.name == null) {
+            node.name = rule.getName();
+            node.rank = rank;
+        }
+    }
+
+    StringFormatGroup.FormatResult format(String string) {
+        final String[] segments = string.split("/", -1);
+        Node matched = search(root, segments, 0, null);
+        final int matchedRank = matched == null ? Integer.MAX_VALUE : matched.rank;
+        for (RegexRule regexRule : regexRules) {
+            if (regexRule.rank > matchedRank) {
+                break;
+            }
+            if (regexRule.rule.getPattern().matcher(string).matches()) {
+                return new StringFormatGroup.FormatResult(true, regexRule.rule.getName(), string);
+            }
+        }
+        if (matched != null) {
+            return new StringFormatGroup.FormatResult(true, matched.name, string);
+        }
+        return new StringFormatGroup.FormatResult(false, string, string);
+    }
+
+    /**
+     * @return the matched node of the first rule in the order, a sub-tree is skipped when all of its rules are after
+     * the best one.
+     */
+    private static Node search(Node node, String[] segments, int index, Node best) {
+        if (best != null && node.minRank >= best.rank) {
+            return best;
+        }
+        if (index == segments.length) {
+            return node.name != null ? node : best;
+        }
+        final String segment = segments[index];
+        if (node.literalChildren != null) {
+            final Node child = node.literalChildren.get(segment);
+            if (child != null) {
+                best = search(child, segments, index + 1, best);
+            }
+        }
+        if (node.varChild != null && !segment.isEmpty()) {
+            best = search(node.varChild, segments, index + 1, best);
+        }
+        return best;
+    }
+
+    private static boolean isLiteral(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            if (REGEX_META_CHARS.indexOf(segment.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static class Node {
+        /**
+         * The rank of the first rule through this node, as the rules are added in order.
+         */
+        private final int minRank;
+        private Map<String, Node> literalChildren;
+        private Node varChild;
+        private String name;
+        private int rank;
+
+        private Node(int minRank) {
+            this.minRank = minRank;
+        }
+
+        private Node literalChild(String segment, int rank) {
+            if (literalChildren == null) {
+                literalChildren = new HashMap<>();
+            }
+            return literalChildren.computeIfAbsent(segment, key -> new Node(rank));
+        }
+
+        private Node varChild(int rank) {
+            if (varChild == null) {
+                varChild = new Node(rank);
+            }
+            return varChild;
+        }
+    }
+
+    private static class RegexRule {
+        private final int rank;
+        private final StringFormatGroup.PatternRule rule;
+
+        private RegexRule(int rank, StringFormatGroup.PatternRule rule) {
+            this.rank = rank;
+            this.rule = rule;
+        }
+    }
+}
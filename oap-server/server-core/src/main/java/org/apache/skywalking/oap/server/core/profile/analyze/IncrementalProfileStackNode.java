@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.profile.analyze;
+
+import com.google.common.base.Objects;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import org.apache.skywalking.oap.server.core.query.type.ProfileStackElement;
+import org.apache.skywalking.oap.server.core.query.type.ProfileStackTree;
+
+/**
+ * Work for the streaming analysis of {@link ProfileAnalyzer}. Same as {@link ProfileStackNode}, except the {@link
+ * ProfileStack}s are merged one by one in the ascending order of the sequence, so every node keeps the count and the
+ * duration of the detected stacks, rather than the stacks themselves. The memory is bounded by the size of the tree,
+ * no matter how many stacks are analyzed.
+ */
+public class IncrementalProfileStackNode {
+
+    private final String codeSignature;
+    private final List<IncrementalProfileStackNode> children;
+    private int count;
+    private long duration;
+    /**
+     * The continuous time window of the stacks detected by this node, its duration is added once it is broken.
+     */
+    private int windowEndSequence;
+    private long windowStartTime;
+    private long windowEndTime;
+
+    public IncrementalProfileStackNode(String codeSignature) {
+        this.codeSignature = codeSignature;
+        this.children = new ArrayList<>();
+    }
+
+    /**
+     * accumulate {@link ProfileStack} to this tree, it will invoke on the tree root node. The stacks must be
+     * accumulated in the ascending order of the sequence.
+     */
+    public void accumulateFrom(ProfileStack stack) {
+        List<String> stackList = stack.getStack();
+        this.detectedBy(stack);
+
+        IncrementalProfileStackNode parent = this;
+        for (int depth = 1; depth < stackList.size(); depth++) {
+            String elementCodeSignature = stackList.get(depth);
+
+            IncrementalProfileStackNode childElement = null;
+            for (IncrementalProfileStackNode child : parent.children) {
+                if (Objects.equal(child.codeSignature, elementCodeSignature)) {
+                    childElement = child;
+                    break;
+                }
+            }
+            if (childElement == null) {
+                childElement = new IncrementalProfileStackNode(elementCodeSignature);
+                parent.children.add(childElement);
+            }
+
+            childElement.detectedBy(stack);
+            parent = childElement;
+        }
+    }
+
+    /**
+     * build GraphQL result, the elements are in the same order as {@link ProfileStackNode#buildAnalyzeResult()}
+     */
+    public ProfileStackTree buildAnalyzeResult() {
+        ProfileStackTree tree = new ProfileStackTree();
+        int idGenerator = 1;
+
+        ProfileStackElement root = buildElement(idGenerator++);
+        tree.getElements().add(root);
+
+        LinkedList<IncrementalProfileStackNode> nodes = new LinkedList<>();
+        LinkedList<ProfileStackElement> elements = new LinkedList<>();
+        nodes.add(this);
+        elements.add(root);
+        while (!nodes.isEmpty()) {
+            IncrementalProfileStackNode node = nodes.pop();
+            ProfileStackElement element = elements.pop();
+
+            int childrenDuration = 0;
+            for (IncrementalProfileStackNode child : node.children) {
+                ProfileStackElement childElement = child.buildElement(idGenerator++);
+                childElement.setParentId(element.getId());
+                childrenDuration += childElement.getDuration();
+
+                tree.getElements().add(childElement);
+                nodes.add(child);
+                elements.add(childElement);
+            }
+            element.setDurationChildExcluded(element.getDuration() - childrenDuration);
+        }
+
+        return tree;
+    }
+
+    private void detectedBy(ProfileStack stack) {
+        if (count == 0 || windowEndSequence + 1 != stack.getSequence()) {
+            // close the last time window, and start a new one
+            duration += windowEndTime - windowStartTime;
+            windowStartTime = stack.getDumpTime();
+        }
+        windowEndSequence = stack.getSequence();
+        windowEndTime = stack.getDumpTime();
+        count++;
+    }
+
+    private ProfileStackElement buildElement(int id) {
+        ProfileStackElement element = new ProfileStackElement();
+        element.setId(id);
+        element.setCodeSignature(this.codeSignature);
+        element.setCount(this.count);
+        element.setDuration(Math.toIntExact(this.duration + windowEndTime - windowStartTime));
+        return element;
+    }
+}
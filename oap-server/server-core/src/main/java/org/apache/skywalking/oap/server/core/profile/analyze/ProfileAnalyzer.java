@@ -22,6 +22,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -51,14 +53,25 @@ public class ProfileAnalyzer {
 
     private final int threadSnapshotAnalyzeBatchSize;
     private final int analyzeSnapshotMaxSize;
+    /**
+     * Page the snapshots in the order of the sequence and merge them into the trees one page after another, rather
+     * than loading at most {@link #analyzeSnapshotMaxSize} snapshots into memory.
+     */
+    private final boolean streaming;
 
     private final ModuleManager moduleManager;
     protected IProfileThreadSnapshotQueryDAO profileThreadSnapshotQueryDAO;
 
     public ProfileAnalyzer(ModuleManager moduleManager, int snapshotAnalyzeBatchSize, int analyzeSnapshotMaxSize) {
+        this(moduleManager, snapshotAnalyzeBatchSize, analyzeSnapshotMaxSize, false);
+    }
+
+    public ProfileAnalyzer(ModuleManager moduleManager, int snapshotAnalyzeBatchSize, int analyzeSnapshotMaxSize,
+                           boolean streaming) {
         this.moduleManager = moduleManager;
         this.threadSnapshotAnalyzeBatchSize = snapshotAnalyzeBatchSize;
         this.analyzeSnapshotMaxSize = analyzeSnapshotMaxSize;
+        this.streaming = streaming;
     }
 
     /**
@@ -73,11 +86,16 @@ public class ProfileAnalyzer {
             analyzation.setTip("Data not found");
             return analyzation;
         }
+        if (streaming) {
+            analyzation.getTrees().addAll(analyzeInStreaming(segmentId, sequenceSearch));
+            return analyzation;
+        }
         if (sequenceSearch.getTotalSequenceCount() > analyzeSnapshotMaxSize) {
             analyzation.setTip("Out of snapshot analyze limit, " + sequenceSearch.getTotalSequenceCount() + " snapshots found, but analysis first " + analyzeSnapshotMaxSize + " snapshots only.");
         }
 
-        // query snapshots
+        // query snapshots, all stacks share the frames decoded by the dictionary
+        final ProfileFrameDictionary frameDictionary = new ProfileFrameDictionary();
         List<ProfileStack> stacks = sequenceSearch.getRanges().parallelStream().map(r -> {
             try {
                 return getProfileThreadSnapshotQueryDAO().queryRecords(segmentId, r.getMinSequence(), r.getMaxSequence());
@@ -85,7 +103,7 @@ public class ProfileAnalyzer {
                 LOGGER.warn(e.getMessage(), e);
                 return Collections.<ProfileThreadSnapshotRecord>emptyList();
             }
-        }).flatMap(Collection::stream).map(ProfileStack::deserialize).distinct().collect(Collectors.toList());
+        }).flatMap(Collection::stream).map(r -> ProfileStack.deserialize(r, frameDictionary)).distinct().collect(Collectors.toList());
 
         // analyze
         final List<ProfileStackTree> trees = analyze(stacks);
@@ -121,7 +139,9 @@ public class ProfileAnalyzer {
         }
 
         SequenceSearch sequenceSearch = new SequenceSearch(maxSequence - minSequence);
-        maxSequence = Math.min(maxSequence, minSequence + analyzeSnapshotMaxSize);
+        if (!streaming) {
+            maxSequence = Math.min(maxSequence, minSequence + analyzeSnapshotMaxSize);
+        }
 
         do {
             int batchMax = Math.min(minSequence + threadSnapshotAnalyzeBatchSize, maxSequence);
@@ -151,6 +171,50 @@ public class ProfileAnalyzer {
         return new ArrayList<>(stackTrees.values());
     }
 
+    /**
+     * Query the snapshots page by page in the ascending order of the sequence, and merge every page into the trees
+     * before querying the next one. The sequences covered by the overlapping time ranges are merged once.
+     */
+    private List<ProfileStackTree> analyzeInStreaming(String segmentId, SequenceSearch sequenceSearch) {
+        final ProfileFrameDictionary frameDictionary = new ProfileFrameDictionary();
+        final Map<String, IncrementalProfileStackNode> roots = new LinkedHashMap<>();
+
+        final List<SequenceRange> ranges = new ArrayList<>(sequenceSearch.getRanges());
+        ranges.sort(Comparator.comparingInt(SequenceRange::getMinSequence));
+        int lastSequence = Integer.MIN_VALUE;
+        for (SequenceRange range : ranges) {
+            if (range.getMaxSequence() <= lastSequence + 1) {
+                continue;
+            }
+            final List<ProfileThreadSnapshotRecord> records;
+            try {
+                records = new ArrayList<>(getProfileThreadSnapshotQueryDAO().queryRecords(
+                    segmentId, Math.max(range.getMinSequence(), lastSequence + 1), range.getMaxSequence()));
+            } catch (IOException e) {
+                LOGGER.warn(e.getMessage(), e);
+                continue;
+            }
+            records.sort(Comparator.comparingInt(ProfileThreadSnapshotRecord::getSequence));
+
+            for (ProfileThreadSnapshotRecord record : records) {
+                if (record.getSequence() <= lastSequence) {
+                    continue;
+                }
+                lastSequence = record.getSequence();
+
+                final ProfileStack stack = ProfileStack.deserialize(record, frameDictionary);
+                // stack list cannot be empty
+                if (CollectionUtils.isEmpty(stack.getStack())) {
+                    continue;
+                }
+                roots.computeIfAbsent(stack.getStack().get(0), IncrementalProfileStackNode::new)
+                     .accumulateFrom(stack);
+            }
+        }
+
+        return roots.values().stream().map(IncrementalProfileStackNode::buildAnalyzeResult).collect(Collectors.toList());
+    }
+
     protected IProfileThreadSnapshotQueryDAO getProfileThreadSnapshotQueryDAO() {
         if (profileThreadSnapshotQueryDAO == null) {
             profileThreadSnapshotQueryDAO = moduleManager.find(StorageModule.NAME)
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.profile.analyze;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Frame dictionary of one analysis, decodes each distinct code signature only once, and makes all {@link ProfileStack}s
+ * share the same frame instances. Shared frames make the merging in {@link ProfileStackNode} an identity check mostly.
+ */
+public class ProfileFrameDictionary {
+
+    private final ConcurrentHashMap<ByteString, String> frames = new ConcurrentHashMap<>();
+
+    /**
+     * decode the encoded code signatures to the shared frames
+     */
+    public List<String> decode(List<ByteString> codeSignatures) {
+        final ArrayList<String> stack = new ArrayList<>(codeSignatures.size());
+        for (ByteString codeSignature : codeSignatures) {
+            stack.add(frames.computeIfAbsent(codeSignature, ByteString::toStringUtf8));
+        }
+        return stack;
+    }
+
+    public int size() {
+        return frames.size();
+    }
+}
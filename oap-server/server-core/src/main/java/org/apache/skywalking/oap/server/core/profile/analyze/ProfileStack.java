@@ -38,6 +38,13 @@ public class ProfileStack implements Comparable<ProfileStack> {
     private List<String> stack;
 
     public static ProfileStack deserialize(ProfileThreadSnapshotRecord record) {
+        return deserialize(record, null);
+    }
+
+    /**
+     * Deserialize the record, code signatures are shared through the dictionary when it is not null
+     */
+    public static ProfileStack deserialize(ProfileThreadSnapshotRecord record, ProfileFrameDictionary dictionary) {
         ThreadStack threadStack = null;
         try {
             threadStack = ThreadStack.parseFrom(record.getStackBinary());
@@ -49,7 +56,7 @@ public class ProfileStack implements Comparable<ProfileStack> {
         ProfileStack stack = new ProfileStack();
         stack.sequence = record.getSequence();
         stack.dumpTime = record.getDumpTime();
-        stack.stack = threadStack.getCodeSignaturesList();
+        stack.stack = dictionary == null ? threadStack.getCodeSignaturesList() : dictionary.decode(threadStack.getCodeSignaturesList().asByteStringList());
 
         return stack;
     }
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.query;
+
+import com.google.common.base.Strings;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import lombok.Getter;
+import org.apache.skywalking.oap.server.core.query.type.Endpoint;
+
+/**
+ * EndpointNameIndex holds the endpoints of one service in memory, and searches them by the case-insensitive infix of
+ * the name. The keywords of at least {@link #GRAM} characters are looked up through a trigram index, the shorter ones
+ * are matched one by one.
+ */
+class EndpointNameIndex {
+    static final int GRAM = 3;
+
+    private final List<Endpoint> endpoints;
+    private final String[] names;
+    /**
+     * Trigram to the ascending positions in the {@link #endpoints} of the names containing it.
+     */
+    private final Map<String, int[]> postings;
+    /**
+     * False if the endpoints are truncated by the loading limit, the index can't answer the search then.
+     */
+    @Getter
+    private final boolean complete;
+
+    EndpointNameIndex(List<Endpoint> endpoints, boolean complete) {
+        this.endpoints = endpoints;
+        this.complete = complete;
+        this.names = new String[endpoints.size()];
+
+        final Map<String, List<Integer>> positions = new HashMap<>();
+        for (int i = 0; i < endpoints.size(); i++) {
+            final String name = Strings.nullToEmpty(endpoints.get(i).getName()).toLowerCase(Locale.ROOT);
+            names[i] = name;
+            for (int j = 0; j + GRAM <= name.length(); j++) {
+                final List<Integer> list = positions.computeIfAbsent(
+                    name.substring(j, j + GRAM), gram -> new ArrayList<>());
+                // The name containing the trigram more than once is recorded once.
+                if (list.isEmpty() || list.get(list.size() - 1) != i) {
+                    list.add(i);
+                }
+            }
+        }
+        this.postings = new HashMap<>(positions.size());
+        positions.forEach((gram, list) -> postings.put(gram, list.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    int size() {
+        return endpoints.size();
+    }
+
+    /**
+     * @return the first limit endpoints whose names contain the keyword, or all endpoints if the keyword is empty.
+     */
+    List<Endpoint> search(String keyword, int limit) {
+        final List<Endpoint> result = new ArrayList<>(Math.min(limit, endpoints.size()));
+        if (Strings.isNullOrEmpty(keyword)) {
+            for (int i = 0; i < endpoints.size() && result.size() < limit; i++) {
+                result.add(endpoints.get(i));
+            }
+            return result;
+        }
+
+        final String lowerCaseKeyword = keyword.toLowerCase(Locale.ROOT);
+        if (lowerCaseKeyword.length() < GRAM) {
+            for (int i = 0; i < names.length && result.size() < limit; i++) {
+                if (names[i].contains(lowerCaseKeyword)) {
+                    result.add(endpoints.get(i));
+                }
+            }
+            return result;
+        }
+
+        final List<int[]> candidates = new ArrayList<>(lowerCaseKeyword.length() - GRAM + 1);
+        for (int j = 0; j + GRAM <= lowerCaseKeyword.length(); j++) {
+            final int[] positions = postings.get(lowerCaseKeyword.substring(j, j + GRAM));
+            if (positions == null) {
+                return Collections.emptyList();
+            }
+            candidates.add(positions);
+        }
+        // Walk the shortest posting list, and check the others by binary search.
+        candidates.sort(Comparator.comparingInt(positions -> positions.length));
+        final int[] shortest = candidates.get(0);
+        for (int k = 0; k < shortest.length && result.size() < limit; k++) {
+            final int position = shortest[k];
+            boolean matched = true;
+            for (int c = 1; c < candidates.size() && matched; c++) {
+                matched = Arrays.binarySearch(candidates.get(c), position) >= 0;
+            }
+            // All trigrams exist in the name, but not necessarily continuous.
+            if (matched && names[position].contains(lowerCaseKeyword)) {
+                result.add(endpoints.get(position));
+            }
+        }
+        return result;
+    }
+}
@@ -18,11 +18,17 @@
 
 package org.apache.skywalking.oap.server.core.query;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.apache.skywalking.oap.server.core.Const;
 import org.apache.skywalking.oap.server.core.analysis.IDManager;
+import org.apache.skywalking.oap.server.core.analysis.TimeBucket;
 import org.apache.skywalking.oap.server.core.query.type.Database;
 import org.apache.skywalking.oap.server.core.query.type.Endpoint;
 import org.apache.skywalking.oap.server.core.query.type.EndpointInfo;
@@ -33,12 +39,58 @@ import org.apache.skywalking.oap.server.core.storage.query.IMetadataQueryDAO;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
 
 public class MetadataQueryService implements org.apache.skywalking.oap.server.library.module.Service {
+    /**
+     * The max number of the groups or services whose services or instances are cached.
+     */
+    private static final int MAX_CACHED_KEYS = 1000;
+    /**
+     * The max number of the services whose endpoint indexes are cached, in the unit of the max endpoints of one index.
+     */
+    private static final int MAX_CACHED_ENDPOINT_INDEXES = 20;
 
     private final ModuleManager moduleManager;
+    private final int maxEndpointsOfIndex;
+    private final Cache<String, List<Service>> servicesCache;
+    private final Cache<String, List<ServiceInstance>> instancesCache;
+    private final Cache<String, EndpointNameIndex> endpointIndexCache;
     private IMetadataQueryDAO metadataQueryDAO;
 
     public MetadataQueryService(ModuleManager moduleManager) {
+        this(moduleManager, 0, 0);
+    }
+
+    /**
+     * @param cacheTTLSeconds     how long the services, instances and endpoints are cached, 0 means no cache.
+     * @param maxEndpointsOfIndex the max number of the endpoints of one service held in memory for searching, the
+     *                            services having more endpoints are always searched in the storage.
+     */
+    public MetadataQueryService(ModuleManager moduleManager, int cacheTTLSeconds, int maxEndpointsOfIndex) {
         this.moduleManager = moduleManager;
+        this.maxEndpointsOfIndex = maxEndpointsOfIndex;
+        if (cacheTTLSeconds > 0) {
+            this.servicesCache = CacheBuilder.newBuilder()
+                                             .maximumSize(MAX_CACHED_KEYS)
+                                             .expireAfterWrite(cacheTTLSeconds, TimeUnit.SECONDS)
+                                             .build();
+            this.instancesCache = CacheBuilder.newBuilder()
+                                              .maximumSize(MAX_CACHED_KEYS)
+                                              .expireAfterWrite(cacheTTLSeconds, TimeUnit.SECONDS)
+                                              .build();
+        } else {
+            this.servicesCache = null;
+            this.instancesCache = null;
+        }
+        if (cacheTTLSeconds > 0 && maxEndpointsOfIndex > 0) {
+            this.endpointIndexCache = CacheBuilder.newBuilder()
+                                                  .maximumWeight(
+                                                      (long) MAX_CACHED_ENDPOINT_INDEXES * (maxEndpointsOfIndex + 1))
+                                                  .<String, EndpointNameIndex>weigher(
+                                                      (serviceId, index) -> index.size() + 1)
+                                                  .expireAfterWrite(cacheTTLSeconds, TimeUnit.SECONDS)
+                                                  .build();
+        } else {
+            this.endpointIndexCache = null;
+        }
     }
 
     private IMetadataQueryDAO getMetadataQueryDAO() {
@@ -49,6 +101,17 @@ public class MetadataQueryService implements org.apache.skywalking.oap.server.li
     }
 
     public List<Service> getAllServices(final String group) throws IOException {
+        if (servicesCache == null) {
+            return queryAllServices(group);
+        }
+        // The DAOs treat the null group as the empty one.
+        return getOrLoad(
+            servicesCache, group == null ? Const.EMPTY_STRING : group,
+            () -> Collections.unmodifiableList(queryAllServices(group))
+        );
+    }
+
+    private List<Service> queryAllServices(final String group) throws IOException {
         return getMetadataQueryDAO().getAllServices(group).stream()
                                     .peek(service -> {
                                         if (service.getGroup() == null) {
@@ -74,12 +137,39 @@ public class MetadataQueryService implements org.apache.skywalking.oap.server.li
 
     public List<ServiceInstance> getServiceInstances(final long startTimestamp, final long endTimestamp,
                                                      final String serviceId) throws IOException {
+        if (instancesCache == null) {
+            return queryServiceInstances(startTimestamp, endTimestamp, serviceId);
+        }
+        // The instances are filtered by the minute of the start time only.
+        final String key = serviceId + Const.ID_CONNECTOR + TimeBucket.getMinuteTimeBucket(startTimestamp);
+        return getOrLoad(
+            instancesCache, key,
+            () -> Collections.unmodifiableList(queryServiceInstances(startTimestamp, endTimestamp, serviceId))
+        );
+    }
+
+    private List<ServiceInstance> queryServiceInstances(final long startTimestamp, final long endTimestamp,
+                                                        final String serviceId) throws IOException {
         return getMetadataQueryDAO().getServiceInstances(startTimestamp, endTimestamp, serviceId)
                                     .stream().distinct().collect(Collectors.toList());
     }
 
+    /**
+     * Search the endpoints in the in-memory index of the service, unless the service has more endpoints than the index
+     * could hold. The keyword matches the case-insensitive infix of the names in the index.
+     */
     public List<Endpoint> searchEndpoint(final String keyword, final String serviceId,
                                          final int limit) throws IOException {
+        if (endpointIndexCache != null) {
+            final EndpointNameIndex index = getOrLoad(endpointIndexCache, serviceId, () -> {
+                final List<Endpoint> endpoints = getMetadataQueryDAO().searchEndpoint(
+                    null, serviceId, maxEndpointsOfIndex);
+                return new EndpointNameIndex(endpoints, endpoints.size() < maxEndpointsOfIndex);
+            });
+            if (index.isComplete()) {
+                return index.search(keyword, limit);
+            }
+        }
         return getMetadataQueryDAO().searchEndpoint(keyword, serviceId, limit)
                                     .stream().distinct().collect(Collectors.toList());
     }
@@ -101,4 +191,20 @@ public class MetadataQueryService implements org.apache.skywalking.oap.server.li
         endpointInfo.setServiceName(serviceIDDefinition.getName());
         return endpointInfo;
     }
+
+    private static <T> T getOrLoad(Cache<String, T> cache, String key, Loader<T> loader) throws IOException {
+        try {
+            return cache.get(key, loader::load);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    @FunctionalInterface
+    private interface Loader<T> {
+        T load() throws IOException;
+    }
 }
@@ -18,11 +18,24 @@
 
 package org.apache.skywalking.oap.server.core.query;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
-import java.util.LinkedList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
 import org.apache.skywalking.oap.server.core.Const;
 import org.apache.skywalking.oap.server.core.CoreModule;
@@ -47,14 +60,45 @@ import org.apache.skywalking.oap.server.library.util.CollectionUtils;
 
 import static java.util.Objects.nonNull;
 
+@Slf4j
 public class TraceQueryService implements Service {
+    /**
+     * The traces having more segments than it are decoded in parallel.
+     */
+    private static final int PARALLEL_DECODE_THRESHOLD = 500;
 
     private final ModuleManager moduleManager;
+    private final int maxSpansOfTrace;
+    private final Cache<String, Trace> traceCache;
+    private final long traceCacheTTLMillis;
     private ITraceQueryDAO traceQueryDAO;
     private IComponentLibraryCatalogService componentLibraryCatalogService;
 
     public TraceQueryService(ModuleManager moduleManager) {
+        this(moduleManager, 0, 0, 0);
+    }
+
+    /**
+     * @param maxSpansOfTrace      the max number of spans returned in one trace, 0 means no limit.
+     * @param traceCacheSize       the max number of the assembled traces cached, 0 means no cache.
+     * @param traceCacheTTLSeconds how long the assembled trace is cached. The traces having spans ended in this
+     *                             period are not cached, as their segments may still be arriving.
+     */
+    public TraceQueryService(ModuleManager moduleManager,
+                             int maxSpansOfTrace,
+                             int traceCacheSize,
+                             int traceCacheTTLSeconds) {
         this.moduleManager = moduleManager;
+        this.maxSpansOfTrace = maxSpansOfTrace;
+        this.traceCacheTTLMillis = TimeUnit.SECONDS.toMillis(traceCacheTTLSeconds);
+        if (traceCacheSize > 0 && traceCacheTTLSeconds > 0) {
+            this.traceCache = CacheBuilder.newBuilder()
+                                          .maximumSize(traceCacheSize)
+                                          .expireAfterWrite(traceCacheTTLSeconds, TimeUnit.SECONDS)
+                                          .build();
+        } else {
+            this.traceCache = null;
+        }
     }
 
     private ITraceQueryDAO getTraceQueryDAO() {
@@ -95,40 +139,106 @@ public class TraceQueryService implements Service {
     }
 
     public Trace queryTrace(final String traceId) throws IOException {
+        if (traceCache == null) {
+            return assembleTrace(traceId);
+        }
+        Trace cached = traceCache.getIfPresent(traceId);
+        if (cached != null) {
+            return copyOf(cached);
+        }
+        Trace trace = assembleTrace(traceId);
+        if (isSettled(trace)) {
+            traceCache.put(traceId, copyOf(trace));
+        }
+        return trace;
+    }
+
+    /**
+     * @return false if the trace is not found, or its latest span ended in the cache TTL, the trace may still be
+     * receiving segments.
+     */
+    private boolean isSettled(final Trace trace) {
+        if (trace.getSpans().isEmpty()) {
+            return false;
+        }
+        long latestEndTime = 0;
+        for (final Span span : trace.getSpans()) {
+            latestEndTime = Math.max(latestEndTime, span.getEndTime());
+        }
+        return latestEndTime < System.currentTimeMillis() - traceCacheTTLMillis;
+    }
+
+    /**
+     * The callers own the returned span list, the spans are not modified after the trace assembled.
+     */
+    private static Trace copyOf(final Trace trace) {
+        Trace copy = new Trace();
+        copy.getSpans().addAll(trace.getSpans());
+        return copy;
+    }
+
+    private Trace assembleTrace(final String traceId) throws IOException {
         Trace trace = new Trace();
 
         List<SegmentRecord> segmentRecords = getTraceQueryDAO().queryByTraceId(traceId);
         if (segmentRecords.isEmpty()) {
             trace.getSpans().addAll(getTraceQueryDAO().doFlexibleTraceQuery(traceId));
         } else {
-            for (SegmentRecord segment : segmentRecords) {
-                if (nonNull(segment)) {
-                    SegmentObject segmentObject = SegmentObject.parseFrom(segment.getDataBinary());
-                    trace.getSpans()
-                         .addAll(buildSpanList(segmentObject));
-                }
-            }
+            decodeSegments(traceId, segmentRecords, trace.getSpans());
         }
 
-        List<Span> sortedSpans = new LinkedList<>();
         if (CollectionUtils.isNotEmpty(trace.getSpans())) {
-            List<Span> rootSpans = findRoot(trace.getSpans());
-
-            if (CollectionUtils.isNotEmpty(rootSpans)) {
-                rootSpans.forEach(span -> {
-                    List<Span> childrenSpan = new ArrayList<>();
-                    childrenSpan.add(span);
-                    findChildren(trace.getSpans(), span, childrenSpan);
-                    sortedSpans.addAll(childrenSpan);
-                });
-            }
+            List<Span> sortedSpans = sortSpans(trace.getSpans());
+            trace.getSpans().clear();
+            trace.getSpans().addAll(sortedSpans);
         }
-
-        trace.getSpans().clear();
-        trace.getSpans().addAll(sortedSpans);
         return trace;
     }
 
+    /**
+     * Decode the segments into the spans, the segments are decoded in parallel by batches when there are too many of
+     * them, and the decoding stops once the spans exceed the {@link #maxSpansOfTrace}.
+     */
+    private void decodeSegments(final String traceId,
+                                final List<SegmentRecord> segmentRecords,
+                                final List<Span> spans) throws IOException {
+        for (int from = 0; from < segmentRecords.size(); from += PARALLEL_DECODE_THRESHOLD) {
+            List<SegmentRecord> batch = segmentRecords.subList(
+                from, Math.min(from + PARALLEL_DECODE_THRESHOLD, segmentRecords.size()));
+            if (segmentRecords.size() <= PARALLEL_DECODE_THRESHOLD) {
+                for (SegmentRecord segment : batch) {
+                    if (nonNull(segment)) {
+                        spans.addAll(buildSpanList(SegmentObject.parseFrom(segment.getDataBinary())));
+                    }
+                }
+            } else {
+                try {
+                    batch.parallelStream()
+                         .filter(Objects::nonNull)
+                         .map(segment -> {
+                             try {
+                                 return buildSpanList(SegmentObject.parseFrom(segment.getDataBinary()));
+                             } catch (IOException e) {
+                                 throw new UncheckedIOException(e);
+                             }
+                         })
+                         .collect(Collectors.toList())
+                         .forEach(spans::addAll);
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            }
+            if (maxSpansOfTrace > 0 && spans.size() > maxSpansOfTrace) {
+                log.warn(
+                    "Trace {} has more than {} spans in {} segments, only the first {} spans are returned.",
+                    traceId, maxSpansOfTrace, segmentRecords.size(), maxSpansOfTrace
+                );
+                spans.subList(maxSpansOfTrace, spans.size()).clear();
+                return;
+            }
+        }
+    }
+
     private List<Span> buildSpanList(SegmentObject segmentObject) {
         List<Span> spans = new ArrayList<>();
 
@@ -207,21 +317,20 @@ public class TraceQueryService implements Service {
         return spans;
     }
 
-    private List<Span> findRoot(List<Span> spans) {
+    /**
+     * Sort the spans in the depth-first order of the span tree, the roots are sorted by the start time.
+     */
+    private List<Span> sortSpans(List<Span> spans) {
+        Set<String> segmentSpanIds = new HashSet<>(spans.size());
+        spans.forEach(span -> segmentSpanIds.add(span.getSegmentSpanId()));
+
         List<Span> rootSpans = new ArrayList<>();
+        Map<String, List<Span>> childrenSpans = new HashMap<>();
         spans.forEach(span -> {
             String segmentParentSpanId = span.getSegmentParentSpanId();
-
-            boolean hasParent = false;
-            for (Span subSpan : spans) {
-                if (segmentParentSpanId.equals(subSpan.getSegmentSpanId())) {
-                    hasParent = true;
-                    // if find parent, quick exit
-                    break;
-                }
-            }
-
-            if (!hasParent) {
+            if (segmentSpanIds.contains(segmentParentSpanId)) {
+                childrenSpans.computeIfAbsent(segmentParentSpanId, key -> new ArrayList<>()).add(span);
+            } else {
                 span.setRoot(true);
                 rootSpans.add(span);
             }
@@ -234,15 +343,20 @@ public class TraceQueryService implements Service {
          * Sorting the segments makes the trace view more readable.
          */
         rootSpans.sort(Comparator.comparing(Span::getStartTime));
-        return rootSpans;
-    }
 
-    private void findChildren(List<Span> spans, Span parentSpan, List<Span> childrenSpan) {
-        spans.forEach(span -> {
-            if (span.getSegmentParentSpanId().equals(parentSpan.getSegmentSpanId())) {
-                childrenSpan.add(span);
-                findChildren(spans, span, childrenSpan);
+        List<Span> sortedSpans = new ArrayList<>(spans.size());
+        Deque<Span> stack = new ArrayDeque<>();
+        rootSpans.forEach(rootSpan -> {
+            stack.push(rootSpan);
+            while (!stack.isEmpty()) {
+                Span span = stack.pop();
+                sortedSpans.add(span);
+                List<Span> children = childrenSpans.getOrDefault(span.getSegmentSpanId(), Collections.emptyList());
+                for (int i = children.size() - 1; i >= 0; i--) {
+                    stack.push(children.get(i));
+                }
             }
         });
+        return sortedSpans;
     }
 }
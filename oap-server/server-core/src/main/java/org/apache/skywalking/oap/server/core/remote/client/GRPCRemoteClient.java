@@ -32,6 +32,7 @@ import org.apache.skywalking.oap.server.core.remote.data.StreamData;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.Empty;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteMessage;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteServiceGrpc;
+import org.apache.skywalking.oap.server.core.worker.DataCarrierMonitor;
 import org.apache.skywalking.oap.server.library.client.grpc.GRPCClient;
 import org.apache.skywalking.oap.server.library.module.ModuleDefineHolder;
 import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
@@ -55,6 +56,7 @@ public class GRPCRemoteClient implements RemoteClient {
     private boolean isConnect;
     private CounterMetrics remoteOutCounter;
     private CounterMetrics remoteOutErrorCounter;
+    private final DataCarrierMonitor dataCarrierMonitor;
     private int remoteTimeout;
 
     public GRPCRemoteClient(final ModuleDefineHolder moduleDefineHolder,
@@ -90,6 +92,7 @@ public class GRPCRemoteClient implements RemoteClient {
                                                           address
                                                               .toString(), "N")
                                                   );
+        dataCarrierMonitor = new DataCarrierMonitor(moduleDefineHolder, "GRPCRemoteClient");
     }
 
     @Override
@@ -130,6 +133,7 @@ public class GRPCRemoteClient implements RemoteClient {
             synchronized (GRPCRemoteClient.class) {
                 if (Objects.isNull(this.carrier)) {
                     this.carrier = new DataCarrier<>("GRPCRemoteClient", channelSize, bufferSize);
+                    this.carrier.setMonitor(dataCarrierMonitor);
                 }
             }
         }
@@ -44,4 +44,28 @@ public interface IBatchDAO extends DAO {
      * @param prepareRequests data to insert or update. No delete happens in streaming mode.
      */
     void flush(List<PrepareRequest> prepareRequests);
+
+    /**
+     * Wait until the storage could accept more data. This is the backpressure signal for the callers of {@link
+     * #insert(InsertRequest)} and {@link #flush(List)}, which should slow down when the storage can't keep up with the
+     * written data.
+     *
+     * @param timeoutMillis the max time to wait.
+     * @return false if the storage still can't accept more data after the timeout.
+     * @since 8.7.0
+     */
+    default boolean awaitCapacity(long timeoutMillis) throws InterruptedException {
+        return true;
+    }
+
+    /**
+     * Wait before inserting a record, until the storage could accept more data or the wait time configured by the
+     * storage has passed.
+     *
+     * @return false if the record should be dropped, as the storage still can't accept more data after the wait.
+     * @since 8.7.0
+     */
+    default boolean awaitRecordCapacity() throws InterruptedException {
+        return true;
+    }
 }
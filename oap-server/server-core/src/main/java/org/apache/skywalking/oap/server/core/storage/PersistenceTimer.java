@@ -50,6 +50,7 @@ public enum PersistenceTimer {
     private HistogramMetrics executeLatency;
     private HistogramMetrics allLatency;
     private ExecutorService prepareExecutorService;
+    private long persistentPeriodMillis;
 
     PersistenceTimer() {
     }
@@ -78,6 +79,7 @@ public enum PersistenceTimer {
             MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
         );
 
+        persistentPeriodMillis = TimeUnit.SECONDS.toMillis(moduleConfig.getPersistentPeriod());
         prepareExecutorService = Executors.newFixedThreadPool(moduleConfig.getPrepareThreads());
         if (!isStarted) {
             Executors.newSingleThreadScheduledExecutor()
@@ -98,6 +100,17 @@ public enum PersistenceTimer {
 
         long startTime = System.currentTimeMillis();
 
+        try {
+            // Delay this round at most one period, when the storage can't keep up with the flushed data.
+            // The metrics keep being merged in the caches of the workers meanwhile.
+            if (!batchDAO.awaitCapacity(persistentPeriodMillis)) {
+                log.warn("Storage is still backpressured after {} ms, flush the metrics anyway.", persistentPeriodMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
         try (HistogramMetrics.Timer allTimer = allLatency.createTimer()) {
             List<PersistenceWorker<? extends StorageData>> persistenceWorkers = new ArrayList<>();
             persistenceWorkers.addAll(TopNStreamProcessor.getInstance().getPersistentWorkers());
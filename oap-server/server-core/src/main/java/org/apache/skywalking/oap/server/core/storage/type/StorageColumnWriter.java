@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.storage.type;
+
+import java.io.IOException;
+
+/**
+ * StorageColumnWriter receives the columns of an entity one by one, then the storage implementation could write them
+ * into its native format directly, rather than through an intermediate {@link java.util.Map}.
+ */
+public interface StorageColumnWriter {
+    void write(String column, long value) throws IOException;
+
+    void write(String column, int value) throws IOException;
+
+    void write(String column, double value) throws IOException;
+
+    void write(String column, float value) throws IOException;
+
+    /**
+     * Write the column of other types, such as String, List and {@link StorageDataComplexObject}. The byte array is
+     * written as the Base64 encoded string.
+     */
+    void write(String column, Object value) throws IOException;
+}
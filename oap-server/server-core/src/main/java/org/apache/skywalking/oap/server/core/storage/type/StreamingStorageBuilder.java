@@ -0,0 +1,32 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.storage.type;
+
+import java.io.IOException;
+import org.apache.skywalking.oap.server.core.storage.StorageData;
+
+/**
+ * StreamingStorageBuilder is an optional capability of the storage builders. The entity is written column by column
+ * to the given writer, and the columns are the same as the ones built by {@link StorageBuilder#entity2Storage}.
+ *
+ * @param <T> A storage entity implementation.
+ */
+public interface StreamingStorageBuilder<T extends StorageData> {
+    void entity2Storage(T entity, StorageColumnWriter writer) throws IOException;
+}
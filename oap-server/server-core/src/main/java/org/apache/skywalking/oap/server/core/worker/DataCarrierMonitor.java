@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.worker;
+
+import org.apache.skywalking.apm.commons.datacarrier.buffer.IChannelsMonitor;
+import org.apache.skywalking.oap.server.library.module.ModuleDefineHolder;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.HistogramMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
+
+/**
+ * DataCarrierMonitor reports the dropped data, the consumed batch size and the consuming latency of the DataCarriers
+ * through the telemetry. The DataCarriers of the same stage share the metrics, which are tagged by the stage name.
+ */
+public class DataCarrierMonitor implements IChannelsMonitor {
+    private final CounterMetrics droppedCounter;
+    private final HistogramMetrics batchSizeHistogram;
+    private final HistogramMetrics consumeLatency;
+
+    public DataCarrierMonitor(ModuleDefineHolder moduleDefineHolder, String stage) {
+        MetricsCreator metricsCreator = moduleDefineHolder.find(TelemetryModule.NAME)
+                                                          .provider()
+                                                          .getService(MetricsCreator.class);
+        droppedCounter = metricsCreator.createCounter(
+            "datacarrier_dropped_count", "The number of data dropped as the buffer is full",
+            new MetricsTag.Keys("stage"), new MetricsTag.Values(stage)
+        );
+        batchSizeHistogram = metricsCreator.createHistogramMetric(
+            "datacarrier_consume_batch_size", "The number of data consumed in every batch",
+            new MetricsTag.Keys("stage"), new MetricsTag.Values(stage),
+            1, 10, 100, 1000, 10000
+        );
+        consumeLatency = metricsCreator.createHistogramMetric(
+            "datacarrier_consume_latency", "The latency of consuming every batch",
+            new MetricsTag.Keys("stage"), new MetricsTag.Values(stage)
+        );
+    }
+
+    @Override
+    public void onDropped() {
+        droppedCounter.inc();
+    }
+
+    @Override
+    public void onConsumed(final int size, final long costNanos) {
+        batchSizeHistogram.observe(size);
+        consumeLatency.observe(costNanos / 1.0E9D);
+    }
+}
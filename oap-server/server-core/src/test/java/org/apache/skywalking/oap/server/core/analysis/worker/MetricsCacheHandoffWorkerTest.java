@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.worker;
+
+import com.google.common.collect.ImmutableList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.skywalking.oap.server.core.analysis.NodeType;
+import org.apache.skywalking.oap.server.core.analysis.manual.service.ServiceTraffic;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.remote.client.Address;
+import org.apache.skywalking.oap.server.core.remote.client.RemoteClient;
+import org.apache.skywalking.oap.server.core.remote.client.RemoteClientManager;
+import org.apache.skywalking.oap.server.core.remote.selector.HashCodeSelector;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.library.module.ModuleProviderHolder;
+import org.apache.skywalking.oap.server.library.module.ModuleServiceHolder;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MetricsCacheHandoffWorkerTest {
+    private ModuleManager moduleManager;
+    private RemoteClientManager remoteClientManager;
+    private RemoteClient self;
+    private RemoteClient other;
+
+    @Before
+    public void setUp() {
+        moduleManager = mock(ModuleManager.class);
+        ModuleServiceHolder moduleServiceHolder = mock(ModuleServiceHolder.class);
+        doReturn((ModuleProviderHolder) () -> moduleServiceHolder).when(moduleManager).find(anyString());
+        remoteClientManager = mock(RemoteClientManager.class);
+        doReturn(remoteClientManager).when(moduleServiceHolder).getService(RemoteClientManager.class);
+
+        self = mockClient(new Address("oap-0", 11800, true));
+        other = mockClient(new Address("oap-1", 11800, false));
+    }
+
+    @Test
+    public void testHandOffMovedMetrics() {
+        MetricsCacheHandoffWorker worker = new MetricsCacheHandoffWorker(moduleManager, "service_traffic_handoff", true);
+        Map<Metrics, Metrics> context = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            ServiceTraffic traffic = traffic("service-" + i);
+            context.put(traffic, traffic);
+        }
+
+        when(remoteClientManager.getRemoteClient()).thenReturn(ImmutableList.of(self));
+        // The first round only records the cluster.
+        Assert.assertEquals(0, worker.handOff(context));
+        Assert.assertEquals(0, worker.handOff(context));
+        Assert.assertEquals(20, context.size());
+
+        List<RemoteClient> clients = ImmutableList.of(self, other);
+        when(remoteClientManager.getRemoteClient()).thenReturn(clients);
+        HashCodeSelector selector = new HashCodeSelector();
+        long moved = context.keySet().stream().filter(metrics -> selector.select(clients, metrics) == other).count();
+        Assert.assertTrue(moved > 0);
+
+        Assert.assertEquals(moved, worker.handOff(context));
+        Assert.assertEquals(20 - moved, context.size());
+        context.keySet().forEach(metrics -> Assert.assertSame(self, selector.select(clients, metrics)));
+        verify(other, times((int) moved)).push(eq("service_traffic_handoff"), any());
+        verify(self, never()).push(anyString(), any());
+
+        // Nothing more until the cluster changes again.
+        Assert.assertEquals(0, worker.handOff(context));
+    }
+
+    @Test
+    public void testHandoffDisabled() {
+        MetricsCacheHandoffWorker worker = new MetricsCacheHandoffWorker(moduleManager, "service_traffic_handoff", false);
+        Map<Metrics, Metrics> context = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            ServiceTraffic traffic = traffic("service-" + i);
+            context.put(traffic, traffic);
+        }
+        when(remoteClientManager.getRemoteClient()).thenReturn(ImmutableList.of(self));
+        worker.handOff(context);
+        when(remoteClientManager.getRemoteClient()).thenReturn(ImmutableList.of(self, other));
+
+        Assert.assertEquals(0, worker.handOff(context));
+        Assert.assertEquals(20, context.size());
+    }
+
+    @Test
+    public void testWarmUp() {
+        MetricsCacheHandoffWorker worker = new MetricsCacheHandoffWorker(moduleManager, "service_traffic_handoff", true);
+        Map<Metrics, Metrics> context = new HashMap<>();
+        ServiceTraffic cached = traffic("service-a");
+        cached.setLastUpdateTimestamp(100);
+        context.put(cached, cached);
+
+        worker.in(traffic("service-a"));
+        worker.in(traffic("service-b"));
+        worker.warmUp(context, 200);
+
+        Assert.assertEquals(2, context.size());
+        Assert.assertSame(cached, context.get(traffic("service-a")));
+        Assert.assertFalse(cached.isExpired(150, 60));
+        Assert.assertFalse(context.get(traffic("service-b")).isExpired(250, 60));
+
+        // The received metrics are consumed.
+        context.clear();
+        worker.warmUp(context, 300);
+        Assert.assertTrue(context.isEmpty());
+    }
+
+    private static ServiceTraffic traffic(String name) {
+        ServiceTraffic traffic = new ServiceTraffic();
+        traffic.setName(name);
+        traffic.setNodeType(NodeType.Normal);
+        return traffic;
+    }
+
+    private static RemoteClient mockClient(Address address) {
+        RemoteClient client = mock(RemoteClient.class);
+        when(client.getAddress()).thenReturn(address);
+        return client;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.worker;
+
+import java.util.Collections;
+import java.util.List;
+import lombok.EqualsAndHashCode;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.analysis.metrics.CountMetrics;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+import org.apache.skywalking.oap.server.core.storage.IMetricsDAO;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.apache.skywalking.oap.server.library.client.request.InsertRequest;
+import org.apache.skywalking.oap.server.library.client.request.PrepareRequest;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.library.module.ModuleProviderHolder;
+import org.apache.skywalking.oap.server.library.module.ModuleServiceHolder;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class MetricsPersistentWorkerTest {
+    private static final long TIME_BUCKET = 2021060112;
+
+    private ModuleManager moduleManager;
+    private IMetricsDAO metricsDAO;
+    private Model model;
+
+    @Before
+    public void setUp() throws Exception {
+        moduleManager = mock(ModuleManager.class);
+        ModuleServiceHolder moduleServiceHolder = mock(ModuleServiceHolder.class);
+        doReturn((ModuleProviderHolder) () -> moduleServiceHolder).when(moduleManager).find(anyString());
+        doReturn(mock(MetricsCreator.class)).when(moduleServiceHolder).getService(MetricsCreator.class);
+
+        metricsDAO = mock(IMetricsDAO.class);
+        doReturn(Collections.emptyList()).when(metricsDAO).multiGet(any(), any());
+        doReturn(mock(InsertRequest.class)).when(metricsDAO).prepareBatchInsert(any(), any());
+        model = new Model(
+            "test_metrics_hour", Collections.emptyList(), Collections.emptyList(), 0, DownSampling.Hour, false, false,
+            null, true
+        );
+    }
+
+    @Test
+    public void testMergeMetricsOfSkippedRounds() throws Exception {
+        MetricsPersistentWorker worker = new MetricsPersistentWorker(
+            moduleManager, model, metricsDAO, false, true, 70_000, 3, 0);
+
+        worker.onWork(Collections.singletonList(metrics(1)));
+        Assert.assertEquals(1, worker.buildBatchRequests().size());
+
+        // The down-sampling worker only persists in every 4 rounds, the metrics keep being merged meanwhile.
+        for (int round = 0; round < 3; round++) {
+            worker.onWork(Collections.singletonList(metrics(10)));
+            List<PrepareRequest> requests = worker.buildBatchRequests();
+            Assert.assertTrue(requests.isEmpty());
+        }
+        Assert.assertEquals(1, worker.buildBatchRequests().size());
+
+        ArgumentCaptor<Metrics> persisted = ArgumentCaptor.forClass(Metrics.class);
+        verify(metricsDAO, times(2)).prepareBatchInsert(any(), persisted.capture());
+        Assert.assertEquals(1, ((CountMetrics) persisted.getAllValues().get(0)).getValue());
+        Assert.assertEquals(30, ((CountMetrics) persisted.getAllValues().get(1)).getValue());
+    }
+
+    private static Metrics metrics(long value) {
+        TestMetrics metrics = new TestMetrics();
+        metrics.setTimeBucket(TIME_BUCKET);
+        metrics.combine(value);
+        return metrics;
+    }
+
+    @EqualsAndHashCode(callSuper = true)
+    private static class TestMetrics extends CountMetrics {
+        @Override
+        protected String id0() {
+            return getTimeBucket() + "_service";
+        }
+
+        @Override
+        public Metrics toHour() {
+            return null;
+        }
+
+        @Override
+        public Metrics toDay() {
+            return null;
+        }
+
+        @Override
+        public void deserialize(RemoteData remoteData) {
+
+        }
+
+        @Override
+        public RemoteData.Builder serialize() {
+            return null;
+        }
+
+        @Override
+        public int remoteHashCode() {
+            return hashCode();
+        }
+    }
+}
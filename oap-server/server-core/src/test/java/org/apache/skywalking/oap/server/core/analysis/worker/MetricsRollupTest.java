@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.worker;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+import lombok.EqualsAndHashCode;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.analysis.metrics.CountMetrics;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MetricsRollupTest {
+    private static final long PERIOD = 30 * 60 * 1000L;
+
+    @Test
+    public void testReleaseClosedTimeBuckets() {
+        MetricsRollup rollup = new MetricsRollup(DownSampling.Hour, PERIOD, timestamp(11, 0));
+
+        Assert.assertEquals(0, rollup.accept(Arrays.asList(metrics("a", 2021010110), metrics("b", 2021010110))));
+        Assert.assertEquals(
+            1, rollup.accept(Arrays.asList(metrics("a", 2021010110), metrics("a", 2021010111))));
+        Assert.assertEquals(3, rollup.size());
+
+        // The 10 o'clock bucket is open until the close delay passed.
+        Assert.assertTrue(rollup.release(timestamp(11, 1)).isEmpty());
+
+        List<Metrics> released = rollup.release(timestamp(11, 3));
+        Assert.assertEquals(2, released.size());
+        released.forEach(metrics -> Assert.assertEquals(2021010110, metrics.getTimeBucket()));
+        // The two of "a" are merged.
+        Assert.assertEquals(3, released.stream().mapToLong(metrics -> ((CountMetrics) metrics).getValue()).sum());
+        Assert.assertEquals(1, rollup.size());
+    }
+
+    @Test
+    public void testReleaseAllAfterPeriod() {
+        MetricsRollup rollup = new MetricsRollup(DownSampling.Hour, PERIOD, timestamp(11, 0));
+        rollup.accept(Arrays.asList(metrics("a", 2021010111), metrics("b", 2021010111)));
+
+        Assert.assertTrue(rollup.release(timestamp(11, 29)).isEmpty());
+        Assert.assertEquals(2, rollup.release(timestamp(11, 30)).size());
+        Assert.assertEquals(0, rollup.size());
+
+        rollup.accept(Arrays.asList(metrics("a", 2021010111)));
+        Assert.assertTrue(rollup.release(timestamp(11, 40)).isEmpty());
+        Assert.assertEquals(1, rollup.release(timestamp(12, 0)).size());
+    }
+
+    @Test
+    public void testKeepHeldMetricsWhenCombineAbandoned() {
+        MetricsRollup rollup = new MetricsRollup(DownSampling.Hour, PERIOD, timestamp(11, 0));
+        AbandoningMetrics held = new AbandoningMetrics(1);
+        rollup.accept(Arrays.asList(held));
+
+        // The combination is abandoned, so nothing is merged, and only the incoming metrics is dropped.
+        Assert.assertEquals(0, rollup.accept(Arrays.asList(new AbandoningMetrics(5))));
+        Assert.assertEquals(1, rollup.size());
+
+        List<Metrics> released = rollup.release(timestamp(11, 30));
+        Assert.assertEquals(1, released.size());
+        Assert.assertSame(held, released.get(0));
+        Assert.assertEquals(1, held.value);
+    }
+
+    private static long timestamp(int hour, int minute) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(2021, Calendar.JANUARY, 1, hour, minute);
+        return calendar.getTimeInMillis();
+    }
+
+    private static Metrics metrics(String name, long timeBucket) {
+        RollupMetrics metrics = new RollupMetrics(name);
+        metrics.setTimeBucket(timeBucket);
+        metrics.combine(1);
+        return metrics;
+    }
+
+    @EqualsAndHashCode(callSuper = true)
+    private static class RollupMetrics extends CountMetrics {
+        private final String name;
+
+        RollupMetrics(String name) {
+            this.name = name;
+        }
+
+        @Override
+        protected String id0() {
+            return getTimeBucket() + "_" + name;
+        }
+
+        @Override
+        public Metrics toHour() {
+            return null;
+        }
+
+        @Override
+        public Metrics toDay() {
+            return null;
+        }
+
+        @Override
+        public void deserialize(RemoteData remoteData) {
+
+        }
+
+        @Override
+        public RemoteData.Builder serialize() {
+            return null;
+        }
+
+        @Override
+        public int remoteHashCode() {
+            return hashCode();
+        }
+    }
+
+    /**
+     * The metrics refusing every combination, such as the ones whose data is too old to be merged.
+     */
+    @EqualsAndHashCode(callSuper = false, of = "id")
+    private static class AbandoningMetrics extends Metrics {
+        private final String id = "2021010111_abandoning";
+        private final long value;
+
+        AbandoningMetrics(long value) {
+            this.value = value;
+            setTimeBucket(2021010111);
+        }
+
+        @Override
+        public boolean combine(Metrics metrics) {
+            return false;
+        }
+
+        @Override
+        public void calculate() {
+
+        }
+
+        @Override
+        public Metrics toHour() {
+            return null;
+        }
+
+        @Override
+        public Metrics toDay() {
+            return null;
+        }
+
+        @Override
+        protected String id0() {
+            return id;
+        }
+
+        @Override
+        public void deserialize(RemoteData remoteData) {
+
+        }
+
+        @Override
+        public RemoteData.Builder serialize() {
+            return null;
+        }
+
+        @Override
+        public int remoteHashCode() {
+            return hashCode();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.worker;
+
+import java.util.Collections;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.analysis.record.Record;
+import org.apache.skywalking.oap.server.core.storage.IBatchDAO;
+import org.apache.skywalking.oap.server.core.storage.IRecordDAO;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.apache.skywalking.oap.server.library.client.request.InsertRequest;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.library.module.ModuleProviderHolder;
+import org.apache.skywalking.oap.server.library.module.ModuleServiceHolder;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class RecordPersistentWorkerTest {
+    private IBatchDAO batchDAO;
+    private CounterMetrics droppedCounter;
+    private RecordPersistentWorker worker;
+
+    @Before
+    public void setUp() throws Exception {
+        ModuleManager moduleManager = mock(ModuleManager.class);
+        ModuleServiceHolder moduleServiceHolder = mock(ModuleServiceHolder.class);
+        doReturn((ModuleProviderHolder) () -> moduleServiceHolder).when(moduleManager).find(anyString());
+        MetricsCreator metricsCreator = mock(MetricsCreator.class);
+        droppedCounter = mock(CounterMetrics.class);
+        doReturn(droppedCounter).when(metricsCreator).createCounter(anyString(), anyString(), any(), any());
+        doReturn(metricsCreator).when(moduleServiceHolder).getService(MetricsCreator.class);
+        batchDAO = mock(IBatchDAO.class);
+        doReturn(batchDAO).when(moduleServiceHolder).getService(IBatchDAO.class);
+
+        IRecordDAO recordDAO = mock(IRecordDAO.class);
+        doReturn(mock(InsertRequest.class)).when(recordDAO).prepareBatchInsert(any(), any());
+        Model model = new Model(
+            "test_record", Collections.emptyList(), Collections.emptyList(), 0, DownSampling.Second, true, false,
+            null, false
+        );
+        worker = new RecordPersistentWorker(moduleManager, model, recordDAO);
+    }
+
+    @Test
+    public void testInsertAfterWaiting() throws Exception {
+        doReturn(true).when(batchDAO).awaitRecordCapacity();
+
+        worker.in(mock(Record.class));
+
+        verify(batchDAO, times(1)).insert(any());
+        verify(droppedCounter, never()).inc();
+    }
+
+    @Test
+    public void testDropWhenStorageAsks() throws Exception {
+        doReturn(false).when(batchDAO).awaitRecordCapacity();
+
+        worker.in(mock(Record.class));
+        worker.in(mock(Record.class));
+
+        verify(batchDAO, never()).insert(any());
+        verify(droppedCounter, times(2)).inc();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.config.group.openapi;
+
+import java.util.Arrays;
+import java.util.List;
+import org.apache.skywalking.apm.util.StringFormatGroup;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PathTemplateMatcherTest {
+
+    @Test
+    public void testSameResultAsRegex() {
+        StringFormatGroup group = new StringFormatGroup();
+        group.addRule("GET:/products/{id}/{name}", "GET:/products/([^/]+)/([^/]+)");
+        group.addRule("GET:/{type}/123/relatedProducts", "GET:/([^/]+)/123/relatedProducts");
+        group.addRule("GET:/products/{id}", "GET:/products/([^/]+)");
+        group.addRule("GET:/products/{id}/relatedProducts", "GET:/products/([^/]+)/relatedProducts");
+        group.addRule("GET:/products/{id}.json", "GET:/products/([^/]+).json");
+        group.addRule("POST:/", "POST:/");
+        group.sortRules(new EndpointGroupingRule4Openapi.EndpointGroupingRulesComparator());
+
+        PathTemplateMatcher matcher = new PathTemplateMatcher(group);
+        List<String> endpointNames = Arrays.asList(
+            "GET:/products/123",
+            "GET:/products/123/relatedProducts",
+            "GET:/products/1/relatedProducts",
+            "GET:/products/123/abc",
+            "GET:/products/123.json",
+            "GET:/products/123/abc/ef",
+            "GET:/products/",
+            "GET:/products//abc",
+            "GET:/products/123/",
+            "POST:/",
+            "POST:/products"
+        );
+        for (String endpointName : endpointNames) {
+            StringFormatGroup.FormatResult expected = group.format(endpointName);
+            StringFormatGroup.FormatResult actual = matcher.format(endpointName);
+            Assert.assertEquals(endpointName, expected.isMatch(), actual.isMatch());
+            Assert.assertEquals(endpointName, expected.getName(), actual.getName());
+        }
+    }
+
+    @Test
+    public void testRuleOrder() {
+        StringFormatGroup group = new StringFormatGroup();
+        group.addRule("GET:/{a}/b/c", "GET:/([^/]+)/b/c");
+        group.addRule("GET:/a/{b}/{c}", "GET:/a/([^/]+)/([^/]+)");
+        PathTemplateMatcher matcher = new PathTemplateMatcher(group);
+        Assert.assertEquals("GET:/{a}/b/c", matcher.format("GET:/a/b/c").getName());
+
+        group.sortRules((rule1, rule2) -> rule1.getName().compareTo(rule2.getName()));
+        matcher = new PathTemplateMatcher(group);
+        Assert.assertEquals("GET:/a/{b}/{c}", matcher.format("GET:/a/b/c").getName());
+    }
+}
@@ -37,6 +37,28 @@ public class ProfileAnalyzerTest {
         }
     }
 
+    @Test
+    public void testStreamingAnalyze() throws IOException {
+        ProfileStackAnalyzeHolder holder = loadYaml("thread-snapshot.yml", ProfileStackAnalyzeHolder.class);
+
+        for (ProfileStackAnalyze analyze : holder.getList()) {
+            // the streaming analysis has no limit of the snapshots
+            if (analyze.getData().getSnapshots().size() > MAX_ANALYZE_COUNT) {
+                continue;
+            }
+            analyze.analyzeAndAssert(MAX_ANALYZE_COUNT, true);
+        }
+    }
+
+    @Test
+    public void testStreamingAnalyzeBeyondLimit() throws IOException {
+        ProfileStackAnalyzeHolder holder = loadYaml("thread-snapshot-streaming.yml", ProfileStackAnalyzeHolder.class);
+
+        for (ProfileStackAnalyze analyze : holder.getList()) {
+            analyze.analyzeAndAssert(MAX_ANALYZE_COUNT, true);
+        }
+    }
+
     private <T> T loadYaml(String file, Class<T> cls) {
         InputStream expectedInputStream = Thread.currentThread().getContextClassLoader().getResourceAsStream(file);
         return new Yaml().loadAs(expectedInputStream, cls);
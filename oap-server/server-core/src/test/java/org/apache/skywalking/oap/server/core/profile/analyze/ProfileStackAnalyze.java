@@ -40,10 +40,15 @@ public class ProfileStackAnalyze {
     private List<ProfileStackElementMatcher> expected;
 
     public void analyzeAndAssert(int maxAnalyzeCount) throws IOException {
+        analyzeAndAssert(maxAnalyzeCount, false);
+    }
+
+    public void analyzeAndAssert(int maxAnalyzeCount, boolean streaming) throws IOException {
         List<ProfileThreadSnapshotRecord> stacks = data.transformSnapshots();
         final List<ProfileAnalyzeTimeRange> ranges = data.transformTimeRanges();
 
-        List<ProfileStackTree> trees = buildAnalyzer(stacks, maxAnalyzeCount).analyze(null, ranges).getTrees();
+        List<ProfileStackTree> trees = buildAnalyzer(stacks, maxAnalyzeCount, streaming).analyze(null, ranges)
+                                                                                         .getTrees();
 
         assertNotNull(trees);
         assertEquals(trees.size(), expected.size());
@@ -52,8 +57,9 @@ public class ProfileStackAnalyze {
         }
     }
 
-    private ProfileAnalyzer buildAnalyzer(List<ProfileThreadSnapshotRecord> stacks, int maxAnalyzeCount) throws IOException {
-        ProfileAnalyzer analyzer = new ProfileAnalyzer(null, 2, maxAnalyzeCount);
+    private ProfileAnalyzer buildAnalyzer(List<ProfileThreadSnapshotRecord> stacks, int maxAnalyzeCount,
+                                          boolean streaming) throws IOException {
+        ProfileAnalyzer analyzer = new ProfileAnalyzer(null, 2, maxAnalyzeCount, streaming);
         analyzer.profileThreadSnapshotQueryDAO = new ThreadSnapshotDAO(stacks);
         return analyzer;
     }
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.skywalking.oap.server.core.query.type.Endpoint;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EndpointNameIndexTest {
+
+    @Test
+    public void testSearch() {
+        EndpointNameIndex index = new EndpointNameIndex(endpoints(
+            "/api/users", "/api/users/{id}", "/api/orders", "GET:/Users/profile", "/health", "/users-rs/x"
+        ), true);
+
+        Assert.assertEquals(
+            Arrays.asList("/api/users", "/api/users/{id}", "GET:/Users/profile", "/users-rs/x"),
+            names(index.search("users", 10))
+        );
+        Assert.assertEquals(Arrays.asList("/api/users", "/api/users/{id}"), names(index.search("USERS", 2)));
+        // All the trigrams exist in "/users-rs/x", but not continuous.
+        Assert.assertEquals(
+            Arrays.asList("/api/users/{id}", "GET:/Users/profile"), names(index.search("users/", 10)));
+        Assert.assertEquals(Arrays.asList("/api/orders"), names(index.search("ord", 10)));
+        Assert.assertTrue(index.search("payment", 10).isEmpty());
+    }
+
+    @Test
+    public void testSearchShortOrEmptyKeyword() {
+        EndpointNameIndex index = new EndpointNameIndex(endpoints("/api/users", "/api/orders", "/health"), true);
+
+        Assert.assertEquals(Arrays.asList("/api/users", "/api/orders"), names(index.search("/a", 10)));
+        Assert.assertEquals(Arrays.asList("/health"), names(index.search("h", 10)));
+        Assert.assertEquals(Arrays.asList("/api/users", "/api/orders"), names(index.search(null, 2)));
+        Assert.assertEquals(3, index.search("", 10).size());
+    }
+
+    private static List<Endpoint> endpoints(String... names) {
+        List<Endpoint> endpoints = new ArrayList<>(names.length);
+        for (String name : names) {
+            Endpoint endpoint = new Endpoint();
+            endpoint.setId(name);
+            endpoint.setName(name);
+            endpoints.add(endpoint);
+        }
+        return endpoints;
+    }
+
+    private static List<String> names(List<Endpoint> endpoints) {
+        return endpoints.stream().map(Endpoint::getName).collect(Collectors.toList());
+    }
+}
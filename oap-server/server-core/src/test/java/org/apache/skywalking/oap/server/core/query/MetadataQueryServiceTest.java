@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.skywalking.oap.server.core.query.type.Endpoint;
+import org.apache.skywalking.oap.server.core.query.type.Service;
+import org.apache.skywalking.oap.server.core.storage.query.IMetadataQueryDAO;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.library.module.ModuleProviderHolder;
+import org.apache.skywalking.oap.server.library.module.ModuleServiceHolder;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class MetadataQueryServiceTest {
+    private ModuleManager moduleManager;
+    private IMetadataQueryDAO metadataQueryDAO;
+
+    @Before
+    public void setUp() {
+        moduleManager = mock(ModuleManager.class);
+        ModuleServiceHolder moduleServiceHolder = mock(ModuleServiceHolder.class);
+        doReturn((ModuleProviderHolder) () -> moduleServiceHolder).when(moduleManager).find(anyString());
+        metadataQueryDAO = mock(IMetadataQueryDAO.class);
+        doReturn(metadataQueryDAO).when(moduleServiceHolder).getService(IMetadataQueryDAO.class);
+    }
+
+    @Test
+    public void testCacheServices() throws Exception {
+        Service service = new Service();
+        service.setId("service-id");
+        service.setName("service");
+        doReturn(Collections.singletonList(service)).when(metadataQueryDAO).getAllServices(any());
+
+        MetadataQueryService queryService = new MetadataQueryService(moduleManager, 10, 100);
+        Assert.assertEquals(1, queryService.getAllServices(null).size());
+        Assert.assertEquals(1, queryService.getAllServices("").size());
+        Assert.assertEquals("", queryService.getAllServices(null).get(0).getGroup());
+
+        verify(metadataQueryDAO, times(1)).getAllServices(any());
+    }
+
+    @Test
+    public void testSearchEndpointInIndex() throws Exception {
+        doReturn(endpoints(3)).when(metadataQueryDAO).searchEndpoint(isNull(), eq("service-id"), eq(100));
+
+        MetadataQueryService queryService = new MetadataQueryService(moduleManager, 10, 100);
+        Assert.assertEquals(3, queryService.searchEndpoint("", "service-id", 10).size());
+        Assert.assertEquals(1, queryService.searchEndpoint("ENDPOINT-1", "service-id", 10).size());
+        Assert.assertEquals(2, queryService.searchEndpoint("endpoint", "service-id", 2).size());
+
+        verify(metadataQueryDAO, times(1)).searchEndpoint(any(), anyString(), anyInt());
+    }
+
+    @Test
+    public void testSearchEndpointOfLargeServiceInStorage() throws Exception {
+        doReturn(endpoints(100)).when(metadataQueryDAO).searchEndpoint(isNull(), eq("service-id"), eq(100));
+        doReturn(endpoints(1)).when(metadataQueryDAO).searchEndpoint(eq("endpoint-0"), eq("service-id"), eq(10));
+
+        MetadataQueryService queryService = new MetadataQueryService(moduleManager, 10, 100);
+        Assert.assertEquals(1, queryService.searchEndpoint("endpoint-0", "service-id", 10).size());
+        Assert.assertEquals(1, queryService.searchEndpoint("endpoint-0", "service-id", 10).size());
+
+        verify(metadataQueryDAO, times(1)).searchEndpoint(isNull(), eq("service-id"), eq(100));
+        verify(metadataQueryDAO, times(2)).searchEndpoint(eq("endpoint-0"), eq("service-id"), eq(10));
+    }
+
+    @Test
+    public void testNoCache() throws Exception {
+        doReturn(endpoints(1)).when(metadataQueryDAO).searchEndpoint(eq("endpoint"), eq("service-id"), eq(10));
+
+        MetadataQueryService queryService = new MetadataQueryService(moduleManager);
+        queryService.searchEndpoint("endpoint", "service-id", 10);
+        queryService.searchEndpoint("endpoint", "service-id", 10);
+
+        verify(metadataQueryDAO, times(2)).searchEndpoint(eq("endpoint"), eq("service-id"), eq(10));
+    }
+
+    private static List<Endpoint> endpoints(int size) {
+        List<Endpoint> endpoints = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Endpoint endpoint = new Endpoint();
+            endpoint.setId("endpoint-id-" + i);
+            endpoint.setName("endpoint-" + i);
+            endpoints.add(endpoint);
+        }
+        return endpoints;
+    }
+}
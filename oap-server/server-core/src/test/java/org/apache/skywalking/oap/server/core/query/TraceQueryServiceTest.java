@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.skywalking.apm.network.language.agent.v3.RefType;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentReference;
+import org.apache.skywalking.apm.network.language.agent.v3.SpanObject;
+import org.apache.skywalking.oap.server.core.analysis.manual.segment.SegmentRecord;
+import org.apache.skywalking.oap.server.core.config.IComponentLibraryCatalogService;
+import org.apache.skywalking.oap.server.core.query.type.Span;
+import org.apache.skywalking.oap.server.core.query.type.Trace;
+import org.apache.skywalking.oap.server.core.storage.query.ITraceQueryDAO;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.library.module.ModuleProviderHolder;
+import org.apache.skywalking.oap.server.library.module.ModuleServiceHolder;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class TraceQueryServiceTest {
+    private ModuleManager moduleManager;
+    private ITraceQueryDAO traceQueryDAO;
+
+    @Before
+    public void setUp() {
+        moduleManager = mock(ModuleManager.class);
+        ModuleServiceHolder moduleServiceHolder = mock(ModuleServiceHolder.class);
+        doReturn((ModuleProviderHolder) () -> moduleServiceHolder).when(moduleManager).find(anyString());
+        traceQueryDAO = mock(ITraceQueryDAO.class);
+        doReturn(traceQueryDAO).when(moduleServiceHolder).getService(ITraceQueryDAO.class);
+        doReturn(mock(IComponentLibraryCatalogService.class))
+            .when(moduleServiceHolder).getService(IComponentLibraryCatalogService.class);
+    }
+
+    @Test
+    public void testSortSpans() throws Exception {
+        List<SegmentRecord> segments = new ArrayList<>();
+        segments.add(segment("b", 10, span(0, -1, 10).addRefs(ref("a", 1))));
+        segments.add(segment("a", 0, span(0, -1, 0), span(1, 0, 5), span(2, 0, 8)));
+        segments.add(segment("orphan", 3, span(0, -1, 3).addRefs(ref("lost", 0))));
+        doReturn(segments).when(traceQueryDAO).queryByTraceId("trace");
+
+        Trace trace = new TraceQueryService(moduleManager).queryTrace("trace");
+
+        Assert.assertEquals(
+            "aS0,aS1,bS0,aS2,orphanS0",
+            trace.getSpans().stream().map(Span::getSegmentSpanId).collect(Collectors.joining(","))
+        );
+        Assert.assertTrue(trace.getSpans().get(0).isRoot());
+        Assert.assertFalse(trace.getSpans().get(2).isRoot());
+        Assert.assertTrue(trace.getSpans().get(4).isRoot());
+    }
+
+    @Test
+    public void testLargeTraceAndCache() throws Exception {
+        List<SegmentRecord> segments = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            segments.add(segment("s" + i, i, span(0, -1, i)));
+        }
+        doReturn(segments).when(traceQueryDAO).queryByTraceId("trace");
+
+        Trace trace = new TraceQueryService(moduleManager).queryTrace("trace");
+        Assert.assertEquals(1200, trace.getSpans().size());
+        for (int i = 0; i < 1200; i++) {
+            Assert.assertEquals("s" + i, trace.getSpans().get(i).getSegmentId());
+        }
+
+        TraceQueryService limitedService = new TraceQueryService(moduleManager, 800, 10, 60);
+        trace = limitedService.queryTrace("trace");
+        Assert.assertEquals(800, trace.getSpans().size());
+        Trace cached = limitedService.queryTrace("trace");
+        // Every caller gets its own span list.
+        Assert.assertNotSame(trace, cached);
+        Assert.assertNotSame(trace.getSpans(), cached.getSpans());
+        Assert.assertEquals(trace.getSpans(), cached.getSpans());
+        verify(traceQueryDAO, times(2)).queryByTraceId("trace");
+    }
+
+    @Test
+    public void testNotCacheMissingOrRecentTrace() throws Exception {
+        TraceQueryService service = new TraceQueryService(moduleManager, 0, 10, 60);
+
+        doReturn(new ArrayList<>()).when(traceQueryDAO).queryByTraceId("missing");
+        Assert.assertTrue(service.queryTrace("missing").getSpans().isEmpty());
+        Assert.assertTrue(service.queryTrace("missing").getSpans().isEmpty());
+        verify(traceQueryDAO, times(2)).queryByTraceId("missing");
+
+        long now = System.currentTimeMillis();
+        doReturn(Collections.singletonList(segment("recent", now, span(0, -1, now).setEndTime(now))))
+            .when(traceQueryDAO).queryByTraceId("recent");
+        Assert.assertEquals(1, service.queryTrace("recent").getSpans().size());
+        Assert.assertEquals(1, service.queryTrace("recent").getSpans().size());
+        verify(traceQueryDAO, times(2)).queryByTraceId("recent");
+    }
+
+    private static SegmentRecord segment(String segmentId, long startTime, SpanObject.Builder... spans) {
+        SegmentObject.Builder segment = SegmentObject.newBuilder()
+                                                     .setTraceId("trace")
+                                                     .setTraceSegmentId(segmentId)
+                                                     .setService("service")
+                                                     .setServiceInstance("instance");
+        for (SpanObject.Builder span : spans) {
+            segment.addSpans(span);
+        }
+        SegmentRecord record = new SegmentRecord();
+        record.setSegmentId(segmentId);
+        record.setStartTime(startTime);
+        record.setDataBinary(segment.build().toByteArray());
+        return record;
+    }
+
+    private static SpanObject.Builder span(int spanId, int parentSpanId, long startTime) {
+        return SpanObject.newBuilder().setSpanId(spanId).setParentSpanId(parentSpanId).setStartTime(startTime);
+    }
+
+    private static SegmentReference.Builder ref(String parentSegmentId, int parentSpanId) {
+        return SegmentReference.newBuilder()
+                               .setTraceId("trace")
+                               .setParentTraceSegmentId(parentSegmentId)
+                               .setParentSpanId(parentSpanId)
+                               .setRefType(RefType.CrossProcess);
+    }
+}
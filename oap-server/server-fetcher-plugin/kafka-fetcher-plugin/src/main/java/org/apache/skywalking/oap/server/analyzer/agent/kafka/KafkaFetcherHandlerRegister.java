@@ -18,26 +18,35 @@
 
 package org.apache.skywalking.oap.server.analyzer.agent.kafka;
 
-import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.BytesDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -50,31 +59,51 @@ import org.apache.skywalking.oap.server.library.server.pool.CustomThreadFactory;
 
 /**
  * Configuring and initializing a KafkaConsumer client as a dispatcher to delivery Kafka Message to registered handler by topic.
+ * <p>
+ * The records polled from the same partition are delivered as a batch to the worker bound to the partition, so they
+ * are handled in order. Only the offsets of the handled batches are committed. A partition is paused when it has too
+ * many records not handled yet.
  */
 @Slf4j
 public class KafkaFetcherHandlerRegister implements Runnable {
 
-    private ImmutableMap.Builder<String, KafkaHandler> builder = ImmutableMap.builder();
-    private ImmutableMap<String, KafkaHandler> handlerMap;
+    private final Map<String, KafkaHandler> handlerMap = new HashMap<>();
 
     private List<TopicPartition> topicPartitions = Lists.newArrayList();
-    private KafkaConsumer<String, Bytes> consumer = null;
+    private final Consumer<String, Bytes> consumer;
     private final KafkaFetcherConfig config;
     private final boolean isSharding;
     private final Properties properties;
 
+    /**
+     * The max number of the workers of every topic.
+     */
     private int threadPoolSize = Runtime.getRuntime().availableProcessors() * 2;
+    /**
+     * The max number of the records not handled yet of every partition, before the partition is paused.
+     */
     private int threadPoolQueueSize = 10000;
-    private final ThreadPoolExecutor executor;
+    private final Map<String, Integer> topicConcurrency = new HashMap<>();
+    private final ExecutorService pollExecutor;
     private final boolean enableKafkaMessageAutoCommit;
 
+    /**
+     * The workers are only accessed by the poll thread, created when the first batch of the partition is polled.
+     */
+    private final Map<String, ExecutorService[]> topicWorkers = new HashMap<>();
+    private final Map<TopicPartition, AtomicInteger> inFlightRecords = new ConcurrentHashMap<>();
+    private final Map<TopicPartition, OffsetAndMetadata> handledOffsets = new ConcurrentHashMap<>();
+    private final Set<TopicPartition> pausedPartitions = new HashSet<>();
+
     public KafkaFetcherHandlerRegister(KafkaFetcherConfig config) {
+        this(config, new KafkaConsumer<>(consumerProperties(config), new StringDeserializer(), new BytesDeserializer()));
+    }
+
+    KafkaFetcherHandlerRegister(KafkaFetcherConfig config, Consumer<String, Bytes> consumer) {
         this.config = config;
+        this.consumer = consumer;
 
-        properties = new Properties();
-        properties.putAll(config.getKafkaConsumerConfig());
-        properties.setProperty(ConsumerConfig.GROUP_ID_CONFIG, config.getGroupId());
-        properties.setProperty(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, config.getBootstrapServers());
+        properties = consumerProperties(config);
 
         if (config.isSharding() && StringUtil.isNotEmpty(config.getConsumePartitions())) {
             isSharding = true;
@@ -87,53 +116,150 @@ public class KafkaFetcherHandlerRegister implements Runnable {
         if (config.getKafkaHandlerThreadPoolQueueSize() > 0) {
             threadPoolQueueSize = config.getKafkaHandlerThreadPoolQueueSize();
         }
+        if (StringUtil.isNotEmpty(config.getKafkaHandlerTopicConcurrency())) {
+            for (final String topic : config.getKafkaHandlerTopicConcurrency().trim().split("\\s*,\\s*")) {
+                final int index = topic.lastIndexOf(':');
+                topicConcurrency.put(topic.substring(0, index), Integer.parseInt(topic.substring(index + 1)));
+            }
+        }
 
-        enableKafkaMessageAutoCommit = (boolean) properties.getOrDefault(
-            ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
-        consumer = new KafkaConsumer<>(properties, new StringDeserializer(), new BytesDeserializer());
-        executor = new ThreadPoolExecutor(threadPoolSize, threadPoolSize,
-                                          60, TimeUnit.SECONDS,
-                                          new ArrayBlockingQueue<>(threadPoolQueueSize),
-                                          new CustomThreadFactory("KafkaConsumer"),
-                                          new ThreadPoolExecutor.CallerRunsPolicy()
-        );
+        enableKafkaMessageAutoCommit = Boolean.parseBoolean(String.valueOf(
+            properties.getOrDefault(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true)));
+        pollExecutor = Executors.newSingleThreadExecutor(new CustomThreadFactory("KafkaConsumer"));
+    }
+
+    private static Properties consumerProperties(KafkaFetcherConfig config) {
+        Properties properties = new Properties();
+        properties.putAll(config.getKafkaConsumerConfig());
+        properties.setProperty(ConsumerConfig.GROUP_ID_CONFIG, config.getGroupId());
+        properties.setProperty(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, config.getBootstrapServers());
+        return properties;
     }
 
     public void register(KafkaHandler handler) {
-        builder.put(handler.getTopic(), handler);
+        handlerMap.put(handler.getTopic(), handler);
         topicPartitions.addAll(handler.getTopicPartitions());
     }
 
     public void start() throws ModuleStartException {
-        handlerMap = builder.build();
-
         createTopicIfNeeded(handlerMap.keySet(), properties);
 
+        subscribe();
+        pollExecutor.submit(this);
+    }
+
+    void subscribe() {
         if (isSharding) {
             consumer.assign(topicPartitions);
         } else {
-            consumer.subscribe(handlerMap.keySet());
+            consumer.subscribe(handlerMap.keySet(), new ConsumerRebalanceListener() {
+                @Override
+                public void onPartitionsRevoked(final Collection<TopicPartition> partitions) {
+                    // The batches in flight of the revoked partitions would be handled, but not committed.
+                    if (!enableKafkaMessageAutoCommit) {
+                        commitHandledOffsets(true);
+                    }
+                    pausedPartitions.removeAll(partitions);
+                }
+
+                @Override
+                public void onPartitionsAssigned(final Collection<TopicPartition> partitions) {
+                }
+            });
         }
         consumer.seekToEnd(consumer.assignment());
-        executor.submit(this);
     }
 
     @Override
     public void run() {
         while (true) {
             try {
-                ConsumerRecords<String, Bytes> consumerRecords = consumer.poll(Duration.ofMillis(500L));
-                if (!consumerRecords.isEmpty()) {
-                    for (final ConsumerRecord<String, Bytes> record : consumerRecords) {
-                        executor.submit(() -> handlerMap.get(record.topic()).handle(record));
-                    }
-                    if (!enableKafkaMessageAutoCommit) {
-                        consumer.commitAsync();
-                    }
-                }
+                pollOnce();
+            } catch (Exception e) {
+                log.error("Kafka handle message error.", e);
+            }
+        }
+    }
+
+    void pollOnce() {
+        resumeDrainedPartitions();
+
+        ConsumerRecords<String, Bytes> consumerRecords = consumer.poll(Duration.ofMillis(500L));
+        for (final TopicPartition partition : consumerRecords.partitions()) {
+            dispatch(partition, consumerRecords.records(partition));
+        }
+        if (!enableKafkaMessageAutoCommit) {
+            commitHandledOffsets(false);
+        }
+    }
+
+    private void dispatch(TopicPartition partition, List<ConsumerRecord<String, Bytes>> records) {
+        final KafkaHandler handler = handlerMap.get(partition.topic());
+        final long nextOffset = records.get(records.size() - 1).offset() + 1;
+        final AtomicInteger inFlight = inFlightRecords.computeIfAbsent(partition, p -> new AtomicInteger());
+        if (inFlight.addAndGet(records.size()) >= threadPoolQueueSize) {
+            consumer.pause(Collections.singleton(partition));
+            pausedPartitions.add(partition);
+        }
+
+        worker(partition).execute(() -> {
+            try {
+                handler.handle(records);
             } catch (Exception e) {
                 log.error("Kafka handle message error.", e);
+            } finally {
+                // The batches of a partition are handled in order, the offset is only moved forward.
+                handledOffsets.put(partition, new OffsetAndMetadata(nextOffset));
+                inFlight.addAndGet(-records.size());
             }
+        });
+    }
+
+    private ExecutorService worker(TopicPartition partition) {
+        final ExecutorService[] workers = topicWorkers.computeIfAbsent(
+            partition.topic(), topic -> new ExecutorService[topicConcurrency.getOrDefault(topic, threadPoolSize)]);
+        final int index = partition.partition() % workers.length;
+        if (workers[index] == null) {
+            workers[index] = Executors.newSingleThreadExecutor(
+                new CustomThreadFactory("KafkaHandler-" + partition.topic() + "-" + index));
+        }
+        return workers[index];
+    }
+
+    private void resumeDrainedPartitions() {
+        final Iterator<TopicPartition> iterator = pausedPartitions.iterator();
+        while (iterator.hasNext()) {
+            final TopicPartition partition = iterator.next();
+            if (inFlightRecords.get(partition).get() < threadPoolQueueSize / 2) {
+                consumer.resume(Collections.singleton(partition));
+                iterator.remove();
+            }
+        }
+    }
+
+    private void commitHandledOffsets(boolean sync) {
+        if (handledOffsets.isEmpty()) {
+            return;
+        }
+        final Set<TopicPartition> assignment = consumer.assignment();
+        final Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (final TopicPartition partition : new ArrayList<>(handledOffsets.keySet())) {
+            final OffsetAndMetadata offset = handledOffsets.remove(partition);
+            if (offset != null && assignment.contains(partition)) {
+                offsets.put(partition, offset);
+            }
+        }
+        if (offsets.isEmpty()) {
+            return;
+        }
+        if (sync) {
+            consumer.commitSync(offsets);
+        } else {
+            consumer.commitAsync(offsets, (committed, e) -> {
+                if (e != null) {
+                    log.warn("Failed to commit Kafka offsets {}.", committed, e);
+                }
+            });
         }
     }
 
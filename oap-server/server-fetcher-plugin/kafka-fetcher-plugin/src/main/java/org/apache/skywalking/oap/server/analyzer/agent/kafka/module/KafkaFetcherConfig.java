@@ -91,6 +91,12 @@ public class KafkaFetcherConfig extends ModuleConfig {
 
     private int kafkaHandlerThreadPoolQueueSize;
 
+    /**
+     * The number of handler workers of the specific topics, such as `skywalking-segments:8,skywalking-logs:4`. The
+     * other topics use {@link #kafkaHandlerThreadPoolSize}. A partition is always handled by the same worker.
+     */
+    private String kafkaHandlerTopicConcurrency = "";
+
     private String namespace = "";
     
     private String mm2SourceAlias = "";
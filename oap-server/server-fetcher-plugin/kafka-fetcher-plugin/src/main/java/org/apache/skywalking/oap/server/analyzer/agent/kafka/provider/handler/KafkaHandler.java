@@ -62,4 +62,12 @@ public interface KafkaHandler {
      */
     void handle(ConsumerRecord<String, Bytes> record);
 
+    /**
+     * Deserialize the records polled together from one partition and push them to downstream. The records are in the
+     * order of the offset, and the batches of a partition are never handled concurrently.
+     */
+    default void handle(List<ConsumerRecord<String, Bytes>> records) {
+        records.forEach(this::handle);
+    }
+
 }
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.analyzer.agent.kafka;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.skywalking.oap.server.analyzer.agent.kafka.module.KafkaFetcherConfig;
+import org.apache.skywalking.oap.server.analyzer.agent.kafka.provider.handler.KafkaHandler;
+import org.junit.Before;
+import org.junit.Test;
+import org.powermock.reflect.Whitebox;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class KafkaFetcherHandlerRegisterTest {
+    private static final String TOPIC = "skywalking-segments";
+    private static final TopicPartition PARTITION_0 = new TopicPartition(TOPIC, 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition(TOPIC, 1);
+
+    private final MockConsumer<String, Bytes> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    private final KafkaFetcherConfig config = new KafkaFetcherConfig();
+    private final MockHandler handler = new MockHandler();
+
+    @Before
+    public void setUp() {
+        config.setBootstrapServers("localhost:9092");
+        config.setSharding(true);
+        config.setConsumePartitions("0,1");
+        config.getKafkaConsumerConfig().setProperty(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+
+        Map<TopicPartition, Long> offsets = new HashMap<>();
+        offsets.put(PARTITION_0, 0L);
+        offsets.put(PARTITION_1, 0L);
+        consumer.updateBeginningOffsets(offsets);
+        consumer.updateEndOffsets(offsets);
+    }
+
+    @Test
+    public void testHandleInOrderAndCommitHandledOffsets() throws InterruptedException {
+        config.setKafkaHandlerTopicConcurrency(TOPIC + ":2");
+        KafkaFetcherHandlerRegister register = new KafkaFetcherHandlerRegister(config, consumer);
+        register.register(handler);
+        register.subscribe();
+
+        for (int i = 0; i < 5; i++) {
+            consumer.addRecord(record(PARTITION_0, i));
+            consumer.addRecord(record(PARTITION_1, i));
+        }
+        register.pollOnce();
+        awaitHandled(register);
+        register.pollOnce();
+
+        assertEquals(Arrays.asList(0L, 1L, 2L, 3L, 4L), handler.offsets.get(PARTITION_0));
+        assertEquals(Arrays.asList(0L, 1L, 2L, 3L, 4L), handler.offsets.get(PARTITION_1));
+        // the partitions are bound to different workers
+        assertFalse(handler.threads.get(PARTITION_0).equals(handler.threads.get(PARTITION_1)));
+
+        Map<TopicPartition, OffsetAndMetadata> committed = consumer.committed(
+            new HashSet<>(Arrays.asList(PARTITION_0, PARTITION_1)));
+        assertEquals(5L, committed.get(PARTITION_0).offset());
+        assertEquals(5L, committed.get(PARTITION_1).offset());
+    }
+
+    @Test
+    public void testPauseAndNotCommitUnhandledRecords() throws InterruptedException {
+        config.setKafkaHandlerThreadPoolQueueSize(2);
+        KafkaFetcherHandlerRegister register = new KafkaFetcherHandlerRegister(config, consumer);
+        register.register(handler);
+        register.subscribe();
+
+        handler.blocker = new CountDownLatch(1);
+        consumer.addRecord(record(PARTITION_0, 0));
+        consumer.addRecord(record(PARTITION_0, 1));
+        register.pollOnce();
+        register.pollOnce();
+
+        assertTrue(consumer.paused().contains(PARTITION_0));
+        assertNull(consumer.committed(Collections.singleton(PARTITION_0)).get(PARTITION_0));
+
+        handler.blocker.countDown();
+        awaitHandled(register);
+        register.pollOnce();
+
+        assertFalse(consumer.paused().contains(PARTITION_0));
+        assertEquals(2L, consumer.committed(Collections.singleton(PARTITION_0)).get(PARTITION_0).offset());
+    }
+
+    /**
+     * Wait until all the dispatched records are handled, the handled offsets are marked before the records in flight
+     * are released.
+     */
+    private static void awaitHandled(KafkaFetcherHandlerRegister register) throws InterruptedException {
+        final Map<TopicPartition, AtomicInteger> inFlightRecords = Whitebox.getInternalState(
+            register, "inFlightRecords");
+        await(() -> inFlightRecords.values().stream().allMatch(inFlight -> inFlight.get() == 0));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met in 10 seconds");
+            }
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+    }
+
+    private static ConsumerRecord<String, Bytes> record(TopicPartition partition, long offset) {
+        return new ConsumerRecord<>(partition.topic(), partition.partition(), offset, "key", Bytes.wrap(new byte[0]));
+    }
+
+    private static class MockHandler implements KafkaHandler {
+        private final Map<TopicPartition, List<Long>> offsets = new ConcurrentHashMap<>();
+        private final Map<TopicPartition, String> threads = new ConcurrentHashMap<>();
+        private volatile CountDownLatch blocker;
+
+        @Override
+        public String getConsumePartitions() {
+            return "0,1";
+        }
+
+        @Override
+        public String getTopic() {
+            return TOPIC;
+        }
+
+        @Override
+        public void handle(final ConsumerRecord<String, Bytes> record) {
+            final TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            try {
+                if (blocker != null) {
+                    blocker.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            offsets.computeIfAbsent(partition, p -> new CopyOnWriteArrayList<>()).add(record.offset());
+            threads.put(partition, Thread.currentThread().getName());
+        }
+    }
+}
@@ -69,6 +69,7 @@ import org.apache.skywalking.oap.server.library.client.healthcheck.HealthCheckab
 import org.apache.skywalking.oap.server.library.client.request.InsertRequest;
 import org.apache.skywalking.oap.server.library.client.request.UpdateRequest;
 import org.apache.skywalking.oap.server.library.util.HealthChecker;
+import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.admin.indices.create.CreateIndexRequest;
 import org.elasticsearch.action.admin.indices.create.CreateIndexResponse;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
@@ -82,6 +83,8 @@ import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.get.GetRequest;
 import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.get.MultiGetRequest;
+import org.elasticsearch.action.get.MultiGetResponse;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
@@ -93,11 +96,13 @@ import org.elasticsearch.client.ResponseException;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestClientBuilder;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.fetch.subphase.FetchSourceContext;
 
 /**
  * ElasticSearchClient connects to the ES server by using ES client APIs.
@@ -500,6 +505,30 @@ public class ElasticSearchClient implements Client, HealthCheckable {
         }
     }
 
+    /**
+     * Get the documents by their IDs through the real-time multi-get API, which skips the query phase of the search.
+     * The index should be a physical index rather than an alias of several indices, otherwise every item fails.
+     *
+     * @param includes the fields to return in the source of each document, all fields are returned if empty.
+     */
+    public MultiGetResponse multiGet(String indexName, String[] ids, String[] includes) throws IOException {
+        indexName = formatIndexName(indexName);
+
+        MultiGetRequest request = new MultiGetRequest();
+        FetchSourceContext sourceContext = new FetchSourceContext(true, includes, Strings.EMPTY_ARRAY);
+        for (final String id : ids) {
+            request.add(new MultiGetRequest.Item(indexName, TYPE, id).fetchSourceContext(sourceContext));
+        }
+        try {
+            MultiGetResponse response = client.multiGet(request);
+            healthChecker.health();
+            return response;
+        } catch (Throwable t) {
+            healthChecker.unHealth(t);
+            throw t;
+        }
+    }
+
     public void forceInsert(String indexName, String id, XContentBuilder source) throws IOException {
         IndexRequest request = (IndexRequest) prepareInsert(indexName, id, source);
         request.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
@@ -565,6 +594,13 @@ public class ElasticSearchClient implements Client, HealthCheckable {
         }
     }
 
+    /**
+     * Execute the bulk request asynchronously, the listener is notified when the response arrives.
+     */
+    public void bulkAsync(BulkRequest request, ActionListener<BulkResponse> listener) {
+        client.bulkAsync(request, listener);
+    }
+
     public BulkProcessor createBulkProcessor(int bulkActions, int flushInterval, int concurrentRequests) {
         BulkProcessor.Listener listener = createBulkListener();
 
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.trace.provider;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.skywalking.oap.server.library.module.ModuleConfig;
+
+@Getter
+@Setter
+public class TraceServiceModuleConfig extends ModuleConfig {
+    /**
+     * The max segments per second received through gRPC by this OAP, 0 means no limit.
+     */
+    private int segmentAdmissionGlobalRate = 0;
+    /**
+     * The max segments per second of each service received through gRPC by this OAP, 0 means no limit.
+     */
+    private int segmentAdmissionServiceRate = 0;
+    /**
+     * The max time(ms) to delay reading the next segment of an agent stream. The segments need a longer delay are
+     * shed.
+     */
+    private int segmentAdmissionMaxDelay = 1000;
+    /**
+     * The segments including error spans or taking longer than this(ms) are always admitted.
+     */
+    private int segmentAdmissionSlowThreshold = 3000;
+}
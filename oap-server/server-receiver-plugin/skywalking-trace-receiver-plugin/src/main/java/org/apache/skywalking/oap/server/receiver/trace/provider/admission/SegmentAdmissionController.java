@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.trace.provider.admission;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+import org.apache.skywalking.apm.network.language.agent.v3.SpanObject;
+import org.apache.skywalking.oap.server.receiver.trace.provider.TraceServiceModuleConfig;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
+
+/**
+ * SegmentAdmissionController limits the segments entering the analysis by a global and a per-service token bucket.
+ * The segments including error spans or slower than the threshold are prioritized, they are always admitted.
+ * <p>
+ * A segment could reserve a permit in advance up to the max delay, the receiver processes it immediately but delays
+ * reading the next segment of the stream, so the agent is slowed by gRPC flow control instead of failed. The segments
+ * need a longer delay are shed.
+ * <p>
+ * The per-service buckets and counters expire once the service is idle, as an idle bucket is refilled anyway.
+ */
+@Slf4j
+public class SegmentAdmissionController {
+    private static final long NOT_ADMITTED = -1;
+    private static final long IDLE_EXPIRATION_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final int serviceRate;
+    private final long maxDelayNanos;
+    private final long slowThresholdMillis;
+    private final TokenBucket globalBucket;
+    private final Cache<String, TokenBucket> serviceBuckets;
+
+    private final MetricsCreator metricsCreator;
+    private final Cache<String, CounterMetrics> counters;
+    private volatile ScheduledExecutorService scheduler;
+
+    public SegmentAdmissionController(TraceServiceModuleConfig config, MetricsCreator metricsCreator) {
+        this.serviceRate = config.getSegmentAdmissionServiceRate();
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(config.getSegmentAdmissionMaxDelay());
+        this.slowThresholdMillis = config.getSegmentAdmissionSlowThreshold();
+        this.globalBucket = config.getSegmentAdmissionGlobalRate() > 0
+            ? new TokenBucket(config.getSegmentAdmissionGlobalRate(), System.nanoTime()) : null;
+        this.metricsCreator = metricsCreator;
+        // a bucket idle longer than the max delay plus its burst is full again, a new one makes no difference
+        final long bucketExpirationNanos = maxDelayNanos + IDLE_EXPIRATION_NANOS;
+        this.serviceBuckets = CacheBuilder.newBuilder()
+                                          .expireAfterAccess(bucketExpirationNanos, TimeUnit.NANOSECONDS)
+                                          .build();
+        // the recreated counter continues the count of the same service and result in the telemetry
+        this.counters = CacheBuilder.newBuilder()
+                                    .expireAfterAccess(IDLE_EXPIRATION_NANOS, TimeUnit.NANOSECONDS)
+                                    .build();
+    }
+
+    /**
+     * @return true if any rate limit is set.
+     */
+    public boolean isEnabled() {
+        return globalBucket != null || serviceRate > 0;
+    }
+
+    /**
+     * @return the nanos to delay the next segment of the same stream, 0 means no delay, -1 means the segment is shed.
+     */
+    public long admit(SegmentObject segment) {
+        if (!isEnabled()) {
+            return 0;
+        }
+        final String service = segment.getService();
+        if (isPrioritized(segment)) {
+            count(service, "prioritized");
+            return 0;
+        }
+
+        final long now = System.nanoTime();
+        long waitNanos = 0;
+        if (serviceRate > 0) {
+            TokenBucket bucket = serviceBuckets.getIfPresent(service);
+            if (bucket == null) {
+                bucket = serviceBuckets.asMap().computeIfAbsent(service, s -> new TokenBucket(serviceRate, now));
+            }
+            waitNanos = bucket.reserve(now, maxDelayNanos);
+        }
+        // the service permit is consumed even if the global one is not available, the service is over its share anyway
+        if (waitNanos != NOT_ADMITTED && globalBucket != null) {
+            final long globalWaitNanos = globalBucket.reserve(now, maxDelayNanos);
+            waitNanos = globalWaitNanos == NOT_ADMITTED ? NOT_ADMITTED : Math.max(waitNanos, globalWaitNanos);
+        }
+
+        if (waitNanos == NOT_ADMITTED) {
+            count(service, "shed");
+        } else if (waitNanos > 0) {
+            count(service, "delayed");
+        } else {
+            count(service, "admitted");
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Run the task after the delay, used to request the next segment of the stream.
+     */
+    public void schedule(Runnable task, long delayNanos) {
+        if (scheduler == null) {
+            synchronized (this) {
+                if (scheduler == null) {
+                    scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                        Thread thread = new Thread(r, "SegmentAdmissionScheduler");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        scheduler.schedule(() -> {
+            try {
+                task.run();
+            } catch (Throwable t) {
+                log.warn("Delayed segment admission task failure: {}", t.getMessage());
+            }
+        }, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private boolean isPrioritized(SegmentObject segment) {
+        if (segment.getSpansCount() == 0) {
+            return false;
+        }
+        long start = Long.MAX_VALUE;
+        long end = Long.MIN_VALUE;
+        for (SpanObject span : segment.getSpansList()) {
+            if (span.getIsError()) {
+                return true;
+            }
+            start = Math.min(start, span.getStartTime());
+            end = Math.max(end, span.getEndTime());
+        }
+        return end - start >= slowThresholdMillis;
+    }
+
+    private void count(String service, String result) {
+        final String key = service + "/" + result;
+        CounterMetrics counter = counters.getIfPresent(key);
+        if (counter == null) {
+            counter = counters.asMap().computeIfAbsent(key, k -> metricsCreator.createCounter(
+                "trace_admission_count",
+                "The number of segments admitted, prioritized, delayed or shed in trace receiver",
+                new MetricsTag.Keys("service", "result"), new MetricsTag.Values(service, result)
+            ));
+        }
+        counter.inc();
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.trace.provider.admission;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TokenBucket reserves permits at a fixed rate. Unused permits of the last second are kept for bursts. A reservation
+ * could be taken in advance, the caller gets the time it should wait before the permit is really available.
+ */
+class TokenBucket {
+    private final long intervalNanos;
+    private final long burstNanos;
+    /**
+     * The time the next permit becomes available.
+     */
+    private long nextFreeNanos;
+
+    TokenBucket(int permitsPerSecond, long nowNanos) {
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        this.burstNanos = TimeUnit.SECONDS.toNanos(1) - intervalNanos;
+        this.nextFreeNanos = nowNanos;
+    }
+
+    /**
+     * @return the nanos to wait for the reserved permit, 0 means available now, -1 means not reserved because the wait
+     * would be longer than the given max.
+     */
+    synchronized long reserve(long nowNanos, long maxWaitNanos) {
+        final long start = Math.max(nextFreeNanos, nowNanos - burstNanos);
+        final long waitNanos = Math.max(0, start - nowNanos);
+        if (waitNanos > maxWaitNanos) {
+            return -1;
+        }
+        nextFreeNanos = start + intervalNanos;
+        return waitNanos;
+    }
+}
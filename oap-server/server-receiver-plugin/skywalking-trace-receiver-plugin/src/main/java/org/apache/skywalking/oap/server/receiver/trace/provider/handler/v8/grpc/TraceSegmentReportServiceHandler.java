@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.receiver.trace.provider.handler.v8.grpc;
 
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.apm.network.common.v3.Commands;
@@ -28,6 +29,7 @@ import org.apache.skywalking.oap.server.analyzer.module.AnalyzerModule;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.ISegmentParserService;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
 import org.apache.skywalking.oap.server.library.server.grpc.GRPCHandler;
+import org.apache.skywalking.oap.server.receiver.trace.provider.admission.SegmentAdmissionController;
 import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
 import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
 import org.apache.skywalking.oap.server.telemetry.api.HistogramMetrics;
@@ -41,9 +43,12 @@ public class TraceSegmentReportServiceHandler extends TraceSegmentReportServiceG
     private CounterMetrics errorCounter;
 
     private ISegmentParserService segmentParserService;
+    private final SegmentAdmissionController admissionController;
 
-    public TraceSegmentReportServiceHandler(ModuleManager moduleManager) {
+    public TraceSegmentReportServiceHandler(ModuleManager moduleManager,
+                                            SegmentAdmissionController admissionController) {
         this.moduleManager = moduleManager;
+        this.admissionController = admissionController;
         this.segmentParserService = moduleManager.find(AnalyzerModule.NAME)
                                                  .provider()
                                                  .getService(ISegmentParserService.class);
@@ -62,6 +67,17 @@ public class TraceSegmentReportServiceHandler extends TraceSegmentReportServiceG
 
     @Override
     public StreamObserver<SegmentObject> collect(StreamObserver<Commands> responseObserver) {
+        // With admission control, the next segment is requested only after the current one is admitted, so a stream
+        // exceeding the rate is slowed down by gRPC flow control.
+        final ServerCallStreamObserver<Commands> flowControl;
+        if (admissionController.isEnabled() && responseObserver instanceof ServerCallStreamObserver) {
+            flowControl = (ServerCallStreamObserver<Commands>) responseObserver;
+            flowControl.disableAutoInboundFlowControl();
+            flowControl.request(1);
+        } else {
+            flowControl = null;
+        }
+
         return new StreamObserver<SegmentObject>() {
             @Override
             public void onNext(SegmentObject segment) {
@@ -69,14 +85,17 @@ public class TraceSegmentReportServiceHandler extends TraceSegmentReportServiceG
                     log.debug("received segment in streaming");
                 }
 
-                HistogramMetrics.Timer timer = histogram.createTimer();
-                try {
-                    segmentParserService.send(segment);
-                } catch (Exception e) {
-                    errorCounter.inc();
-                    log.error(e.getMessage(), e);
-                } finally {
-                    timer.finish();
+                final long delayNanos = admissionController.admit(segment);
+                if (delayNanos >= 0) {
+                    send(segment);
+                }
+
+                if (flowControl != null) {
+                    if (delayNanos > 0) {
+                        admissionController.schedule(() -> flowControl.request(1), delayNanos);
+                    } else {
+                        flowControl.request(1);
+                    }
                 }
             }
 
@@ -101,18 +120,25 @@ public class TraceSegmentReportServiceHandler extends TraceSegmentReportServiceG
         }
 
         request.getSegmentsList().forEach(segment -> {
-            HistogramMetrics.Timer timer = histogram.createTimer();
-            try {
-                segmentParserService.send(segment);
-            } catch (Exception e) {
-                errorCounter.inc();
-                log.error(e.getMessage(), e);
-            } finally {
-                timer.finish();
+            // The sync report can't be slowed down by flow control, the reserved delay is ignored.
+            if (admissionController.admit(segment) >= 0) {
+                send(segment);
             }
         });
 
         responseObserver.onNext(Commands.newBuilder().build());
         responseObserver.onCompleted();
     }
+
+    private void send(SegmentObject segment) {
+        HistogramMetrics.Timer timer = histogram.createTimer();
+        try {
+            segmentParserService.send(segment);
+        } catch (Exception e) {
+            errorCounter.inc();
+            log.error(e.getMessage(), e);
+        } finally {
+            timer.finish();
+        }
+    }
 }
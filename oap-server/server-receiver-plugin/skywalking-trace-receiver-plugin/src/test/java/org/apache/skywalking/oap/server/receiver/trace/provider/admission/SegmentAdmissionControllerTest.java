@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.trace.provider.admission;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+import org.apache.skywalking.apm.network.language.agent.v3.SpanObject;
+import org.apache.skywalking.oap.server.receiver.trace.provider.TraceServiceModuleConfig;
+import org.apache.skywalking.oap.server.telemetry.none.MetricsCreatorNoop;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SegmentAdmissionControllerTest {
+
+    @Test
+    public void testTokenBucket() {
+        final long second = TimeUnit.SECONDS.toNanos(1);
+        TokenBucket bucket = new TokenBucket(10, 0);
+        Assert.assertEquals(0, bucket.reserve(0, 0));
+        Assert.assertEquals(second / 10, bucket.reserve(0, second));
+        Assert.assertEquals(-1, bucket.reserve(0, second / 10));
+
+        // the unused permits of the last second are available for bursts
+        bucket = new TokenBucket(10, 0);
+        final long now = 10 * second;
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(0, bucket.reserve(now, 0));
+        }
+        Assert.assertEquals(-1, bucket.reserve(now, 0));
+    }
+
+    @Test
+    public void testDisabled() {
+        SegmentAdmissionController controller = new SegmentAdmissionController(
+            new TraceServiceModuleConfig(), new MetricsCreatorNoop());
+        Assert.assertFalse(controller.isEnabled());
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(0, controller.admit(segment("service", false, 10)));
+        }
+    }
+
+    @Test
+    public void testServiceRate() {
+        TraceServiceModuleConfig config = new TraceServiceModuleConfig();
+        config.setSegmentAdmissionServiceRate(1);
+        config.setSegmentAdmissionMaxDelay(0);
+        SegmentAdmissionController controller = new SegmentAdmissionController(config, new MetricsCreatorNoop());
+        Assert.assertTrue(controller.isEnabled());
+
+        Assert.assertEquals(0, controller.admit(segment("A", false, 10)));
+        Assert.assertEquals(-1, controller.admit(segment("A", false, 10)));
+        // other services have their own share
+        Assert.assertEquals(0, controller.admit(segment("B", false, 10)));
+        // error and slow segments are always admitted
+        Assert.assertEquals(0, controller.admit(segment("A", true, 10)));
+        Assert.assertEquals(0, controller.admit(segment("A", false, 5000)));
+    }
+
+    @Test
+    public void testGlobalRate() {
+        TraceServiceModuleConfig config = new TraceServiceModuleConfig();
+        config.setSegmentAdmissionGlobalRate(1);
+        SegmentAdmissionController controller = new SegmentAdmissionController(config, new MetricsCreatorNoop());
+
+        Assert.assertEquals(0, controller.admit(segment("A", false, 10)));
+        // the next permit is reserved in advance within the max delay
+        Assert.assertTrue(controller.admit(segment("B", false, 10)) > 0);
+        Assert.assertEquals(-1, controller.admit(segment("C", false, 10)));
+    }
+
+    private static SegmentObject segment(String service, boolean error, long duration) {
+        return SegmentObject.newBuilder()
+                            .setService(service)
+                            .addSpans(SpanObject.newBuilder()
+                                                .setStartTime(1000)
+                                                .setEndTime(1000 + duration)
+                                                .setIsError(error))
+                            .build();
+    }
+}
@@ -18,8 +18,10 @@
 
 package org.apache.skywalking.oap.server.storage.plugin.elasticsearch;
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -30,15 +32,32 @@ public class IndicesMetadataCache {
     public static IndicesMetadataCache INSTANCE = new IndicesMetadataCache();
 
     private volatile HashSet<String> existingIndices;
+    /**
+     * The time included in the name of the earliest existing index of the table, the key is the table name without the
+     * namespace.
+     */
+    private volatile Map<String, Long> earliestTimeSeries;
 
     private IndicesMetadataCache() {
         existingIndices = new HashSet<>();
+        earliestTimeSeries = new HashMap<>();
     }
 
     public void update(List<String> indices) {
         existingIndices = new HashSet<>(indices);
     }
 
+    public void updateEarliestTimeSeries(Map<String, Long> earliestTimeSeries) {
+        this.earliestTimeSeries = new HashMap<>(earliestTimeSeries);
+    }
+
+    /**
+     * @return the time of the earliest existing index of the table, or 0 if it is unknown yet.
+     */
+    public long getEarliestTimeSeries(String tableName) {
+        return earliestTimeSeries.getOrDefault(tableName, 0L);
+    }
+
     /**
      * @return true if given index name exists currently.
      */
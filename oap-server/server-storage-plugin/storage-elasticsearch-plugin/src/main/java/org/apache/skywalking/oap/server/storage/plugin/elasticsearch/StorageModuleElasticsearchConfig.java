@@ -77,7 +77,44 @@ public class StorageModuleElasticsearchConfig extends ModuleConfig {
      * @since 8.7.0 use INT(flushInterval * 2/3) as ElasticSearch index refresh interval. Default is 10s.
      */
     private int flushInterval = 15;
+    /**
+     * The max number of concurrent bulk requests. The actual number is adjusted in [1, concurrentRequests], according
+     * to the latency and rejections of the bulks.
+     */
     private int concurrentRequests = 2;
+    /**
+     * Flush the bulk when its size reaches this, no matter `bulkActions` reached or not. Unit is MB.
+     *
+     * @since 8.7.0
+     */
+    private int bulkSize = 5;
+    /**
+     * The bulk taking longer than this halves the concurrent bulk requests. Unit is millisecond.
+     *
+     * @since 8.7.0
+     */
+    private int bulkLatencyThreshold = 5000;
+    /**
+     * When the size of the requests, which are buffered, executing or waiting to retry, exceeds this, the persistence
+     * slows down until they drop below it. Unit is MB.
+     *
+     * @since 8.7.0
+     */
+    private int maxPendingBulkSize = 100;
+    /**
+     * The max time of a record, such as a segment or a log, waiting for the pending requests dropping below {@link
+     * #maxPendingBulkSize}. Unit is millisecond.
+     *
+     * @since 8.7.0
+     */
+    private int recordBackpressureWaitTime = 1000;
+    /**
+     * Drop the record, rather than inserting it anyway, when the pending requests still exceed {@link
+     * #maxPendingBulkSize} after {@link #recordBackpressureWaitTime}.
+     *
+     * @since 8.7.0
+     */
+    private boolean dropRecordsOnBackpressure = false;
     /**
      * @since 7.0.0 This could be managed inside {@link #secretsManagementFile}
      */
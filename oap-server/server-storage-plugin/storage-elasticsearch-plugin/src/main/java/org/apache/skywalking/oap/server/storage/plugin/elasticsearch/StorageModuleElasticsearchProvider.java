@@ -167,10 +167,13 @@ public class StorageModuleElasticsearchProvider extends ModuleProvider {
         );
         this.registerServiceImplementation(
             IBatchDAO.class,
-            new BatchProcessEsDAO(elasticSearchClient, config.getBulkActions(), config
-                .getFlushInterval(), config.getConcurrentRequests())
+            new BatchProcessEsDAO(
+                elasticSearchClient, config.getBulkActions(), config.getBulkSize(), config.getFlushInterval(),
+                config.getConcurrentRequests(), config.getBulkLatencyThreshold(), config.getMaxPendingBulkSize(),
+                config.getRecordBackpressureWaitTime(), config.isDropRecordsOnBackpressure()
+            )
         );
-        this.registerServiceImplementation(StorageDAO.class, new StorageEsDAO(elasticSearchClient));
+        this.registerServiceImplementation(StorageDAO.class, new StorageEsDAO(elasticSearchClient, getManager()));
         this.registerServiceImplementation(
             IHistoryDeleteDAO.class, new HistoryDeleteEsDAO(elasticSearchClient));
         this.registerServiceImplementation(
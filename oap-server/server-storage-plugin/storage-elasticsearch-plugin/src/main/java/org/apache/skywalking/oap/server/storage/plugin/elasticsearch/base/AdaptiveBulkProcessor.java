@@ -0,0 +1,367 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
+import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.client.ResponseException;
+import org.elasticsearch.rest.RestStatus;
+
+/**
+ * AdaptiveBulkProcessor collects the index and update requests into bulks, and executes them asynchronously, like the
+ * BulkProcessor of the Elasticsearch client, with the following differences.
+ *
+ * 1. A bulk is executed when it reaches the number of actions or the size in bytes, or the flush interval elapses.
+ *
+ * 2. The number of the concurrent bulks is adjusted in [1, maxConcurrentRequests]. It is halved when a bulk is rejected
+ * or takes longer than the latency threshold, and increased by one when a bulk completes in time. The bulks beyond the
+ * concurrency wait in a queue, and are started when the executing bulks complete, so no caller is blocked.
+ *
+ * 3. Only the items rejected by Elasticsearch(429 Too Many Requests) are retried, with exponential backoff.
+ *
+ * 4. The bytes of the requests, which are buffered, executing or waiting to retry, are counted. When they exceed the
+ * limit, {@link #awaitCapacity(long)} blocks the callers until the pending bytes drop below it.
+ */
+@Slf4j
+public class AdaptiveBulkProcessor {
+    private static final int MAX_RETRIES = 3;
+    private static final long INITIAL_BACKOFF_MILLIS = 100;
+
+    private final ElasticSearchClient client;
+    private final int bulkActions;
+    private final long bulkSizeInBytes;
+    private final int maxConcurrentRequests;
+    private final long latencyThresholdNanos;
+    private final long maxPendingBytes;
+    private final ScheduledExecutorService scheduler;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition capacityReleased = lock.newCondition();
+    private BulkRequest bulkRequest = new BulkRequest();
+    /**
+     * The bulks waiting for the concurrent requests to drop, in the order of execution.
+     */
+    private final Deque<WaitingBulk> waitingBulks = new ArrayDeque<>();
+    private int concurrentRequests;
+    private int executingRequests;
+    private volatile long pendingBytes;
+
+    /**
+     * @param flushInterval    period of flush in seconds, no matter the bulk is full or not.
+     * @param latencyThreshold the bulk slower than this, in milliseconds, reduces the concurrent requests.
+     */
+    public AdaptiveBulkProcessor(ElasticSearchClient client,
+                                 int bulkActions,
+                                 long bulkSizeInBytes,
+                                 int flushInterval,
+                                 int maxConcurrentRequests,
+                                 long latencyThreshold,
+                                 long maxPendingBytes) {
+        this.client = client;
+        this.bulkActions = bulkActions;
+        this.bulkSizeInBytes = bulkSizeInBytes;
+        this.maxConcurrentRequests = Math.max(1, maxConcurrentRequests);
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThreshold);
+        this.maxPendingBytes = maxPendingBytes;
+        this.concurrentRequests = this.maxConcurrentRequests;
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ElasticsearchBulkFlusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(
+            new RunnableWithExceptionProtection(
+                this::flush, t -> log.error("Flush the Elasticsearch bulk failure.", t)),
+            flushInterval, flushInterval, TimeUnit.SECONDS
+        );
+    }
+
+    public void add(DocWriteRequest<?> request) {
+        BulkRequest fullBulk = null;
+        lock.lock();
+        try {
+            long sizeBefore = bulkRequest.estimatedSizeInBytes();
+            bulkRequest.add(request);
+            pendingBytes += bulkRequest.estimatedSizeInBytes() - sizeBefore;
+            if (bulkRequest.numberOfActions() >= bulkActions
+                || bulkRequest.estimatedSizeInBytes() >= bulkSizeInBytes) {
+                fullBulk = bulkRequest;
+                bulkRequest = new BulkRequest();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (fullBulk != null) {
+            execute(fullBulk, 0);
+        }
+    }
+
+    /**
+     * Execute the buffered requests, no matter the bulk is full or not.
+     */
+    public void flush() {
+        BulkRequest bulk;
+        lock.lock();
+        try {
+            if (bulkRequest.numberOfActions() == 0) {
+                return;
+            }
+            bulk = bulkRequest;
+            bulkRequest = new BulkRequest();
+        } finally {
+            lock.unlock();
+        }
+        execute(bulk, 0);
+    }
+
+    /**
+     * @return false if the pending requests still exceed the limit after the timeout.
+     */
+    public boolean awaitCapacity(long timeoutMillis) throws InterruptedException {
+        if (pendingBytes <= maxPendingBytes) {
+            return true;
+        }
+        long nanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        lock.lock();
+        try {
+            while (pendingBytes > maxPendingBytes) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = capacityReleased.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Execute the bulk if the concurrent requests allow, otherwise, queue it until an executing bulk completes.
+     */
+    private void execute(BulkRequest bulk, int retries) {
+        lock.lock();
+        try {
+            if (executingRequests >= concurrentRequests) {
+                waitingBulks.add(new WaitingBulk(bulk, retries));
+                return;
+            }
+            executingRequests++;
+        } finally {
+            lock.unlock();
+        }
+        doExecute(bulk, retries);
+    }
+
+    private void doExecute(BulkRequest bulk, int retries) {
+        if (log.isDebugEnabled()) {
+            log.debug("Executing bulk with {} requests, retries: {}", bulk.numberOfActions(), retries);
+        }
+        final long startNanos = System.nanoTime();
+        try {
+            client.bulkAsync(bulk, new ActionListener<BulkResponse>() {
+                @Override
+                public void onResponse(final BulkResponse response) {
+                    afterBulk(bulk, retries, startNanos, response);
+                }
+
+                @Override
+                public void onFailure(final Exception e) {
+                    afterBulk(bulk, retries, startNanos, e);
+                }
+            });
+        } catch (Throwable t) {
+            afterBulk(bulk, retries, startNanos, t);
+        }
+    }
+
+    private void afterBulk(BulkRequest bulk, int retries, long startNanos, BulkResponse response) {
+        List<DocWriteRequest<?>> rejected = new ArrayList<>();
+        int failures = 0;
+        if (response.hasFailures()) {
+            for (final BulkItemResponse item : response.getItems()) {
+                if (!item.isFailed()) {
+                    continue;
+                }
+                if (item.getFailure().getStatus() == RestStatus.TOO_MANY_REQUESTS) {
+                    rejected.add(bulk.requests().get(item.getItemId()));
+                } else {
+                    failures++;
+                }
+            }
+        }
+        if (failures > 0) {
+            log.warn("Bulk executed with {} failures:[{}]", failures, response.buildFailureMessage());
+        } else if (log.isDebugEnabled()) {
+            log.debug(
+                "Bulk execution completed in {} milliseconds, size: {}, rejected: {}",
+                response.getTook().getMillis(), bulk.numberOfActions(), rejected.size()
+            );
+        }
+        adjustConcurrency(startNanos, !rejected.isEmpty());
+
+        if (rejected.isEmpty()) {
+            release(bulk);
+            return;
+        }
+        BulkRequest retryBulk = new BulkRequest();
+        rejected.forEach(retryBulk::add);
+        reserve(retryBulk);
+        release(bulk);
+        retry(retryBulk, retries);
+    }
+
+    private void afterBulk(BulkRequest bulk, int retries, long startNanos, Throwable t) {
+        boolean rejected = isRejected(t);
+        adjustConcurrency(startNanos, rejected);
+        if (rejected) {
+            retry(bulk, retries);
+        } else {
+            log.error("Failed to execute bulk", t);
+            release(bulk);
+        }
+    }
+
+    /**
+     * Execute the rejected bulk again after the backoff. The bytes of the bulk keep being counted as pending until it
+     * completes.
+     */
+    private void retry(BulkRequest bulk, int retries) {
+        if (retries >= MAX_RETRIES) {
+            log.error("{} requests are still rejected after {} retries, drop them.", bulk.numberOfActions(), retries);
+            release(bulk);
+            return;
+        }
+        long backoff = INITIAL_BACKOFF_MILLIS << retries;
+        scheduler.schedule(() -> execute(bulk, retries + 1), backoff, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Halve the concurrent requests when the bulk is rejected or slow, otherwise, increase it by one. Then start the
+     * waiting bulks allowed by the new concurrency, on the scheduler rather than the callback thread of the client.
+     */
+    private void adjustConcurrency(long startNanos, boolean rejected) {
+        boolean slow = System.nanoTime() - startNanos > latencyThresholdNanos;
+        List<WaitingBulk> startable = new ArrayList<>();
+        lock.lock();
+        try {
+            executingRequests--;
+            int previous = concurrentRequests;
+            if (rejected || slow) {
+                concurrentRequests = Math.max(1, concurrentRequests / 2);
+            } else if (concurrentRequests < maxConcurrentRequests) {
+                concurrentRequests++;
+            }
+            if (previous != concurrentRequests) {
+                log.info("Concurrent bulk requests are adjusted from {} to {}, rejected: {}, slow: {}",
+                         previous, concurrentRequests, rejected, slow
+                );
+            }
+            while (executingRequests < concurrentRequests && !waitingBulks.isEmpty()) {
+                executingRequests++;
+                startable.add(waitingBulks.poll());
+            }
+        } finally {
+            lock.unlock();
+        }
+        startable.forEach(waiting -> scheduler.execute(() -> doExecute(waiting.bulk, waiting.retries)));
+    }
+
+    private void reserve(BulkRequest bulk) {
+        lock.lock();
+        try {
+            pendingBytes += bulk.estimatedSizeInBytes();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(BulkRequest bulk) {
+        lock.lock();
+        try {
+            pendingBytes -= bulk.estimatedSizeInBytes();
+            if (pendingBytes <= maxPendingBytes) {
+                capacityReleased.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static boolean isRejected(Throwable t) {
+        if (t instanceof ElasticsearchException) {
+            return ((ElasticsearchException) t).status() == RestStatus.TOO_MANY_REQUESTS;
+        }
+        if (t instanceof ResponseException) {
+            return ((ResponseException) t).getResponse().getStatusLine().getStatusCode()
+                == RestStatus.TOO_MANY_REQUESTS.getStatus();
+        }
+        return false;
+    }
+
+    @VisibleForTesting
+    int getWaitingBulks() {
+        lock.lock();
+        try {
+            return waitingBulks.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @VisibleForTesting
+    int getConcurrentRequests() {
+        lock.lock();
+        try {
+            return concurrentRequests;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @VisibleForTesting
+    long getPendingBytes() {
+        return pendingBytes;
+    }
+
+    @RequiredArgsConstructor
+    private static class WaitingBulk {
+        private final BulkRequest bulk;
+        private final int retries;
+    }
+}
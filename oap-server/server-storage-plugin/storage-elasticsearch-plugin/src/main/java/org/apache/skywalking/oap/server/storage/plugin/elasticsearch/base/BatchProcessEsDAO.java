@@ -25,50 +25,83 @@ import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSear
 import org.apache.skywalking.oap.server.library.client.request.InsertRequest;
 import org.apache.skywalking.oap.server.library.client.request.PrepareRequest;
 import org.apache.skywalking.oap.server.library.util.CollectionUtils;
-import org.elasticsearch.action.bulk.BulkProcessor;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.common.unit.ByteSizeUnit;
 
 @Slf4j
 public class BatchProcessEsDAO extends EsDAO implements IBatchDAO {
-    private BulkProcessor bulkProcessor;
+    private volatile AdaptiveBulkProcessor bulkProcessor;
     private final int bulkActions;
+    private final long bulkSizeInBytes;
     private final int flushInterval;
     private final int concurrentRequests;
+    private final long bulkLatencyThreshold;
+    private final long maxPendingBytes;
+    private final long recordBackpressureWaitTime;
+    private final boolean dropRecordsOnBackpressure;
 
     public BatchProcessEsDAO(ElasticSearchClient client,
                              int bulkActions,
+                             int bulkSize,
                              int flushInterval,
-                             int concurrentRequests) {
+                             int concurrentRequests,
+                             int bulkLatencyThreshold,
+                             int maxPendingBulkSize,
+                             int recordBackpressureWaitTime,
+                             boolean dropRecordsOnBackpressure) {
         super(client);
         this.bulkActions = bulkActions;
+        this.bulkSizeInBytes = ByteSizeUnit.MB.toBytes(bulkSize);
         this.flushInterval = flushInterval;
         this.concurrentRequests = concurrentRequests;
+        this.bulkLatencyThreshold = bulkLatencyThreshold;
+        this.maxPendingBytes = ByteSizeUnit.MB.toBytes(maxPendingBulkSize);
+        this.recordBackpressureWaitTime = recordBackpressureWaitTime;
+        this.dropRecordsOnBackpressure = dropRecordsOnBackpressure;
     }
 
     @Override
     public void insert(InsertRequest insertRequest) {
-        if (bulkProcessor == null) {
-            this.bulkProcessor = getClient().createBulkProcessor(bulkActions, flushInterval, concurrentRequests);
-        }
-
-        this.bulkProcessor.add((IndexRequest) insertRequest);
+        getBulkProcessor().add((IndexRequest) insertRequest);
     }
 
     @Override
     public void flush(List<PrepareRequest> prepareRequests) {
-        if (bulkProcessor == null) {
-            this.bulkProcessor = getClient().createBulkProcessor(bulkActions, flushInterval, concurrentRequests);
-        }
+        AdaptiveBulkProcessor bulkProcessor = getBulkProcessor();
 
         if (CollectionUtils.isNotEmpty(prepareRequests)) {
             for (PrepareRequest prepareRequest : prepareRequests) {
                 if (prepareRequest instanceof InsertRequest) {
-                    this.bulkProcessor.add((IndexRequest) prepareRequest);
+                    bulkProcessor.add((IndexRequest) prepareRequest);
                 } else {
-                    this.bulkProcessor.add((UpdateRequest) prepareRequest);
+                    bulkProcessor.add((UpdateRequest) prepareRequest);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean awaitCapacity(long timeoutMillis) throws InterruptedException {
+        return bulkProcessor == null || bulkProcessor.awaitCapacity(timeoutMillis);
+    }
+
+    @Override
+    public boolean awaitRecordCapacity() throws InterruptedException {
+        return awaitCapacity(recordBackpressureWaitTime) || !dropRecordsOnBackpressure;
+    }
+
+    private AdaptiveBulkProcessor getBulkProcessor() {
+        if (bulkProcessor == null) {
+            synchronized (this) {
+                if (bulkProcessor == null) {
+                    bulkProcessor = new AdaptiveBulkProcessor(
+                        getClient(), bulkActions, bulkSizeInBytes, flushInterval, concurrentRequests,
+                        bulkLatencyThreshold, maxPendingBytes
+                    );
                 }
             }
         }
+        return bulkProcessor;
     }
 }
@@ -22,7 +22,11 @@ import java.io.IOException;
 import java.util.Map;
 
 import org.apache.skywalking.oap.server.core.storage.AbstractDAO;
+import org.apache.skywalking.oap.server.core.storage.StorageData;
+import org.apache.skywalking.oap.server.core.storage.StorageHashMapBuilder;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
 import org.apache.skywalking.oap.server.core.storage.type.StorageDataComplexObject;
+import org.apache.skywalking.oap.server.core.storage.type.StreamingStorageBuilder;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
 import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.common.xcontent.XContentFactory;
@@ -48,4 +52,23 @@ public abstract class EsDAO extends AbstractDAO<ElasticSearchClient> {
 
         return builder;
     }
+
+    /**
+     * Build the document source of the entity. The columns are written to the JSON generator directly if the builder
+     * supports {@link StreamingStorageBuilder}, otherwise, through the map built by the builder.
+     */
+    protected <T extends StorageData> XContentBuilder entity2builder(Model model,
+                                                                   StorageHashMapBuilder<T> storageBuilder,
+                                                                   T entity) throws IOException {
+        if (!(storageBuilder instanceof StreamingStorageBuilder)) {
+            return map2builder(
+                IndexController.INSTANCE.appendMetricTableColumn(model, storageBuilder.entity2Storage(entity)));
+        }
+        XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
+        ((StreamingStorageBuilder<T>) storageBuilder).entity2Storage(entity, new XContentColumnWriter(builder));
+        IndexController.INSTANCE.appendMetricTableColumn(model, builder);
+        builder.endObject();
+
+        return builder;
+    }
 }
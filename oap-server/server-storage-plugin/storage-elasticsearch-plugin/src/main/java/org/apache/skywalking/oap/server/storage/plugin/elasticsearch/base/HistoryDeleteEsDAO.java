@@ -20,7 +20,9 @@ package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.server.core.analysis.DownSampling;
 import org.apache.skywalking.oap.server.core.storage.IHistoryDeleteDAO;
@@ -78,6 +80,7 @@ public class HistoryDeleteEsDAO extends EsDAO implements IHistoryDeleteDAO {
     @Override
     public void inspect(List<Model> models, String timeBucketColumnName) {
         List<String> indices = new ArrayList<>();
+        Map<String, Long> earliestTimeSeries = new HashMap<>();
         models.forEach(model -> {
             if (!model.isTimeSeries()) {
                 return;
@@ -104,7 +107,12 @@ public class HistoryDeleteEsDAO extends EsDAO implements IHistoryDeleteDAO {
             }
 
             indices.addAll(indexes);
+            indexes.stream()
+                   .mapToLong(TimeSeriesUtils::isolateTimeFromIndexName)
+                   .min()
+                   .ifPresent(earliest -> earliestTimeSeries.put(tableName, earliest));
         });
         IndicesMetadataCache.INSTANCE.update(indices);
+        IndicesMetadataCache.INSTANCE.updateEarliestTimeSeries(earliestTimeSeries);
     }
 }
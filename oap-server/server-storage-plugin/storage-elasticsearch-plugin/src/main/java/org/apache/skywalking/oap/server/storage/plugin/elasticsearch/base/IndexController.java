@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
 
+import java.io.IOException;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -25,6 +26,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.apm.util.StringUtil;
 import org.apache.skywalking.oap.server.core.Const;
 import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.elasticsearch.common.xcontent.XContentBuilder;
 
 /**
  * The metrics data, that generated by OAL or MAL, would be partitioned to storage by the functions of the OAL or MAL.
@@ -76,6 +78,15 @@ public enum IndexController {
         return columns;
     }
 
+    /**
+     * The same as {@link #appendMetricTableColumn(Model, Map)}, but writes the column to the document source directly.
+     */
+    public void appendMetricTableColumn(Model model, XContentBuilder builder) throws IOException {
+        if (isMetricModel(model)) {
+            builder.field(LogicIndicesRegister.METRIC_TABLE_NAME, model.getName());
+        }
+    }
+
     public static class LogicIndicesRegister {
 
         /**
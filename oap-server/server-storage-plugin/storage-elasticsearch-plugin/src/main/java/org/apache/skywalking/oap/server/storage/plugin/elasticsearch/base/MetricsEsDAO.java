@@ -21,6 +21,7 @@ package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -35,67 +36,97 @@ import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSear
 import org.apache.skywalking.oap.server.library.client.request.InsertRequest;
 import org.apache.skywalking.oap.server.library.client.request.UpdateRequest;
 import org.apache.skywalking.oap.server.storage.plugin.elasticsearch.IndicesMetadataCache;
+import org.apache.skywalking.oap.server.telemetry.api.HistogramMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
+import org.elasticsearch.action.get.MultiGetItemResponse;
+import org.elasticsearch.action.get.MultiGetResponse;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.joda.time.DateTime;
 
-import static java.util.stream.Collectors.groupingBy;
-
 @Slf4j
 public class MetricsEsDAO extends EsDAO implements IMetricsDAO {
     protected final StorageHashMapBuilder<Metrics> storageBuilder;
 
+    private final HistogramMetrics multiGetLatency;
+    private final HistogramMetrics searchIdsLatency;
+
     protected MetricsEsDAO(ElasticSearchClient client,
-                           StorageHashMapBuilder<Metrics> storageBuilder) {
+                           StorageHashMapBuilder<Metrics> storageBuilder,
+                           MetricsCreator metricsCreator) {
         super(client);
         this.storageBuilder = storageBuilder;
+        this.multiGetLatency = metricsCreator.createHistogramMetric(
+            "elasticsearch_metrics_read_latency", "The latency of reading the metrics back from Elasticsearch",
+            new MetricsTag.Keys("api"), new MetricsTag.Values("mget")
+        );
+        this.searchIdsLatency = metricsCreator.createHistogramMetric(
+            "elasticsearch_metrics_read_latency", "The latency of reading the metrics back from Elasticsearch",
+            new MetricsTag.Keys("api"), new MetricsTag.Values("search")
+        );
     }
 
     @Override
     public List<Metrics> multiGet(Model model, List<Metrics> metrics) throws IOException {
-        Map<String, List<Metrics>> groupIndices
-            = metrics.stream()
-                     .collect(
-                         groupingBy(metric -> {
-                             if (model.isTimeRelativeID()) {
-                                 // Try to use with timestamp index name(write index),
-                                 // if latest cache shows this name doesn't exist,
-                                 // then fail back to template alias name.
-                                 // This should only happen in very rare case, such as this is the time to create new index
-                                 // as a new day comes, and the index cache is  pseudo real time.
-                                 // This case doesn't affect the result, just has lower performance due to using the alias name.
-                                 // Another case is that a removed index showing existing also due to latency,
-                                 // which could cause multiGet fails
-                                 // but this should not happen in the real runtime, TTL timer only removed the oldest indices,
-                                 // which should not have an update/insert.
-                                 String indexName = TimeSeriesUtils.writeIndexName(model, metric.getTimeBucket());
-                                 // Format the name to follow the global physical index naming policy.
-                                 if (!IndicesMetadataCache.INSTANCE.isExisting(
-                                     getClient().formatIndexName(indexName))) {
-                                     indexName = IndexController.INSTANCE.getTableName(model);
-                                 }
-                                 return indexName;
-                             } else {
-                                 // Metadata level metrics, always use alias name, due to the physical index of the records
-                                 // can't be located through timestamp.
-                                 return IndexController.INSTANCE.getTableName(model);
-                             }
-                         })
-                     );
+        // Metrics, of which the physical index is located through the timestamp, are read through the real-time
+        // multi-get API. The others are read through the ids query on the alias name.
+        Map<String, List<Metrics>> physicalIndices = new HashMap<>();
+        Map<String, List<Metrics>> aliasIndices = new HashMap<>();
+        for (final Metrics metric : metrics) {
+            if (model.isTimeRelativeID()) {
+                // Try to use with timestamp index name(write index),
+                // if latest cache shows this name doesn't exist,
+                // then fail back to template alias name.
+                // This should only happen in very rare case, such as this is the time to create new index
+                // as a new day comes, and the index cache is  pseudo real time.
+                // This case doesn't affect the result, just has lower performance due to using the alias name.
+                // Another case is that a removed index showing existing also due to latency,
+                // which makes the items of the multi-get fail, and these items are read through the alias name again.
+                String indexName = TimeSeriesUtils.writeIndexName(model, metric.getTimeBucket());
+                // Format the name to follow the global physical index naming policy.
+                if (IndicesMetadataCache.INSTANCE.isExisting(getClient().formatIndexName(indexName))) {
+                    physicalIndices.computeIfAbsent(indexName, key -> new ArrayList<>()).add(metric);
+                    continue;
+                }
+            }
+            // Metadata level metrics, always use alias name, due to the physical index of the records
+            // can't be located through timestamp.
+            aliasIndices.computeIfAbsent(IndexController.INSTANCE.getTableName(model), key -> new ArrayList<>())
+                        .add(metric);
+        }
 
-        // The groupIndices mostly include one or two group,
+        // The groups mostly include one or two indices,
         // the current day and the T-1 day(if at the edge between days)
         List<Metrics> result = new ArrayList<>(metrics.size());
-        groupIndices.forEach((tableName, metricList) -> {
-            String[] ids = metricList.stream()
-                                     .map(item -> IndexController.INSTANCE.generateDocId(model, item.id()))
-                                     .toArray(String[]::new);
+        String[] includes = sourceIncludes(model);
+        physicalIndices.forEach((indexName, metricList) -> {
+            String[] ids = docIds(model, metricList);
             try {
-                SearchResponse response = getClient().ids(tableName, ids);
-                for (int i = 0; i < response.getHits().getHits().length; i++) {
-                    Metrics source = storageBuilder.storage2Entity(response.getHits().getAt(i).getSourceAsMap());
-                    result.add(source);
+                MultiGetResponse response;
+                try (HistogramMetrics.Timer timer = multiGetLatency.createTimer()) {
+                    response = getClient().multiGet(indexName, ids, includes);
+                }
+                List<String> failedIds = new ArrayList<>();
+                for (final MultiGetItemResponse item : response.getResponses()) {
+                    if (item.isFailed()) {
+                        failedIds.add(item.getId());
+                    } else if (item.getResponse().isExists()) {
+                        result.add(storageBuilder.storage2Entity(item.getResponse().getSourceAsMap()));
+                    }
+                }
+                if (!failedIds.isEmpty()) {
+                    log.debug("multiGet {} ids from {} fail, read them from the alias.", failedIds.size(), indexName);
+                    searchIds(IndexController.INSTANCE.getTableName(model), failedIds.toArray(new String[0]), result);
                 }
+            } catch (IOException e) {
+                log.error("multiGet id=" + Arrays.toString(ids) + " from " + indexName + " fails.", e);
+            }
+        });
+        aliasIndices.forEach((tableName, metricList) -> {
+            String[] ids = docIds(model, metricList);
+            try {
+                searchIds(tableName, ids, result);
             } catch (IOException e) {
                 log.error("multiGet id=" + Arrays.toString(ids) + " from " + tableName + " fails.", e);
             }
@@ -104,10 +135,36 @@ public class MetricsEsDAO extends EsDAO implements IMetricsDAO {
         return result;
     }
 
+    private void searchIds(String tableName, String[] ids, List<Metrics> result) throws IOException {
+        SearchResponse response;
+        try (HistogramMetrics.Timer timer = searchIdsLatency.createTimer()) {
+            response = getClient().ids(tableName, ids);
+        }
+        for (int i = 0; i < response.getHits().getHits().length; i++) {
+            Metrics source = storageBuilder.storage2Entity(response.getHits().getAt(i).getSourceAsMap());
+            result.add(source);
+        }
+    }
+
+    private static String[] docIds(Model model, List<Metrics> metrics) {
+        return metrics.stream()
+                      .map(item -> IndexController.INSTANCE.generateDocId(model, item.id()))
+                      .toArray(String[]::new);
+    }
+
+    /**
+     * @return the columns of the model, which are all that {@link StorageHashMapBuilder#storage2Entity(Map)} reads.
+     */
+    private static String[] sourceIncludes(Model model) {
+        return model.getColumns()
+                    .stream()
+                    .map(column -> column.getColumnName().getStorageName())
+                    .toArray(String[]::new);
+    }
+
     @Override
     public InsertRequest prepareBatchInsert(Model model, Metrics metrics) throws IOException {
-        XContentBuilder builder = map2builder(
-            IndexController.INSTANCE.appendMetricTableColumn(model, storageBuilder.entity2Storage(metrics)));
+        XContentBuilder builder = entity2builder(model, storageBuilder, metrics);
         String modelName = TimeSeriesUtils.writeIndexName(model, metrics.getTimeBucket());
         String id = IndexController.INSTANCE.generateDocId(model, metrics.id());
         return getClient().prepareInsert(modelName, id, builder);
@@ -115,8 +172,7 @@ public class MetricsEsDAO extends EsDAO implements IMetricsDAO {
 
     @Override
     public UpdateRequest prepareBatchUpdate(Model model, Metrics metrics) throws IOException {
-        XContentBuilder builder = map2builder(
-            IndexController.INSTANCE.appendMetricTableColumn(model, storageBuilder.entity2Storage(metrics)));
+        XContentBuilder builder = entity2builder(model, storageBuilder, metrics);
         String modelName = TimeSeriesUtils.writeIndexName(model, metrics.getTimeBucket());
         String id = IndexController.INSTANCE.generateDocId(model, metrics.id());
         return getClient().prepareUpdate(modelName, id, builder);
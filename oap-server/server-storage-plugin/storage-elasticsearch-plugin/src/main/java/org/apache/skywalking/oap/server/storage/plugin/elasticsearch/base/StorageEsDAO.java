@@ -30,16 +30,25 @@ import org.apache.skywalking.oap.server.core.storage.StorageDAO;
 import org.apache.skywalking.oap.server.core.storage.StorageHashMapBuilder;
 import org.apache.skywalking.oap.server.core.storage.type.StorageBuilder;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
 
 public class StorageEsDAO extends EsDAO implements StorageDAO {
 
-    public StorageEsDAO(ElasticSearchClient client) {
+    private final ModuleManager manager;
+
+    public StorageEsDAO(ElasticSearchClient client, ModuleManager manager) {
         super(client);
+        this.manager = manager;
     }
 
     @Override
     public IMetricsDAO newMetricsDao(StorageBuilder storageBuilder) {
-        return new MetricsEsDAO(getClient(), (StorageHashMapBuilder<Metrics>) storageBuilder);
+        MetricsCreator metricsCreator = manager.find(TelemetryModule.NAME)
+                                               .provider()
+                                               .getService(MetricsCreator.class);
+        return new MetricsEsDAO(getClient(), (StorageHashMapBuilder<Metrics>) storageBuilder, metricsCreator);
     }
 
     @Override
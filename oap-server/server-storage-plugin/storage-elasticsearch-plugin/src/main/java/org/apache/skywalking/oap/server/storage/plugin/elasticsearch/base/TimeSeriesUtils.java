@@ -19,12 +19,14 @@ package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
 
 import java.util.ArrayList;
 import java.util.List;
-import lombok.Setter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.skywalking.oap.server.core.Const;
 import org.apache.skywalking.oap.server.core.UnexpectedException;
 import org.apache.skywalking.oap.server.core.analysis.DownSampling;
 import org.apache.skywalking.oap.server.core.analysis.TimeBucket;
 import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.apache.skywalking.oap.server.storage.plugin.elasticsearch.IndicesMetadataCache;
 import org.joda.time.DateTime;
 import org.joda.time.Days;
 import org.joda.time.format.DateTimeFormat;
@@ -40,10 +42,24 @@ public class TimeSeriesUtils {
      * #DAY_STEP} is consistently no matter whenever the OAP starts up.
      */
     private static final DateTime DAY_ONE = TIME_BUCKET_FORMATTER.parseDateTime("20000101");
-    @Setter
     private static int DAY_STEP = 1;
-    @Setter
     private static int SUPER_DATASET_DAY_STEP = 1;
+    /**
+     * The lookup tables from the day to the re-formatted day of the index name, for {@link #DAY_STEP} and {@link
+     * #SUPER_DATASET_DAY_STEP}. A day is only calculated once, rather than parsed in every write.
+     */
+    private static final Map<Long, Long> DAY_STEP_LOOKUP = new ConcurrentHashMap<>();
+    private static final Map<Long, Long> SUPER_DATASET_DAY_STEP_LOOKUP = new ConcurrentHashMap<>();
+
+    public static void setDAY_STEP(int dayStep) {
+        DAY_STEP = dayStep;
+        DAY_STEP_LOOKUP.clear();
+    }
+
+    public static void setSUPER_DATASET_DAY_STEP(int superDatasetDayStep) {
+        SUPER_DATASET_DAY_STEP = superDatasetDayStep;
+        SUPER_DATASET_DAY_STEP_LOOKUP.clear();
+    }
 
     /**
      * @return formatted latest index name, based on current timestamp.
@@ -53,13 +69,13 @@ public class TimeSeriesUtils {
         String tableName = IndexController.INSTANCE.getTableName(model);
         if (model.isRecord() && model.isSuperDataset()) {
             timeBucket = TimeBucket.getTimeBucket(System.currentTimeMillis(), model.getDownsampling());
-            return tableName + Const.LINE + compressTimeBucket(timeBucket / 1000000, SUPER_DATASET_DAY_STEP);
+            return tableName + Const.LINE + compressSuperDatasetDay(timeBucket / 1000000);
         } else if (model.isRecord()) {
             timeBucket = TimeBucket.getTimeBucket(System.currentTimeMillis(), model.getDownsampling());
-            return tableName + Const.LINE + compressTimeBucket(timeBucket / 1000000, DAY_STEP);
+            return tableName + Const.LINE + compressDay(timeBucket / 1000000);
         } else {
             timeBucket = TimeBucket.getTimeBucket(System.currentTimeMillis(), DownSampling.Minute);
-            return tableName + Const.LINE + compressTimeBucket(timeBucket / 10000, DAY_STEP);
+            return tableName + Const.LINE + compressDay(timeBucket / 10000);
         }
     }
 
@@ -70,8 +86,15 @@ public class TimeSeriesUtils {
         if (startSecondTB == 0 || endSecondTB == 0) {
             return new String[] {indexName};
         }
-        DateTime startDateTime = TIME_BUCKET_FORMATTER.parseDateTime(startSecondTB / 1000000 + "");
-        DateTime endDateTime = TIME_BUCKET_FORMATTER.parseDateTime(endSecondTB / 1000000 + "");
+        long startDay = startSecondTB / 1000000;
+        long endDay = endSecondTB / 1000000;
+        // The indices before the earliest existing one have been deleted by the TTL, don't search them.
+        long earliest = IndicesMetadataCache.INSTANCE.getEarliestTimeSeries(indexName);
+        if (startDay < earliest && earliest <= endDay) {
+            startDay = earliest;
+        }
+        DateTime startDateTime = TIME_BUCKET_FORMATTER.parseDateTime(startDay + "");
+        DateTime endDateTime = TIME_BUCKET_FORMATTER.parseDateTime(endDay + "");
         List<DateTime> timeRanges = new ArrayList<>(16);
         for (int i = 0; i <= Days.daysBetween(startDateTime, endDateTime).getDays(); i++) {
             timeRanges.add(startDateTime.plusDays(i));
@@ -92,27 +115,42 @@ public class TimeSeriesUtils {
     static String writeIndexName(Model model, long timeBucket) {
         String tableName = IndexController.INSTANCE.getTableName(model);
         if (model.isRecord() && model.isSuperDataset()) {
-            return tableName + Const.LINE + compressTimeBucket(timeBucket / 1000000, SUPER_DATASET_DAY_STEP);
+            return tableName + Const.LINE + compressSuperDatasetDay(timeBucket / 1000000);
         } else if (model.isRecord()) {
-            return tableName + Const.LINE + compressTimeBucket(timeBucket / 1000000, DAY_STEP);
+            return tableName + Const.LINE + compressDay(timeBucket / 1000000);
         } else {
             switch (model.getDownsampling()) {
                 case None:
                     return tableName;
                 case Hour:
-                    return tableName + Const.LINE + compressTimeBucket(timeBucket / 100, DAY_STEP);
+                    return tableName + Const.LINE + compressDay(timeBucket / 100);
                 case Minute:
-                    return tableName + Const.LINE + compressTimeBucket(timeBucket / 10000, DAY_STEP);
+                    return tableName + Const.LINE + compressDay(timeBucket / 10000);
                 case Day:
-                    return tableName + Const.LINE + compressTimeBucket(timeBucket, DAY_STEP);
+                    return tableName + Const.LINE + compressDay(timeBucket);
                 case Second:
-                    return tableName + Const.LINE + compressTimeBucket(timeBucket / 1000000, DAY_STEP);
+                    return tableName + Const.LINE + compressDay(timeBucket / 1000000);
                 default:
                     throw new UnexpectedException("Unexpected down sampling value, " + model.getDownsampling());
             }
         }
     }
 
+    private static long compressDay(long day) {
+        if (DAY_STEP > 1) {
+            return DAY_STEP_LOOKUP.computeIfAbsent(day, key -> compressTimeBucket(key, DAY_STEP));
+        }
+        return day;
+    }
+
+    private static long compressSuperDatasetDay(long day) {
+        if (SUPER_DATASET_DAY_STEP > 1) {
+            return SUPER_DATASET_DAY_STEP_LOOKUP.computeIfAbsent(
+                day, key -> compressTimeBucket(key, SUPER_DATASET_DAY_STEP));
+        }
+        return day;
+    }
+
     /**
      * @return the index represented time, which is included in the index name.
      */
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
+import org.elasticsearch.action.index.IndexRequest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Run the bulks against a local stand-in of the Elasticsearch bulk API, which could reject the given documents once and
+ * hold the responses.
+ */
+public class AdaptiveBulkProcessorTest {
+    private static final Gson GSON = new Gson();
+
+    private final List<List<String>> bulks = new CopyOnWriteArrayList<>();
+    private final Set<String> rejectOnce = Collections.synchronizedSet(new HashSet<>());
+    private volatile CountDownLatch responseLatch = new CountDownLatch(0);
+    private ExecutorService executor;
+    private HttpServer server;
+    private ElasticSearchClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+
+        client = new ElasticSearchClient(
+            "127.0.0.1:" + server.getAddress().getPort(), "http", null, null, null, null,
+            Collections.emptyList(), 2000, 30000
+        );
+        client.connect();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        client.shutdown();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testRetryRejectedItemsOnly() throws Exception {
+        AdaptiveBulkProcessor processor = new AdaptiveBulkProcessor(
+            client, 3, Long.MAX_VALUE, 60, 4, 10000, Long.MAX_VALUE);
+        rejectOnce.add("2");
+
+        processor.add(indexRequest("1"));
+        processor.add(indexRequest("2"));
+        processor.add(indexRequest("3"));
+
+        waitUntil(() -> bulks.size() == 2 && processor.getPendingBytes() == 0);
+        Assert.assertEquals(Arrays.asList(Arrays.asList("1", "2", "3"), Collections.singletonList("2")), bulks);
+        // Halved by the rejection, then increased by the successful retry.
+        Assert.assertEquals(3, processor.getConcurrentRequests());
+    }
+
+    @Test
+    public void testSlowBulkHalvesConcurrency() throws Exception {
+        AdaptiveBulkProcessor processor = new AdaptiveBulkProcessor(
+            client, 1, Long.MAX_VALUE, 60, 4, 0, Long.MAX_VALUE);
+
+        processor.add(indexRequest("1"));
+
+        waitUntil(() -> processor.getPendingBytes() == 0);
+        Assert.assertEquals(2, processor.getConcurrentRequests());
+    }
+
+    @Test
+    public void testBulkSizeInBytes() throws Exception {
+        AdaptiveBulkProcessor processor = new AdaptiveBulkProcessor(
+            client, 1000, 1, 60, 4, 10000, Long.MAX_VALUE);
+
+        processor.add(indexRequest("1"));
+        processor.add(indexRequest("2"));
+
+        waitUntil(() -> bulks.size() == 2 && processor.getPendingBytes() == 0);
+        Assert.assertEquals(Arrays.asList(Collections.singletonList("1"), Collections.singletonList("2")), bulks);
+    }
+
+    @Test
+    public void testQueueBulksBeyondConcurrency() throws Exception {
+        AdaptiveBulkProcessor processor = new AdaptiveBulkProcessor(
+            client, 1, Long.MAX_VALUE, 60, 1, 10000, Long.MAX_VALUE);
+        responseLatch = new CountDownLatch(1);
+
+        // None of the callers is blocked while the only permit is held by the first bulk.
+        processor.add(indexRequest("1"));
+        processor.add(indexRequest("2"));
+        processor.add(indexRequest("3"));
+        Assert.assertEquals(2, processor.getWaitingBulks());
+
+        responseLatch.countDown();
+        waitUntil(() -> bulks.size() == 3 && processor.getPendingBytes() == 0);
+        Assert.assertEquals(0, processor.getWaitingBulks());
+        Assert.assertEquals(
+            Arrays.asList(Collections.singletonList("1"), Collections.singletonList("2"), Collections.singletonList("3")),
+            bulks
+        );
+    }
+
+    @Test
+    public void testAwaitCapacity() throws Exception {
+        AdaptiveBulkProcessor processor = new AdaptiveBulkProcessor(
+            client, 1, Long.MAX_VALUE, 60, 4, 10000, 1);
+        responseLatch = new CountDownLatch(1);
+
+        processor.add(indexRequest("1"));
+
+        Assert.assertFalse(processor.awaitCapacity(50));
+        responseLatch.countDown();
+        Assert.assertTrue(processor.awaitCapacity(5000));
+        Assert.assertEquals(0, processor.getPendingBytes());
+    }
+
+    private static IndexRequest indexRequest(String id) {
+        return new IndexRequest("index", ElasticSearchClient.TYPE, id).source(Collections.singletonMap("name", id));
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (!condition.getAsBoolean()) {
+            Assert.assertTrue("Timeout", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestURI().getPath().startsWith("/_bulk")) {
+            // The ping of the client.
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+            return;
+        }
+        List<String> ids = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+            new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8))) {
+            String action;
+            while ((action = reader.readLine()) != null && !action.isEmpty()) {
+                ids.add(GSON.fromJson(action, JsonObject.class).getAsJsonObject("index").get("_id").getAsString());
+                reader.readLine();
+            }
+        }
+        try {
+            responseLatch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        StringBuilder items = new StringBuilder();
+        boolean errors = false;
+        for (final String id : ids) {
+            if (items.length() > 0) {
+                items.append(',');
+            }
+            items.append("{\"index\":{\"_index\":\"index\",\"_type\":\"type\",\"_id\":\"").append(id).append('"');
+            if (rejectOnce.remove(id)) {
+                errors = true;
+                items.append(",\"status\":429,\"error\":{\"type\":\"es_rejected_execution_exception\",")
+                     .append("\"reason\":\"rejected execution\"}}}");
+            } else {
+                items.append(",\"_version\":1,\"result\":\"created\",")
+                     .append("\"_shards\":{\"total\":1,\"successful\":1,\"failed\":0},")
+                     .append("\"_seq_no\":0,\"_primary_term\":1,\"status\":201}}");
+            }
+        }
+        bulks.add(ids);
+        byte[] response = ("{\"took\":1,\"errors\":" + errors + ",\"items\":[" + items + "]}")
+            .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.analysis.manual.segment.SegmentRecord;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compare building the document source through the {@link java.util.HashMap} of the storage builder with writing the
+ * columns to the JSON generator directly.
+ */
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EntitySourceBuilderBenchmark {
+    private final EsDAO dao = new EsDAO(null) {
+    };
+    private final SegmentRecord.Builder builder = new SegmentRecord.Builder();
+    private final Model model = new Model(
+        SegmentRecord.INDEX_NAME, Collections.emptyList(), Collections.emptyList(), 0, DownSampling.Second, true, false,
+        null, false
+    );
+    private final SegmentRecord record = new SegmentRecord();
+
+    public EntitySourceBuilderBenchmark() {
+        record.setSegmentId("ea9e2d4b4a6348e3a1a2f8e01c5e1f4a.54.16200000000000000");
+        record.setTraceId("ea9e2d4b4a6348e3a1a2f8e01c5e1f4a.53.16200000000000001");
+        record.setServiceId("c2VydmljZS1h.1");
+        record.setServiceInstanceId("c2VydmljZS1h.1_aW5zdGFuY2UtYQ==");
+        record.setEndpointName("/api/v1/products/{id}");
+        record.setEndpointId("c2VydmljZS1h.1_L2FwaS92MS9wcm9kdWN0cy97aWR9");
+        record.setStartTime(1620000000000L);
+        record.setEndTime(1620000000100L);
+        record.setLatency(100);
+        record.setTimeBucket(20210503101010L);
+        record.setDataBinary(new byte[2048]);
+        record.setVersion(3);
+        record.setTags(Arrays.asList("http.method=GET", "status_code=200"));
+    }
+
+    @Benchmark
+    public BytesReference hashMapBuilder() throws IOException {
+        return BytesReference.bytes(
+            dao.map2builder(IndexController.INSTANCE.appendMetricTableColumn(model, builder.entity2Storage(record))));
+    }
+
+    @Benchmark
+    public BytesReference streamingBuilder() throws IOException {
+        return BytesReference.bytes(dao.entity2builder(model, builder, record));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(EntitySourceBuilderBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.analysis.manual.log.LogRecord;
+import org.apache.skywalking.oap.server.core.analysis.manual.segment.SegmentRecord;
+import org.apache.skywalking.oap.server.core.storage.StorageData;
+import org.apache.skywalking.oap.server.core.storage.StorageHashMapBuilder;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.common.xcontent.XContentHelper;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EntitySourceBuilderTest {
+    private final EsDAO dao = new EsDAO(null) {
+    };
+
+    @Test
+    public void testSegmentRecord() throws IOException {
+        SegmentRecord record = new SegmentRecord();
+        record.setSegmentId("segment-1");
+        record.setTraceId("trace-1");
+        record.setServiceId("service-1");
+        record.setServiceInstanceId("instance-1");
+        record.setEndpointName("/api");
+        record.setEndpointId("endpoint-1");
+        record.setStartTime(1620000000000L);
+        record.setEndTime(1620000000100L);
+        record.setLatency(100);
+        record.setIsError(1);
+        record.setTimeBucket(20210503101010L);
+        record.setDataBinary(new byte[] {1, 2, 3, 4, 5});
+        record.setVersion(3);
+        record.setTags(Arrays.asList("http.method=GET", "status_code=200"));
+
+        assertSameSource(model("segment", null), new SegmentRecord.Builder(), record);
+    }
+
+    @Test
+    public void testLogRecord() throws IOException {
+        LogRecord record = new LogRecord();
+        record.setUniqueId("log-1");
+        record.setServiceId("service-1");
+        record.setServiceInstanceId("instance-1");
+        record.setTraceId("trace-1");
+        record.setSpanId(2);
+        record.setContentType(1);
+        record.setContent("content");
+        record.setTimestamp(1620000000000L);
+        record.setTimeBucket(20210503101010L);
+        record.setTagsRawData(new byte[0]);
+        record.setTagsInString(Collections.singletonList("level=INFO"));
+
+        assertSameSource(model("log", null), new LogRecord.Builder(), record);
+        assertSameSource(model("log", "metrics-all"), new LogRecord.Builder(), record);
+    }
+
+    private <T extends StorageData> void assertSameSource(Model model,
+                                                          StorageHashMapBuilder<T> builder,
+                                                          T entity) throws IOException {
+        XContentBuilder expected = dao.map2builder(
+            IndexController.INSTANCE.appendMetricTableColumn(model, builder.entity2Storage(entity)));
+        XContentBuilder actual = dao.entity2builder(model, builder, entity);
+        Assert.assertEquals(toMap(expected), toMap(actual));
+    }
+
+    private static Map<String, Object> toMap(XContentBuilder builder) {
+        return XContentHelper.convertToMap(BytesReference.bytes(builder), false, XContentType.JSON).v2();
+    }
+
+    private static Model model(String name, String aggregationFunctionName) {
+        return new Model(
+            name, Collections.emptyList(), Collections.emptyList(), 0, DownSampling.Second, true, false,
+            aggregationFunctionName, false
+        );
+    }
+}
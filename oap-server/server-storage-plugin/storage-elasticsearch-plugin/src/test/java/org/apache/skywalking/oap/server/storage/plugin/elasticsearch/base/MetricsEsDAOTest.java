@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.storage.StorageHashMapBuilder;
+import org.apache.skywalking.oap.server.core.storage.model.ColumnName;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.apache.skywalking.oap.server.core.storage.model.ModelColumn;
+import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
+import org.apache.skywalking.oap.server.storage.plugin.elasticsearch.IndicesMetadataCache;
+import org.apache.skywalking.oap.server.telemetry.none.MetricsCreatorNoop;
+import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.get.MultiGetItemResponse;
+import org.elasticsearch.action.get.MultiGetResponse;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.index.IndexNotFoundException;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchHits;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MetricsEsDAOTest {
+    private static final long TIME_BUCKET = 202105031010L;
+    private static final String PHYSICAL_INDEX = "cpm-20210503";
+
+    private final Model model = new Model(
+        "service_cpm", Arrays.asList(column("entity_id"), column("value"), column("time_bucket")),
+        Collections.emptyList(), 0, DownSampling.Minute, false, false, "cpm", true
+    );
+
+    private ElasticSearchClient client;
+    private MetricsEsDAO dao;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        client = mock(ElasticSearchClient.class);
+        when(client.formatIndexName(anyString())).then(returnsFirstArg());
+        StorageHashMapBuilder<Metrics> builder = mock(StorageHashMapBuilder.class);
+        when(builder.storage2Entity(any())).then(
+            invocation -> metrics((String) ((Map<String, Object>) invocation.getArgument(0)).get("entity_id")));
+        dao = new MetricsEsDAO(client, builder, new MetricsCreatorNoop());
+    }
+
+    @After
+    public void tearDown() {
+        IndicesMetadataCache.INSTANCE.update(Collections.emptyList());
+    }
+
+    @Test
+    public void testMultiGetFromPhysicalIndex() throws IOException {
+        IndicesMetadataCache.INSTANCE.update(Collections.singletonList(PHYSICAL_INDEX));
+        MultiGetResponse response = new MultiGetResponse(new MultiGetItemResponse[] {
+            existing("service_cpm_a"),
+            missing()
+        });
+        when(client.multiGet(eq(PHYSICAL_INDEX), any(), any())).thenReturn(response);
+
+        List<Metrics> result = dao.multiGet(model, Arrays.asList(metrics("a"), metrics("b")));
+
+        Assert.assertEquals(Collections.singletonList("a"), ids(result));
+        verify(client).multiGet(
+            PHYSICAL_INDEX,
+            new String[] {"service_cpm_a", "service_cpm_b"},
+            new String[] {"entity_id", "value", "time_bucket"}
+        );
+        verify(client, never()).ids(anyString(), any());
+    }
+
+    @Test
+    public void testFailedItemsReadFromAlias() throws IOException {
+        IndicesMetadataCache.INSTANCE.update(Collections.singletonList(PHYSICAL_INDEX));
+        MultiGetResponse response = new MultiGetResponse(new MultiGetItemResponse[] {
+            existing("service_cpm_a"),
+            failed("service_cpm_b")
+        });
+        SearchResponse searchResponse = search("service_cpm_b");
+        when(client.multiGet(eq(PHYSICAL_INDEX), any(), any())).thenReturn(response);
+        when(client.ids(eq("cpm"), any())).thenReturn(searchResponse);
+
+        List<Metrics> result = dao.multiGet(model, Arrays.asList(metrics("a"), metrics("b")));
+
+        Assert.assertEquals(Arrays.asList("a", "b"), ids(result));
+        verify(client).ids("cpm", new String[] {"service_cpm_b"});
+    }
+
+    @Test
+    public void testUnknownIndexReadFromAlias() throws IOException {
+        SearchResponse searchResponse = search("service_cpm_a", "service_cpm_b");
+        when(client.ids(eq("cpm"), any())).thenReturn(searchResponse);
+
+        List<Metrics> result = dao.multiGet(model, Arrays.asList(metrics("a"), metrics("b")));
+
+        Assert.assertEquals(Arrays.asList("a", "b"), ids(result));
+        verify(client, never()).multiGet(anyString(), any(), any());
+    }
+
+    private static ModelColumn column(String name) {
+        return new ModelColumn(
+            new ColumnName("service_cpm", name), String.class, String.class, false, false, false, 0, null);
+    }
+
+    private static Metrics metrics(String id) {
+        Metrics metrics = mock(Metrics.class);
+        when(metrics.id()).thenReturn(id);
+        when(metrics.getTimeBucket()).thenReturn(TIME_BUCKET);
+        return metrics;
+    }
+
+    private static List<String> ids(List<Metrics> metrics) {
+        return metrics.stream().map(Metrics::id).sorted().collect(Collectors.toList());
+    }
+
+    private static String source(String docId) {
+        return "{\"entity_id\":\"" + docId.substring("service_cpm_".length()) + "\"}";
+    }
+
+    private static MultiGetItemResponse existing(String docId) {
+        GetResponse response = mock(GetResponse.class);
+        when(response.isExists()).thenReturn(true);
+        when(response.getSourceAsMap()).thenReturn(
+            Collections.singletonMap("entity_id", docId.substring("service_cpm_".length())));
+        return new MultiGetItemResponse(response, null);
+    }
+
+    private static MultiGetItemResponse missing() {
+        GetResponse response = mock(GetResponse.class);
+        when(response.isExists()).thenReturn(false);
+        return new MultiGetItemResponse(response, null);
+    }
+
+    private static MultiGetItemResponse failed(String docId) {
+        return new MultiGetItemResponse(null, new MultiGetResponse.Failure(
+            PHYSICAL_INDEX, ElasticSearchClient.TYPE, docId, new IndexNotFoundException(PHYSICAL_INDEX)));
+    }
+
+    private static SearchResponse search(String... docIds) {
+        SearchHit[] hits = Arrays.stream(docIds)
+                                 .map(docId -> new SearchHit(0, docId, null, null).sourceRef(
+                                     new BytesArray(source(docId))))
+                                 .toArray(SearchHit[]::new);
+        SearchResponse response = mock(SearchResponse.class);
+        when(response.getHits()).thenReturn(new SearchHits(hits, hits.length, 0));
+        return response;
+    }
+}
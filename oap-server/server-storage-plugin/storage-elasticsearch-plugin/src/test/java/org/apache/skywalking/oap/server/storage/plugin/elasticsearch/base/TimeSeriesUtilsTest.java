@@ -59,6 +59,14 @@ public class TimeSeriesUtilsTest {
         Assert.assertEquals(20000123L, compressTimeBucket(20000125, 11));
     }
 
+    @Test
+    public void testChangeDayStep() {
+        long minuteTimeBucket = 2020_0809_1010L;
+        Assert.assertEquals("normalMetricsModel-20200807", writeIndexName(normalMetricsModel, minuteTimeBucket));
+        TimeSeriesUtils.setDAY_STEP(1);
+        Assert.assertEquals("normalMetricsModel-20200809", writeIndexName(normalMetricsModel, minuteTimeBucket));
+    }
+
     @Test
     public void testIndexRolling() {
         long secondTimeBucket = 2020_0809_1010_59L;
@@ -17,7 +17,9 @@
 
 package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
 
+import java.util.Collections;
 import org.apache.skywalking.oap.server.core.analysis.manual.segment.SegmentRecord;
+import org.apache.skywalking.oap.server.storage.plugin.elasticsearch.IndicesMetadataCache;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -45,4 +47,20 @@ public class TimeSeriesUtilsTestCase {
         Assert.assertEquals(indices.length, 1);
 
     }
+
+    @Test
+    public void pruneDeletedSuperDatasetIndices() {
+        TimeSeriesUtils.setSUPER_DATASET_DAY_STEP(1);
+        IndicesMetadataCache.INSTANCE.updateEarliestTimeSeries(
+            Collections.singletonMap(SegmentRecord.INDEX_NAME, 20200604L));
+        try {
+            String[] indices = TimeSeriesUtils.superDatasetIndexNames(SegmentRecord.INDEX_NAME, 20200601140000L, 20200605140000L);
+            Assert.assertArrayEquals(new String[] {"segment-20200604", "segment-20200605"}, indices);
+            // All the indices of the range have been deleted.
+            indices = TimeSeriesUtils.superDatasetIndexNames(SegmentRecord.INDEX_NAME, 20200601140000L, 20200602140000L);
+            Assert.assertEquals(indices.length, 2);
+        } finally {
+            IndicesMetadataCache.INSTANCE.updateEarliestTimeSeries(Collections.emptyMap());
+        }
+    }
 }
@@ -166,10 +166,12 @@ public class StorageModuleElasticsearch7Provider extends ModuleProvider {
         this.registerServiceImplementation(
             IBatchDAO.class,
             new BatchProcessEsDAO(
-                elasticSearch7Client, config.getBulkActions(), config.getFlushInterval(), config.getConcurrentRequests()
+                elasticSearch7Client, config.getBulkActions(), config.getBulkSize(), config.getFlushInterval(),
+                config.getConcurrentRequests(), config.getBulkLatencyThreshold(), config.getMaxPendingBulkSize(),
+                config.getRecordBackpressureWaitTime(), config.isDropRecordsOnBackpressure()
             )
         );
-        this.registerServiceImplementation(StorageDAO.class, new StorageEs7DAO(elasticSearch7Client));
+        this.registerServiceImplementation(StorageDAO.class, new StorageEs7DAO(elasticSearch7Client, getManager()));
         this.registerServiceImplementation(
             IHistoryDeleteDAO.class, new HistoryDeleteEsDAO(elasticSearch7Client));
         this.registerServiceImplementation(
@@ -42,6 +42,7 @@ import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSear
 import org.apache.skywalking.oap.server.library.client.elasticsearch.IndexNameConverter;
 import org.apache.skywalking.oap.server.library.client.request.InsertRequest;
 import org.apache.skywalking.oap.server.library.client.request.UpdateRequest;
+import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.admin.indices.alias.Alias;
 import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
@@ -53,6 +54,8 @@ import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.get.GetRequest;
 import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.get.MultiGetRequest;
+import org.elasticsearch.action.get.MultiGetResponse;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
@@ -70,6 +73,7 @@ import org.elasticsearch.client.indices.CreateIndexResponse;
 import org.elasticsearch.client.indices.GetIndexRequest;
 import org.elasticsearch.client.indices.IndexTemplatesExistRequest;
 import org.elasticsearch.client.indices.PutIndexTemplateRequest;
+import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.common.xcontent.XContentType;
@@ -77,6 +81,7 @@ import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.index.reindex.BulkByScrollResponse;
 import org.elasticsearch.index.reindex.DeleteByQueryRequest;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.fetch.subphase.FetchSourceContext;
 
 @Slf4j
 public class ElasticSearch7Client extends ElasticSearchClient {
@@ -338,6 +343,25 @@ public class ElasticSearch7Client extends ElasticSearchClient {
         }
     }
 
+    @Override
+    public MultiGetResponse multiGet(String indexName, String[] ids, String[] includes) throws IOException {
+        indexName = formatIndexName(indexName);
+
+        MultiGetRequest request = new MultiGetRequest();
+        FetchSourceContext sourceContext = new FetchSourceContext(true, includes, Strings.EMPTY_ARRAY);
+        for (final String id : ids) {
+            request.add(new MultiGetRequest.Item(indexName, id).fetchSourceContext(sourceContext));
+        }
+        try {
+            MultiGetResponse response = client.mget(request, RequestOptions.DEFAULT);
+            healthChecker.health();
+            return response;
+        } catch (Throwable t) {
+            healthChecker.unHealth(t);
+            throw t;
+        }
+    }
+
     @Override
     public void forceInsert(String indexName, String id, XContentBuilder source) throws IOException {
         IndexRequest request = (IndexRequest) prepareInsert(indexName, id, source);
@@ -411,6 +435,11 @@ public class ElasticSearch7Client extends ElasticSearchClient {
         }
     }
 
+    @Override
+    public void bulkAsync(BulkRequest request, ActionListener<BulkResponse> listener) {
+        client.bulkAsync(request, RequestOptions.DEFAULT, listener);
+    }
+
     @Override
     public BulkProcessor createBulkProcessor(int bulkActions, int flushInterval, int concurrentRequests) {
         BulkProcessor.Listener listener = createBulkListener();
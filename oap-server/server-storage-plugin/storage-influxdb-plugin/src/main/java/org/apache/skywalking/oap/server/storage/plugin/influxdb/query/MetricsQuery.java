@@ -48,7 +48,9 @@ import static org.apache.skywalking.oap.server.storage.plugin.influxdb.InfluxCon
 import static org.influxdb.querybuilder.BuiltQuery.QueryBuilder.contains;
 import static org.influxdb.querybuilder.BuiltQuery.QueryBuilder.eq;
 import static org.influxdb.querybuilder.BuiltQuery.QueryBuilder.gte;
+import static org.influxdb.querybuilder.BuiltQuery.QueryBuilder.lt;
 import static org.influxdb.querybuilder.BuiltQuery.QueryBuilder.lte;
+import static org.influxdb.querybuilder.BuiltQuery.QueryBuilder.neq;
 import static org.influxdb.querybuilder.BuiltQuery.QueryBuilder.select;
 
 @Slf4j
@@ -65,8 +67,12 @@ public class MetricsQuery implements IMetricsQueryDAO {
                                 final Duration duration) throws IOException {
         final int defaultValue = ValueColumnMetadata.INSTANCE.getDefaultValue(condition.getName());
         final Function function = ValueColumnMetadata.INSTANCE.getValueFunction(condition.getName());
+        final String entityId = condition.getEntity().buildId();
         if (function == Function.Latest) {
-            return readMetricsValues(condition, valueColumnName, duration).getValues().latestValue(defaultValue);
+            if (entityId == null) {
+                return readMetricsValues(condition, valueColumnName, duration).getValues().latestValue(defaultValue);
+            }
+            return readLatestValue(condition, valueColumnName, entityId, duration, defaultValue);
         }
         final String measurement = condition.getName();
 
@@ -78,7 +84,6 @@ public class MetricsQuery implements IMetricsQueryDAO {
         }
         final WhereQueryImpl<SelectQueryImpl> queryWhereQuery = query.from(client.getDatabase(), measurement).where();
 
-        final String entityId = condition.getEntity().buildId();
         if (entityId != null) {
             queryWhereQuery.and(eq(InfluxConstants.TagName.ENTITY_ID, entityId));
         }
@@ -102,6 +107,48 @@ public class MetricsQuery implements IMetricsQueryDAO {
         return defaultValue;
     }
 
+    /**
+     * Pick the last value, which is not the default value, of the entity in the duration by the last() selector,
+     * rather than reading all the points of the duration.
+     */
+    private long readLatestValue(final MetricsCondition condition,
+                                 final String valueColumnName,
+                                 final String entityId,
+                                 final Duration duration,
+                                 final int defaultValue) throws IOException {
+        final WhereQueryImpl<SelectQueryImpl> query = select()
+            .function("last", valueColumnName)
+            .from(client.getDatabase(), condition.getName())
+            .where(eq(InfluxConstants.TagName.ENTITY_ID, entityId))
+            .and(neq(valueColumnName, defaultValue))
+            .and(gte(InfluxClient.TIME, InfluxClient.timeIntervalTS(duration.getStartTimestamp())))
+            .and(lt(InfluxClient.TIME, InfluxClient.timeIntervalTS(duration.getEndTimestamp())));
+
+        final QueryResult.Series series = client.queryForSingleSeries(query);
+        if (log.isDebugEnabled()) {
+            log.debug("SQL: {} result set: {}", query.getCommand(), series);
+        }
+        if (series == null || CollectionUtils.isEmpty(series.getValues())) {
+            return defaultValue;
+        }
+        return ((Number) series.getValues().get(0).get(1)).longValue();
+    }
+
+    /**
+     * The tag of the entity and the time range let InfluxDB locate the series and the shards directly, the regex over
+     * the id field only picks the points of the duration.
+     */
+    private void whereEntityAndDuration(final WhereQueryImpl<SelectQueryImpl> query,
+                                        final MetricsCondition condition,
+                                        final Duration duration) {
+        final String entityId = condition.getEntity().buildId();
+        if (entityId != null) {
+            query.and(eq(InfluxConstants.TagName.ENTITY_ID, entityId));
+        }
+        query.and(gte(InfluxClient.TIME, InfluxClient.timeIntervalTS(duration.getStartTimestamp())))
+             .and(lte(InfluxClient.TIME, InfluxClient.timeIntervalTS(duration.getEndTimestamp())));
+    }
+
     @Override
     public MetricsValues readMetricsValues(final MetricsCondition condition,
                                            final String valueColumnName,
@@ -123,6 +170,7 @@ public class MetricsQuery implements IMetricsQueryDAO {
                 query.where(contains(ID_COLUMN, Joiner.on("|").join(ids)));
             }
         }
+        whereEntityAndDuration(query, condition, duration);
         List<QueryResult.Series> seriesList = client.queryForSeries(query);
         if (log.isDebugEnabled()) {
             log.debug("SQL: {} result set: {}", query.getCommand(), seriesList);
@@ -168,6 +216,7 @@ public class MetricsQuery implements IMetricsQueryDAO {
                 query.where(contains(ID_COLUMN, Joiner.on("|").join(ids)));
             }
         }
+        whereEntityAndDuration(query, condition, duration);
         final List<QueryResult.Series> series = client.queryForSeries(query);
         if (log.isDebugEnabled()) {
             log.debug("SQL: {} result set: {}", query.getCommand(), series);
@@ -198,6 +247,7 @@ public class MetricsQuery implements IMetricsQueryDAO {
             .column(valueColumnName)
             .from(client.getDatabase(), condition.getName())
             .where(contains(ID_COLUMN, Joiner.on("|").join(ids)));
+        whereEntityAndDuration(query, condition, duration);
 
         final QueryResult.Series series = client.queryForSingleSeries(query);
         if (log.isDebugEnabled()) {
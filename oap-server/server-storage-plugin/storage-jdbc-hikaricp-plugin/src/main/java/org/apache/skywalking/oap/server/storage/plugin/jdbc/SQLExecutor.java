@@ -43,15 +43,31 @@ public class SQLExecutor implements InsertRequest, UpdateRequest {
     }
 
     public void invoke(Connection connection) throws SQLException {
-        PreparedStatement preparedStatement = connection.prepareStatement(sql);
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            setParameters(preparedStatement);
 
-        for (int i = 0; i < param.size(); i++) {
-            preparedStatement.setObject(i + 1, param.get(i));
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("execute sql in batch: {}, parameters: {}", sql, param);
+            }
+            preparedStatement.execute();
         }
+    }
+
+    /**
+     * Add the parameters to the batch of the statement, which is prepared by the same {@link #getSql()}.
+     */
+    public void addBatch(PreparedStatement preparedStatement) throws SQLException {
+        setParameters(preparedStatement);
+        preparedStatement.addBatch();
+    }
 
-        if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("execute sql in batch: {}, parameters: {}", sql, param);
+    public String getSql() {
+        return sql;
+    }
+
+    private void setParameters(PreparedStatement preparedStatement) throws SQLException {
+        for (int i = 0; i < param.size(); i++) {
+            preparedStatement.setObject(i + 1, param.get(i));
         }
-        preparedStatement.execute();
     }
 }
@@ -20,10 +20,13 @@ package org.apache.skywalking.oap.server.storage.plugin.jdbc;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.skywalking.oap.server.core.storage.model.Model;
 
 public class TableMetaInfo {
     private static Map<String, Model> TABLES = new HashMap<>();
+    private static Set<String> PARTITIONED_TABLES = ConcurrentHashMap.newKeySet();
 
     public static void addModel(Model model) {
         TABLES.put(model.getName(), model);
@@ -32,4 +35,15 @@ public class TableMetaInfo {
     public static Model get(String moduleName) {
         return TABLES.get(moduleName);
     }
+
+    /**
+     * Mark the table partitioned by {@link TablePartitioner}, whose primary key includes the time bucket.
+     */
+    public static void addPartitionedTable(String tableName) {
+        PARTITIONED_TABLES.add(tableName);
+    }
+
+    public static boolean isPartitioned(String tableName) {
+        return PARTITIONED_TABLES.contains(tableName);
+    }
 }
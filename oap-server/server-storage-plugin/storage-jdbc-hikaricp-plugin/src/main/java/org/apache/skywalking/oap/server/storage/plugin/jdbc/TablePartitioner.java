@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc;
+
+import java.sql.Connection;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.apache.skywalking.oap.server.library.client.jdbc.JDBCClientException;
+import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
+import org.joda.time.DateTime;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+
+/**
+ * TablePartitioner splits the time series tables into the day partitions by the range of the time bucket, so the
+ * expired data could be removed by dropping the whole partitions, rather than deleting them row by row, and the
+ * queries with the time bucket conditions only scan the relevant partitions.
+ *
+ * The records are partitioned by the second time bucket, and the metrics are partitioned by the minute time bucket.
+ * The hour and day metrics share the table with the minute metrics, their time buckets are smaller than any minute
+ * time bucket, so they stay in the bottom partition.
+ */
+@Slf4j
+public abstract class TablePartitioner {
+    /**
+     * The partition hosting the time buckets smaller than the time bucket unit of the table.
+     */
+    public static final String BOTTOM_PARTITION = "p0";
+    private static final String DAY_PARTITION_PREFIX = "p";
+    private static final DateTimeFormatter DAY_FORMATTER = DateTimeFormat.forPattern("yyyyMMdd");
+    /**
+     * The number of the day partitions created in advance, besides today.
+     */
+    private static final int PARTITIONS_AHEAD = 2;
+
+    protected final JDBCHikariCPClient client;
+
+    protected TablePartitioner(JDBCHikariCPClient client) {
+        this.client = client;
+    }
+
+    /**
+     * @return true if the table of the model should be partitioned.
+     */
+    public static boolean isPartitionable(Model model) {
+        return model.isTimeSeries();
+    }
+
+    /**
+     * @return true if the model uses the time bucket unit of the day partitions, otherwise, its data stays in the
+     * {@link #BOTTOM_PARTITION}.
+     */
+    public static boolean isPartitionedBy(Model model) {
+        return model.isRecord() || DownSampling.Minute.equals(model.getDownsampling());
+    }
+
+    /**
+     * @return the clause appended to the table creation statement.
+     */
+    public abstract String partitionBy(Model model);
+
+    /**
+     * Create the partitions of a table just created, except the day partitions.
+     */
+    protected abstract void createBottomPartition(Connection connection, Model model) throws JDBCClientException;
+
+    /**
+     * Create the partition hosting the time buckets in [from, to).
+     */
+    protected abstract void createPartition(Connection connection, Model model, String partitionName, long from,
+                                            long to) throws JDBCClientException;
+
+    protected abstract void dropPartition(Connection connection, Model model,
+                                          String partitionName) throws JDBCClientException;
+
+    /**
+     * @return the names of the partitions of the table, or an empty list if the table is not partitioned.
+     */
+    protected abstract List<String> listPartitions(Connection connection,
+                                                   Model model) throws JDBCClientException;
+
+    /**
+     * Called after the partitioned table created.
+     */
+    public void afterTableCreated(Connection connection, Model model) throws JDBCClientException {
+        createBottomPartition(connection, model);
+        TableMetaInfo.addPartitionedTable(model.getName());
+        createPartitions(connection, model);
+    }
+
+    /**
+     * Called when the table exists, the table created by the previous versions, or with partition disabled, isn't
+     * partitioned.
+     */
+    public void afterTableExists(Connection connection, Model model) throws JDBCClientException {
+        if (listPartitions(connection, model).isEmpty()) {
+            return;
+        }
+        TableMetaInfo.addPartitionedTable(model.getName());
+        createPartitions(connection, model);
+    }
+
+    /**
+     * Create the day partitions from today to {@link #PARTITIONS_AHEAD} days later, if absent.
+     */
+    public void createPartitions(Connection connection, Model model) throws JDBCClientException {
+        DateTime lastDay = null;
+        for (String partition : listPartitions(connection, model)) {
+            DateTime day = parseDay(partition);
+            if (day != null && (lastDay == null || day.isAfter(lastDay))) {
+                lastDay = day;
+            }
+        }
+
+        DateTime today = new DateTime().withTimeAtStartOfDay();
+        long from = lastDay == null ? bottomBound(model) : lowerBound(model, lastDay.plusDays(1));
+        for (int i = 0; i <= PARTITIONS_AHEAD; i++) {
+            DateTime day = today.plusDays(i);
+            if (lastDay != null && !day.isAfter(lastDay)) {
+                continue;
+            }
+            long to = lowerBound(model, day.plusDays(1));
+            createPartition(connection, model, DAY_PARTITION_PREFIX + day.toString(DAY_FORMATTER), from, to);
+            from = to;
+        }
+    }
+
+    /**
+     * Drop the partitions of the days before the day of the deadline, the data of the deadline day is kept until the
+     * next day.
+     *
+     * @return the number of dropped partitions.
+     */
+    public int dropPartitions(Connection connection, Model model, long deadline) throws JDBCClientException {
+        int dropped = 0;
+        for (String partition : listPartitions(connection, model)) {
+            DateTime day = parseDay(partition);
+            if (day != null && lowerBound(model, day) < deadline / unit(model) * unit(model)) {
+                log.info("Drop the expired partition {} of the table {}", partition, model.getName());
+                dropPartition(connection, model, partition);
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * @return the first time bucket of the day, in the time bucket unit of the table.
+     */
+    protected static long lowerBound(Model model, DateTime day) {
+        return Long.parseLong(day.toString(DAY_FORMATTER)) * unit(model);
+    }
+
+    /**
+     * @return the upper bound of the {@link #BOTTOM_PARTITION}, which is smaller than any time bucket of the day
+     * partitions.
+     */
+    protected static long bottomBound(Model model) {
+        return 10_000_000L * unit(model);
+    }
+
+    private static long unit(Model model) {
+        return model.isRecord() ? 1_000_000L : 10_000L;
+    }
+
+    private static DateTime parseDay(String partitionName) {
+        if (BOTTOM_PARTITION.equals(partitionName) || !partitionName.startsWith(DAY_PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return DAY_FORMATTER.parseDateTime(partitionName.substring(DAY_PARTITION_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
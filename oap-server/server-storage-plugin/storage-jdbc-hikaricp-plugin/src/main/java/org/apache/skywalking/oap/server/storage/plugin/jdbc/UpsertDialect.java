@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.storage.model.ModelColumn;
+
+/**
+ * UpsertDialect builds the statement inserting a row, or updating all the columns of it when the id exists. Metrics
+ * are persisted through the upsert statements, so the inserts and updates of one model share the same SQL and are
+ * executed in the same JDBC batch.
+ */
+public enum UpsertDialect {
+    H2 {
+        @Override
+        public String build(String tableName, String values, List<ModelColumn> columns) {
+            return "MERGE INTO " + tableName + " KEY(id) VALUES" + values;
+        }
+    },
+    /**
+     * MySQL and TiDB.
+     */
+    MYSQL {
+        @Override
+        public String build(String tableName, String values, List<ModelColumn> columns) {
+            return "INSERT INTO " + tableName + " VALUES" + values + " ON DUPLICATE KEY UPDATE "
+                + columns.stream()
+                         .map(column -> column.getColumnName().getStorageName())
+                         .map(name -> name + "=VALUES(" + name + ")")
+                         .collect(Collectors.joining(","));
+        }
+    },
+    POSTGRESQL {
+        @Override
+        public String build(String tableName, String values, List<ModelColumn> columns) {
+            // The primary key of the partitioned table includes the time bucket.
+            String conflictTarget = TableMetaInfo.isPartitioned(tableName)
+                ? "(id, " + Metrics.TIME_BUCKET + ")" : "(id)";
+            return "INSERT INTO " + tableName + " VALUES" + values + " ON CONFLICT " + conflictTarget + " DO UPDATE SET "
+                + columns.stream()
+                         .map(column -> column.getColumnName().getStorageName())
+                         .map(name -> name + "=EXCLUDED." + name)
+                         .collect(Collectors.joining(","));
+        }
+    };
+
+    /**
+     * @param values  the placeholders of the row, in the order of the table columns, such as (?,?,?).
+     * @param columns the columns to update when the id exists.
+     */
+    public abstract String build(String tableName, String values, List<ModelColumn> columns);
+}
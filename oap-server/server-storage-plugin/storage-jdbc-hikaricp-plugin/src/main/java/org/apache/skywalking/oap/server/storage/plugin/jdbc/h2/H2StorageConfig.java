@@ -59,4 +59,16 @@ public class H2StorageConfig extends ModuleConfig {
      * @since 8.2.0
      */
     private int numOfSearchableValuesPerTag = 2;
+    /**
+     * The max number of statements of the same SQL executed in one JDBC batch and one transaction.
+     *
+     * @since 8.7.0
+     */
+    private int maxSizeOfBatchSql = 100;
+    /**
+     * The number of connections used to flush the batches in parallel.
+     *
+     * @since 8.7.0
+     */
+    private int asyncBatchPersistentPoolSize = 1;
 }
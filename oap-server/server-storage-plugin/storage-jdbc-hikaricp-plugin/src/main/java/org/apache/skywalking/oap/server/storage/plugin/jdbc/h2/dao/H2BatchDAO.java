@@ -19,10 +19,20 @@
 package org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.IChannelsMonitor;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.BulkConsumePool;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.ConsumerPoolFactory;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
@@ -39,22 +49,50 @@ import org.apache.skywalking.oap.server.storage.plugin.jdbc.SQLExecutor;
 public class H2BatchDAO implements IBatchDAO {
     private JDBCHikariCPClient h2Client;
     private final DataCarrier<PrepareRequest> dataCarrier;
+    private final int maxSizeOfBatchSql;
+    private final int asyncBatchPersistentPoolSize;
+    private final ExecutorService flushExecutor;
 
-    public H2BatchDAO(JDBCHikariCPClient h2Client) {
+    public H2BatchDAO(JDBCHikariCPClient h2Client, int maxSizeOfBatchSql, int asyncBatchPersistentPoolSize) {
         this.h2Client = h2Client;
+        this.maxSizeOfBatchSql = maxSizeOfBatchSql;
+        this.asyncBatchPersistentPoolSize = asyncBatchPersistentPoolSize;
 
         String name = "H2_ASYNCHRONOUS_BATCH_PERSISTENT";
-        BulkConsumePool.Creator creator = new BulkConsumePool.Creator(name, 1, 20);
+        BulkConsumePool.Creator creator = new BulkConsumePool.Creator(name, asyncBatchPersistentPoolSize, 20);
         try {
             ConsumerPoolFactory.INSTANCE.createIfAbsent(name, creator);
         } catch (Exception e) {
             throw new UnexpectedException(e.getMessage(), e);
         }
 
-        this.dataCarrier = new DataCarrier<>(1, 10000);
+        this.dataCarrier = new DataCarrier<>(asyncBatchPersistentPoolSize, 10000);
         this.dataCarrier.consume(ConsumerPoolFactory.INSTANCE.get(name), new H2BatchDAO.H2BatchConsumer(this));
+
+        if (asyncBatchPersistentPoolSize > 1) {
+            AtomicInteger threadSeq = new AtomicInteger();
+            this.flushExecutor = Executors.newFixedThreadPool(asyncBatchPersistentPoolSize, r -> {
+                Thread thread = new Thread(r, "H2BatchFlush-" + threadSeq.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.flushExecutor = null;
+        }
     }
 
+    /**
+     * Set the monitor of the buffer, once the telemetry is available.
+     */
+    public void setMonitor(IChannelsMonitor monitor) {
+        dataCarrier.setMonitor(monitor);
+    }
+
+    /**
+     * The statements are grouped by their SQL, and each group is executed in the JDBC batches of at most {@link
+     * #maxSizeOfBatchSql} statements, one transaction per batch. The batches are executed through {@link
+     * #asyncBatchPersistentPoolSize} connections in parallel.
+     */
     @Override
     public void flush(List<PrepareRequest> prepareRequests) {
         if (CollectionUtils.isEmpty(prepareRequests)) {
@@ -65,14 +103,55 @@ public class H2BatchDAO implements IBatchDAO {
             log.debug("batch sql statements execute, data size: {}", prepareRequests.size());
         }
 
-        try (Connection connection = h2Client.getConnection()) {
-            for (PrepareRequest prepareRequest : prepareRequests) {
+        Map<String, List<SQLExecutor>> groups = new LinkedHashMap<>();
+        for (PrepareRequest prepareRequest : prepareRequests) {
+            SQLExecutor sqlExecutor = (SQLExecutor) prepareRequest;
+            groups.computeIfAbsent(sqlExecutor.getSql(), sql -> new ArrayList<>()).add(sqlExecutor);
+        }
+        List<List<SQLExecutor>> batches = new ArrayList<>();
+        for (List<SQLExecutor> group : groups.values()) {
+            for (int i = 0; i < group.size(); i += maxSizeOfBatchSql) {
+                batches.add(group.subList(i, Math.min(group.size(), i + maxSizeOfBatchSql)));
+            }
+        }
+
+        if (flushExecutor == null || batches.size() == 1) {
+            executeBatches(batches);
+            return;
+        }
+
+        int parallelism = Math.min(asyncBatchPersistentPoolSize, batches.size());
+        List<List<List<SQLExecutor>>> partitions = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (int i = 0; i < batches.size(); i++) {
+            partitions.get(i % parallelism).add(batches.get(i));
+        }
+        List<Future<?>> futures = new ArrayList<>(parallelism);
+        for (List<List<SQLExecutor>> partition : partitions) {
+            futures.add(flushExecutor.submit(() -> executeBatches(partition)));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                log.error(e.getMessage(), e);
+            }
+        }
+    }
+
+    private void executeBatches(List<List<SQLExecutor>> batches) {
+        try (Connection connection = h2Client.getTransactionConnection()) {
+            for (List<SQLExecutor> batch : batches) {
                 try {
-                    SQLExecutor sqlExecutor = (SQLExecutor) prepareRequest;
-                    sqlExecutor.invoke(connection);
+                    executeBatch(connection, batch);
                 } catch (SQLException e) {
-                    // Just avoid one execution failure makes the rest of batch failure.
-                    log.error(e.getMessage(), e);
+                    // Such as the rollback failure, continue with the next batch.
+                    log.error("Batch of {} statements fails. {}", batch.size(), e.getMessage(), e);
                 }
             }
         } catch (SQLException | JDBCClientException e) {
@@ -80,6 +159,37 @@ public class H2BatchDAO implements IBatchDAO {
         }
     }
 
+    /**
+     * Execute the statements of the same SQL in one transaction. If the batch fails, the statements are executed one
+     * by one, to avoid one execution failure makes the rest of batch failure.
+     */
+    private void executeBatch(Connection connection, List<SQLExecutor> batch) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(batch.get(0).getSql())) {
+            for (SQLExecutor sqlExecutor : batch) {
+                sqlExecutor.addBatch(preparedStatement);
+            }
+            preparedStatement.executeBatch();
+            connection.commit();
+            return;
+        } catch (SQLException e) {
+            connection.rollback();
+            log.warn("Batch of {} statements fails, execute them one by one. {}", batch.size(), e.getMessage());
+        }
+
+        connection.setAutoCommit(true);
+        try {
+            for (SQLExecutor sqlExecutor : batch) {
+                try {
+                    sqlExecutor.invoke(connection);
+                } catch (SQLException e) {
+                    log.error(e.getMessage(), e);
+                }
+            }
+        } finally {
+            connection.setAutoCommit(false);
+        }
+    }
+
     @Override
     public void insert(InsertRequest insertRequest) {
         this.dataCarrier.produce(insertRequest);
@@ -26,14 +26,25 @@ import org.apache.skywalking.oap.server.core.storage.model.Model;
 import org.apache.skywalking.oap.server.library.client.jdbc.JDBCClientException;
 import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.SQLBuilder;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.TableMetaInfo;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.TablePartitioner;
 import org.joda.time.DateTime;
 
 public class H2HistoryDeleteDAO implements IHistoryDeleteDAO {
 
     private final JDBCHikariCPClient client;
+    /**
+     * Drop the expired partitions of the partitioned tables if present.
+     */
+    private final TablePartitioner partitioner;
 
     public H2HistoryDeleteDAO(JDBCHikariCPClient client) {
+        this(client, null);
+    }
+
+    public H2HistoryDeleteDAO(JDBCHikariCPClient client, TablePartitioner partitioner) {
         this.client = client;
+        this.partitioner = partitioner;
     }
 
     @Override
@@ -60,9 +71,38 @@ public class H2HistoryDeleteDAO implements IHistoryDeleteDAO {
                         return;
                 }
             }
-            client.executeUpdate(connection, dataDeleteSQL.toString(), deadline);
+
+            if (partitioner != null && TableMetaInfo.isPartitioned(model.getName())) {
+                if (TablePartitioner.isPartitionedBy(model)) {
+                    partitioner.createPartitions(connection, model);
+                    partitioner.dropPartitions(connection, model, deadline);
+                    return;
+                }
+                /*
+                 * The hour and day metrics stay in the bottom partition with the minute metrics of the same table,
+                 * only delete the rows of the same time bucket unit.
+                 */
+                dataDeleteSQL.append(" and ").append(timeBucketColumnName).append(">= " + earliestOf(deadline));
+            }
+            deleteRows(connection, dataDeleteSQL.toString(), deadline);
         } catch (JDBCClientException | SQLException e) {
             throw new IOException(e.getMessage(), e);
         }
     }
+
+    /**
+     * @return the first time bucket in the same unit as the deadline. All the time buckets of a unit have the same
+     * number of digits, such as yyyyMMddHH of the hour.
+     */
+    static long earliestOf(long deadline) {
+        long earliest = 1;
+        for (long i = deadline; i >= 10; i /= 10) {
+            earliest *= 10;
+        }
+        return earliest;
+    }
+
+    protected void deleteRows(Connection connection, String sql, long deadline) throws JDBCClientException {
+        client.executeUpdate(connection, sql, deadline);
+    }
 }
@@ -21,6 +21,7 @@ package org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.LongSummaryStatistics;
 import java.util.stream.Collectors;
 import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
 import org.apache.skywalking.oap.server.core.storage.IMetricsDAO;
@@ -29,21 +30,39 @@ import org.apache.skywalking.oap.server.core.storage.StorageData;
 import org.apache.skywalking.oap.server.core.storage.model.Model;
 import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.SQLExecutor;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.TableMetaInfo;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.UpsertDialect;
 
 public class H2MetricsDAO extends H2SQLExecutor implements IMetricsDAO {
 
     private JDBCHikariCPClient h2Client;
     private StorageHashMapBuilder<Metrics> storageBuilder;
+    /**
+     * Null if the database doesn't support upsert, the metrics are inserted and updated separately.
+     */
+    private UpsertDialect upsertDialect;
 
-    public H2MetricsDAO(JDBCHikariCPClient h2Client, StorageHashMapBuilder<Metrics> storageBuilder) {
+    public H2MetricsDAO(JDBCHikariCPClient h2Client,
+                        StorageHashMapBuilder<Metrics> storageBuilder,
+                        UpsertDialect upsertDialect) {
         this.h2Client = h2Client;
         this.storageBuilder = storageBuilder;
+        this.upsertDialect = upsertDialect;
     }
 
     @Override
     public List<Metrics> multiGet(Model model, List<Metrics> metrics) throws IOException {
         String[] ids = metrics.stream().map(Metrics::id).collect(Collectors.toList()).toArray(new String[] {});
-        List<StorageData> storageDataList = getByIDs(h2Client, model.getName(), ids, storageBuilder);
+        List<StorageData> storageDataList;
+        if (model.isTimeRelativeID() && TableMetaInfo.isPartitioned(model.getName())) {
+            // The time bucket condition prunes the partitions. It only applies to the ids including the time bucket,
+            // the traffic entities keep the time bucket of their first insert.
+            LongSummaryStatistics timeBuckets = metrics.stream().mapToLong(Metrics::getTimeBucket).summaryStatistics();
+            storageDataList = getByIDs(
+                h2Client, model.getName(), ids, timeBuckets.getMin(), timeBuckets.getMax(), storageBuilder);
+        } else {
+            storageDataList = getByIDs(h2Client, model.getName(), ids, storageBuilder);
+        }
         List<Metrics> result = new ArrayList<>(storageDataList.size());
         for (StorageData storageData : storageDataList) {
             result.add((Metrics) storageData);
@@ -53,11 +72,17 @@ public class H2MetricsDAO extends H2SQLExecutor implements IMetricsDAO {
 
     @Override
     public SQLExecutor prepareBatchInsert(Model model, Metrics metrics) throws IOException {
+        if (upsertDialect != null) {
+            return getUpsertExecutor(model.getName(), metrics, storageBuilder, upsertDialect);
+        }
         return getInsertExecutor(model.getName(), metrics, storageBuilder);
     }
 
     @Override
     public SQLExecutor prepareBatchUpdate(Model model, Metrics metrics) throws IOException {
+        if (upsertDialect != null) {
+            return getUpsertExecutor(model.getName(), metrics, storageBuilder, upsertDialect);
+        }
         return getUpdateExecutor(model.getName(), metrics, storageBuilder);
     }
 }
@@ -54,8 +54,12 @@ public class H2MetricsQueryDAO extends H2SQLExecutor implements IMetricsQueryDAO
                                 final Duration duration) throws IOException {
         int defaultValue = ValueColumnMetadata.INSTANCE.getDefaultValue(condition.getName());
         final Function function = ValueColumnMetadata.INSTANCE.getValueFunction(condition.getName());
+        final String entityId = condition.getEntity().buildId();
         if (function == Function.Latest) {
-            return readMetricsValues(condition, valueColumnName, duration).getValues().latestValue(defaultValue);
+            if (entityId == null) {
+                return readMetricsValues(condition, valueColumnName, duration).getValues().latestValue(defaultValue);
+            }
+            return readLatestValue(condition, valueColumnName, entityId, duration, defaultValue);
         }
         String op;
         switch (function) {
@@ -66,7 +70,6 @@ public class H2MetricsQueryDAO extends H2SQLExecutor implements IMetricsQueryDAO
                 op = "sum";
         }
         StringBuilder sql = buildMetricsValueSql(op, valueColumnName, condition.getName());
-        final String entityId = condition.getEntity().buildId();
         List<Object> parameters = new ArrayList();
         if (entityId != null) {
             sql.append(Metrics.ENTITY_ID + " = ? and ");
@@ -92,6 +95,32 @@ public class H2MetricsQueryDAO extends H2SQLExecutor implements IMetricsQueryDAO
         return defaultValue;
     }
 
+    /**
+     * Pick the last value, which is not the default value, of the entity in the duration in the database, rather than
+     * reading all the rows of the duration.
+     */
+    private long readLatestValue(final MetricsCondition condition,
+                                 final String valueColumnName,
+                                 final String entityId,
+                                 final Duration duration,
+                                 final int defaultValue) throws IOException {
+        final String sql = "select " + valueColumnName + " from " + condition.getName()
+            + " where " + Metrics.ENTITY_ID + " = ? and " + Metrics.TIME_BUCKET + ">= ? and " + Metrics.TIME_BUCKET
+            + "<=? and " + valueColumnName + " <> ? order by " + Metrics.TIME_BUCKET + " desc limit 1";
+
+        try (Connection connection = h2Client.getConnection()) {
+            try (ResultSet resultSet = h2Client.executeQuery(
+                connection, sql, entityId, duration.getStartTimeBucket(), duration.getEndTimeBucket(), defaultValue)) {
+                if (resultSet.next()) {
+                    return resultSet.getLong(valueColumnName);
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+        return defaultValue;
+    }
+
     protected StringBuilder buildMetricsValueSql(String op, String valueColumnName, String conditionName) {
         return new StringBuilder(
                 "select " + Metrics.ENTITY_ID + " id, " + op + "(" + valueColumnName + ") value from " + conditionName + " where ");
@@ -119,6 +148,10 @@ public class H2MetricsQueryDAO extends H2SQLExecutor implements IMetricsQueryDAO
             parameters.add(ids.get(i));
         }
         sql.append(")");
+        // The time bucket condition prunes the partitions of the table.
+        sql.append(" and " + Metrics.TIME_BUCKET + ">= ? and " + Metrics.TIME_BUCKET + "<=?");
+        parameters.add(duration.getStartTimeBucket());
+        parameters.add(duration.getEndTimeBucket());
 
         MetricsValues metricsValues = new MetricsValues();
         // Label is null, because in readMetricsValues, no label parameter.
@@ -169,6 +202,9 @@ public class H2MetricsQueryDAO extends H2SQLExecutor implements IMetricsQueryDAO
             parameters.add(ids.get(i));
         }
         sql.append(")");
+        sql.append(" and " + Metrics.TIME_BUCKET + ">= ? and " + Metrics.TIME_BUCKET + "<=?");
+        parameters.add(duration.getStartTimeBucket());
+        parameters.add(duration.getEndTimeBucket());
 
         Map<String, DataTable> idMap = new HashMap<>();
         try (Connection connection = h2Client.getConnection()) {
@@ -211,6 +247,9 @@ public class H2MetricsQueryDAO extends H2SQLExecutor implements IMetricsQueryDAO
             parameters.add(ids.get(i));
         }
         sql.append(")");
+        sql.append(" and " + Metrics.TIME_BUCKET + ">= ? and " + Metrics.TIME_BUCKET + "<=?");
+        parameters.add(duration.getStartTimeBucket());
+        parameters.add(duration.getEndTimeBucket());
 
         final int defaultValue = ValueColumnMetadata.INSTANCE.getDefaultValue(condition.getName());
 
@@ -27,6 +27,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
 import org.apache.skywalking.oap.server.core.storage.StorageHashMapBuilder;
 import org.apache.skywalking.oap.server.core.storage.StorageData;
 import org.apache.skywalking.oap.server.core.storage.model.ModelColumn;
@@ -37,6 +38,7 @@ import org.apache.skywalking.oap.server.storage.plugin.jdbc.ArrayParamBuilder;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.SQLBuilder;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.SQLExecutor;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.TableMetaInfo;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.UpsertDialect;
 
 @Slf4j
 public class H2SQLExecutor {
@@ -44,6 +46,31 @@ public class H2SQLExecutor {
                                                                  String modelName,
                                                                  String[] ids,
                                                                  StorageHashMapBuilder<T> storageBuilder) throws IOException {
+        return getByIDs(h2Client, modelName, ids, "", storageBuilder);
+    }
+
+    /**
+     * Read the entities of the time buckets in [minTimeBucket, maxTimeBucket], the time bucket condition prunes the
+     * partitions of the table.
+     */
+    protected <T extends StorageData> List<StorageData> getByIDs(JDBCHikariCPClient h2Client,
+                                                                 String modelName,
+                                                                 String[] ids,
+                                                                 long minTimeBucket,
+                                                                 long maxTimeBucket,
+                                                                 StorageHashMapBuilder<T> storageBuilder) throws IOException {
+        return getByIDs(
+            h2Client, modelName, ids,
+            " AND " + Metrics.TIME_BUCKET + " >= " + minTimeBucket + " AND " + Metrics.TIME_BUCKET + " <= " + maxTimeBucket,
+            storageBuilder
+        );
+    }
+
+    private <T extends StorageData> List<StorageData> getByIDs(JDBCHikariCPClient h2Client,
+                                                               String modelName,
+                                                               String[] ids,
+                                                               String condition,
+                                                               StorageHashMapBuilder<T> storageBuilder) throws IOException {
         /*
          * Although H2 database or other database support createArrayOf and setArray operate,
          * Mysql 5.1.44 driver doesn't.
@@ -52,7 +79,7 @@ public class H2SQLExecutor {
 
         try (Connection connection = h2Client.getConnection();
              ResultSet rs = h2Client.executeQuery(
-                 connection, "SELECT * FROM " + modelName + " WHERE id in (" + param + ")")) {
+                 connection, "SELECT * FROM " + modelName + " WHERE id in (" + param + ")" + condition)) {
             List<StorageData> storageDataList = new ArrayList<>();
             StorageData storageData;
             do {
@@ -111,11 +138,38 @@ public class H2SQLExecutor {
     protected <T extends StorageData> SQLExecutor getInsertExecutor(String modelName, T metrics,
                                                                     StorageHashMapBuilder<T> storageBuilder,
                                                                     int maxSizeOfArrayColumn) throws IOException {
+        List<Object> param = new ArrayList<>();
+        String values = getValues(modelName, metrics, storageBuilder, maxSizeOfArrayColumn, param);
+        SQLBuilder sqlBuilder = new SQLBuilder("INSERT INTO " + modelName + " VALUES");
+        sqlBuilder.append(values);
+
+        return new SQLExecutor(sqlBuilder.toString(), param);
+    }
+
+    /**
+     * Build the statement inserting the metrics, or updating all the columns of it when the id exists.
+     */
+    protected <T extends StorageData> SQLExecutor getUpsertExecutor(String modelName, T metrics,
+                                                                    StorageHashMapBuilder<T> storageBuilder,
+                                                                    UpsertDialect upsertDialect) throws IOException {
+        List<Object> param = new ArrayList<>();
+        String values = getValues(modelName, metrics, storageBuilder, 1, param);
+        String sql = upsertDialect.build(modelName, values, TableMetaInfo.get(modelName).getColumns());
+
+        return new SQLExecutor(sql, param);
+    }
+
+    /**
+     * @return the placeholders of the row, and the values are added to the param in the same order.
+     */
+    private <T extends StorageData> String getValues(String modelName, T metrics,
+                                                     StorageHashMapBuilder<T> storageBuilder,
+                                                     int maxSizeOfArrayColumn,
+                                                     List<Object> param) {
         Map<String, Object> objectMap = storageBuilder.entity2Storage(metrics);
 
-        SQLBuilder sqlBuilder = new SQLBuilder("INSERT INTO " + modelName + " VALUES");
+        SQLBuilder sqlBuilder = new SQLBuilder();
         List<ModelColumn> columns = TableMetaInfo.get(modelName).getColumns();
-        List<Object> param = new ArrayList<>();
         sqlBuilder.append("(?,");
         param.add(metrics.id());
         for (int i = 0; i < columns.size(); i++) {
@@ -145,7 +199,7 @@ public class H2SQLExecutor {
         }
         sqlBuilder.append(")");
 
-        return new SQLExecutor(sqlBuilder.toString(), param);
+        return sqlBuilder.toString();
     }
 
     protected <T extends StorageData> SQLExecutor getUpdateExecutor(String modelName, T metrics,
@@ -32,6 +32,7 @@ import org.apache.skywalking.oap.server.core.storage.StorageDAO;
 import org.apache.skywalking.oap.server.core.storage.type.StorageBuilder;
 import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.UpsertDialect;
 
 @RequiredArgsConstructor
 public class H2StorageDAO implements StorageDAO {
@@ -39,10 +40,11 @@ public class H2StorageDAO implements StorageDAO {
     private final JDBCHikariCPClient h2Client;
     private final int maxSizeOfArrayColumn;
     private final int numOfSearchableValuesPerTag;
+    private final UpsertDialect upsertDialect;
 
     @Override
     public IMetricsDAO newMetricsDao(StorageBuilder storageBuilder) {
-        return new H2MetricsDAO(h2Client, (StorageHashMapBuilder<Metrics>) storageBuilder);
+        return new H2MetricsDAO(h2Client, (StorageHashMapBuilder<Metrics>) storageBuilder, upsertDialect);
     }
 
     @Override
@@ -26,6 +26,7 @@ import java.sql.SQLException;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.server.core.analysis.NodeType;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
 import org.apache.skywalking.oap.server.core.storage.StorageException;
 import org.apache.skywalking.oap.server.core.storage.model.Model;
 import org.apache.skywalking.oap.server.core.storage.model.ModelColumn;
@@ -37,6 +38,7 @@ import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariC
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.SQLBuilder;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.TableMetaInfo;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.TablePartitioner;
 
 /**
  * H2 table initialization. Create tables without Indexes. H2 is for the demonstration only, so, keep the logic as
@@ -48,14 +50,27 @@ public class H2TableInstaller extends ModelInstaller {
 
     protected final int maxSizeOfArrayColumn;
     protected final int numOfSearchableValuesPerTag;
+    /**
+     * Partition the time series tables if present. H2 doesn't partition the tables.
+     */
+    protected final TablePartitioner partitioner;
 
     public H2TableInstaller(Client client,
                             ModuleManager moduleManager,
                             int maxSizeOfArrayColumn,
                             int numOfSearchableValuesPerTag) {
+        this(client, moduleManager, maxSizeOfArrayColumn, numOfSearchableValuesPerTag, null);
+    }
+
+    protected H2TableInstaller(Client client,
+                               ModuleManager moduleManager,
+                               int maxSizeOfArrayColumn,
+                               int numOfSearchableValuesPerTag,
+                               TablePartitioner partitioner) {
         super(client, moduleManager);
         this.maxSizeOfArrayColumn = maxSizeOfArrayColumn;
         this.numOfSearchableValuesPerTag = numOfSearchableValuesPerTag;
+        this.partitioner = partitioner;
     }
 
     @Override
@@ -68,23 +83,34 @@ public class H2TableInstaller extends ModelInstaller {
     protected void createTable(Model model) throws StorageException {
         JDBCHikariCPClient jdbcHikariCPClient = (JDBCHikariCPClient) client;
         try (Connection connection = jdbcHikariCPClient.getConnection()) {
+            final boolean partitioned = isPartitioned(model);
             SQLBuilder tableCreateSQL = new SQLBuilder("CREATE TABLE IF NOT EXISTS " + model.getName() + " (");
             /**
              * 512 is also the ElasticSearch ID size.
              */
-            tableCreateSQL.appendLine("id VARCHAR(512) PRIMARY KEY, ");
+            tableCreateSQL.appendLine("id VARCHAR(512)" + (partitioned ? ", " : " PRIMARY KEY, "));
             for (int i = 0; i < model.getColumns().size(); i++) {
                 ModelColumn column = model.getColumns().get(i);
                 tableCreateSQL.appendLine(
                     getColumn(column) + (i != model.getColumns().size() - 1 ? "," : ""));
             }
+            if (partitioned) {
+                // The partition column must be a part of the primary key.
+                tableCreateSQL.appendLine(", PRIMARY KEY (id, " + Metrics.TIME_BUCKET + ")");
+            }
             tableCreateSQL.appendLine(")");
+            if (partitioned) {
+                tableCreateSQL.append(partitioner.partitionBy(model));
+            }
 
             if (log.isDebugEnabled()) {
                 log.debug("creating table: " + tableCreateSQL.toStringInNewLine());
             }
 
             jdbcHikariCPClient.execute(connection, tableCreateSQL.toString());
+            if (partitioned) {
+                partitioner.afterTableCreated(connection, model);
+            }
 
             createTableIndexes(jdbcHikariCPClient, connection, model);
         } catch (JDBCClientException | SQLException e) {
@@ -92,6 +118,10 @@ public class H2TableInstaller extends ModelInstaller {
         }
     }
 
+    protected boolean isPartitioned(Model model) {
+        return partitioner != null && TablePartitioner.isPartitionable(model);
+    }
+
     /**
      * Set up the data type mapping between Java type and H2 database type
      */
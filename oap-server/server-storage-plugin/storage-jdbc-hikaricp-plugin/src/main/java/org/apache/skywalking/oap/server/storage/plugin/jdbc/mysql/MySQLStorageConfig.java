@@ -39,5 +39,25 @@ public class MySQLStorageConfig extends ModuleConfig {
      * @since 8.2.0
      */
     private int numOfSearchableValuesPerTag = 2;
+    /**
+     * Inherit from {@link org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.H2StorageConfig#getMaxSizeOfBatchSql()}
+     *
+     * @since 8.7.0
+     */
+    private int maxSizeOfBatchSql = 2000;
+    /**
+     * Inherit from {@link org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.H2StorageConfig#getAsyncBatchPersistentPoolSize()}
+     *
+     * @since 8.7.0
+     */
+    private int asyncBatchPersistentPoolSize = 4;
+    /**
+     * Partition the time series tables by day, the expired data is removed by dropping the whole partitions. Only
+     * work for the tables created with this option activated, the existing tables keep deleting the expired data row
+     * by row. PostgreSQL 11+ is required.
+     *
+     * @since 8.7.0
+     */
+    private boolean enableTablePartition = false;
     private Properties properties;
 }
@@ -44,12 +44,15 @@ import org.apache.skywalking.oap.server.core.storage.query.IMetricsQueryDAO;
 import org.apache.skywalking.oap.server.core.storage.query.ITopNRecordsQueryDAO;
 import org.apache.skywalking.oap.server.core.storage.query.ITopologyQueryDAO;
 import org.apache.skywalking.oap.server.core.storage.query.ITraceQueryDAO;
+import org.apache.skywalking.oap.server.core.worker.DataCarrierMonitor;
 import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
 import org.apache.skywalking.oap.server.library.module.ModuleConfig;
 import org.apache.skywalking.oap.server.library.module.ModuleDefine;
 import org.apache.skywalking.oap.server.library.module.ModuleProvider;
 import org.apache.skywalking.oap.server.library.module.ModuleStartException;
 import org.apache.skywalking.oap.server.library.module.ServiceNotProvidedException;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.TablePartitioner;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.UpsertDialect;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao.H2BatchDAO;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao.H2EventQueryDAO;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao.H2HistoryDeleteDAO;
@@ -77,6 +80,8 @@ public class MySQLStorageProvider extends ModuleProvider {
 
     private MySQLStorageConfig config;
     private JDBCHikariCPClient mysqlClient;
+    private H2BatchDAO batchDAO;
+    private TablePartitioner partitioner;
 
     public MySQLStorageProvider() {
         config = new MySQLStorageConfig();
@@ -102,12 +107,15 @@ public class MySQLStorageProvider extends ModuleProvider {
         this.registerServiceImplementation(StorageBuilderFactory.class, new StorageBuilderFactory.Default());
 
         mysqlClient = new JDBCHikariCPClient(config.getProperties());
+        partitioner = config.isEnableTablePartition() ? new MySQLTablePartitioner(mysqlClient) : null;
 
-        this.registerServiceImplementation(IBatchDAO.class, new H2BatchDAO(mysqlClient));
+        batchDAO = new H2BatchDAO(mysqlClient, config.getMaxSizeOfBatchSql(), config.getAsyncBatchPersistentPoolSize());
+        this.registerServiceImplementation(IBatchDAO.class, batchDAO);
         this.registerServiceImplementation(
             StorageDAO.class,
             new H2StorageDAO(
-                getManager(), mysqlClient, config.getMaxSizeOfArrayColumn(), config.getNumOfSearchableValuesPerTag())
+                getManager(), mysqlClient, config.getMaxSizeOfArrayColumn(), config.getNumOfSearchableValuesPerTag(),
+                UpsertDialect.MYSQL)
         );
         this.registerServiceImplementation(
             INetworkAddressAliasDAO.class, new H2NetworkAddressAliasDAO(mysqlClient));
@@ -133,7 +141,7 @@ public class MySQLStorageProvider extends ModuleProvider {
                 config.getMaxSizeOfArrayColumn(),
                 config.getNumOfSearchableValuesPerTag()));
         this.registerServiceImplementation(
-            IHistoryDeleteDAO.class, new H2HistoryDeleteDAO(mysqlClient));
+            IHistoryDeleteDAO.class, new H2HistoryDeleteDAO(mysqlClient, partitioner));
         this.registerServiceImplementation(ITopNRecordsQueryDAO.class, new H2TopNRecordsQueryDAO(mysqlClient));
         this.registerServiceImplementation(
             ILogQueryDAO.class,
@@ -156,6 +164,8 @@ public class MySQLStorageProvider extends ModuleProvider {
 
     @Override
     public void start() throws ServiceNotProvidedException, ModuleStartException {
+        batchDAO.setMonitor(new DataCarrierMonitor(getManager(), "H2BatchDAO"));
+
         final ConfigService configService = getManager().find(CoreModule.NAME)
                                                         .provider()
                                                         .getService(ConfigService.class);
@@ -185,7 +195,8 @@ public class MySQLStorageProvider extends ModuleProvider {
             mysqlClient.connect();
 
             MySQLTableInstaller installer = new MySQLTableInstaller(
-                mysqlClient, getManager(), config.getMaxSizeOfArrayColumn(), config.getNumOfSearchableValuesPerTag()
+                mysqlClient, getManager(), config.getMaxSizeOfArrayColumn(), config.getNumOfSearchableValuesPerTag(),
+                partitioner
             );
             getManager().find(CoreModule.NAME).provider().getService(ModelCreator.class).addModelListener(installer);
         } catch (StorageException e) {
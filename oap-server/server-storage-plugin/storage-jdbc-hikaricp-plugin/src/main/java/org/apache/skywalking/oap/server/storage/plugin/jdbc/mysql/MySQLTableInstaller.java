@@ -35,6 +35,7 @@ import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariC
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.SQLBuilder;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.TableMetaInfo;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.TablePartitioner;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao.H2TableInstaller;
 
 /**
@@ -42,11 +43,15 @@ import org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao.H2TableInstal
  */
 @Slf4j
 public class MySQLTableInstaller extends H2TableInstaller {
+    /**
+     * @param partitioner partition the time series tables, or null if the partition is disabled.
+     */
     public MySQLTableInstaller(Client client,
                                ModuleManager moduleManager,
                                int maxSizeOfArrayColumn,
-                               int numOfSearchableValuesPerTag) {
-        super(client, moduleManager, maxSizeOfArrayColumn, numOfSearchableValuesPerTag);
+                               int numOfSearchableValuesPerTag,
+                               TablePartitioner partitioner) {
+        super(client, moduleManager, maxSizeOfArrayColumn, numOfSearchableValuesPerTag, partitioner);
         /*
          * Override column because the default column names in core have syntax conflict with MySQL.
          */
@@ -61,6 +66,9 @@ public class MySQLTableInstaller extends H2TableInstaller {
         try (Connection conn = h2Client.getConnection()) {
             try (ResultSet rset = conn.getMetaData().getTables(conn.getCatalog(), null, model.getName(), null)) {
                 if (rset.next()) {
+                    if (isPartitioned(model)) {
+                        partitioner.afterTableExists(conn, model);
+                    }
                     return true;
                 }
             }
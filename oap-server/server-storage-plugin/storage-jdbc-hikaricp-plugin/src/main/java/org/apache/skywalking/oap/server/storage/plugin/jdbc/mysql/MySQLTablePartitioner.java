@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.mysql;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.apache.skywalking.oap.server.library.client.jdbc.JDBCClientException;
+import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.TablePartitioner;
+
+/**
+ * Partition the tables through the RANGE partitioning of MySQL, also available in TiDB.
+ */
+public class MySQLTablePartitioner extends TablePartitioner {
+    public MySQLTablePartitioner(JDBCHikariCPClient client) {
+        super(client);
+    }
+
+    @Override
+    public String partitionBy(Model model) {
+        return " PARTITION BY RANGE (" + Metrics.TIME_BUCKET + ") (PARTITION " + BOTTOM_PARTITION
+            + " VALUES LESS THAN (" + bottomBound(model) + "))";
+    }
+
+    @Override
+    protected void createBottomPartition(Connection connection, Model model) {
+        // The bottom partition is created with the table.
+    }
+
+    @Override
+    protected void createPartition(Connection connection, Model model, String partitionName, long from,
+                                   long to) throws JDBCClientException {
+        client.execute(
+            connection,
+            "ALTER TABLE " + model.getName()
+                + " ADD PARTITION (PARTITION " + partitionName + " VALUES LESS THAN (" + to + "))"
+        );
+    }
+
+    @Override
+    protected void dropPartition(Connection connection, Model model,
+                                 String partitionName) throws JDBCClientException {
+        client.execute(connection, "ALTER TABLE " + model.getName() + " DROP PARTITION " + partitionName);
+    }
+
+    @Override
+    protected List<String> listPartitions(Connection connection, Model model) throws JDBCClientException {
+        List<String> partitions = new ArrayList<>();
+        try (ResultSet resultSet = client.executeQuery(
+            connection,
+            "SELECT PARTITION_NAME FROM information_schema.PARTITIONS"
+                + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL",
+            model.getName()
+        )) {
+            while (resultSet.next()) {
+                partitions.add(resultSet.getString(1));
+            }
+        } catch (SQLException e) {
+            throw new JDBCClientException(e.getMessage(), e);
+        }
+        return partitions;
+    }
+}
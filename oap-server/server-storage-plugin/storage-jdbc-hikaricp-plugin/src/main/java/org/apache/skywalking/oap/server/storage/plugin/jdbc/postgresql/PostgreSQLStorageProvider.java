@@ -44,12 +44,15 @@ import org.apache.skywalking.oap.server.core.storage.query.IMetricsQueryDAO;
 import org.apache.skywalking.oap.server.core.storage.query.ITopNRecordsQueryDAO;
 import org.apache.skywalking.oap.server.core.storage.query.ITopologyQueryDAO;
 import org.apache.skywalking.oap.server.core.storage.query.ITraceQueryDAO;
+import org.apache.skywalking.oap.server.core.worker.DataCarrierMonitor;
 import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
 import org.apache.skywalking.oap.server.library.module.ModuleConfig;
 import org.apache.skywalking.oap.server.library.module.ModuleDefine;
 import org.apache.skywalking.oap.server.library.module.ModuleProvider;
 import org.apache.skywalking.oap.server.library.module.ModuleStartException;
 import org.apache.skywalking.oap.server.library.module.ServiceNotProvidedException;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.TablePartitioner;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.UpsertDialect;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao.H2BatchDAO;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao.H2EventQueryDAO;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao.H2HistoryDeleteDAO;
@@ -77,6 +80,8 @@ import org.apache.skywalking.oap.server.storage.plugin.jdbc.postgresql.dao.Postg
 public class PostgreSQLStorageProvider extends ModuleProvider {
     private PostgreSQLStorageConfig config;
     private JDBCHikariCPClient postgresqlClient;
+    private H2BatchDAO batchDAO;
+    private TablePartitioner partitioner;
 
     public PostgreSQLStorageProvider() {
         config = new PostgreSQLStorageConfig();
@@ -102,12 +107,16 @@ public class PostgreSQLStorageProvider extends ModuleProvider {
         this.registerServiceImplementation(StorageBuilderFactory.class, new StorageBuilderFactory.Default());
 
         postgresqlClient = new JDBCHikariCPClient(config.getProperties());
+        partitioner = config.isEnableTablePartition() ? new PostgreSQLTablePartitioner(postgresqlClient) : null;
 
-        this.registerServiceImplementation(IBatchDAO.class, new H2BatchDAO(postgresqlClient));
+        batchDAO = new H2BatchDAO(
+            postgresqlClient, config.getMaxSizeOfBatchSql(), config.getAsyncBatchPersistentPoolSize());
+        this.registerServiceImplementation(IBatchDAO.class, batchDAO);
         this.registerServiceImplementation(
                 StorageDAO.class,
                 new H2StorageDAO(
-                        getManager(), postgresqlClient, config.getMaxSizeOfArrayColumn(), config.getNumOfSearchableValuesPerTag())
+                        getManager(), postgresqlClient, config.getMaxSizeOfArrayColumn(), config.getNumOfSearchableValuesPerTag(),
+                        UpsertDialect.POSTGRESQL)
         );
         this.registerServiceImplementation(
                 INetworkAddressAliasDAO.class, new H2NetworkAddressAliasDAO(postgresqlClient));
@@ -134,7 +143,7 @@ public class PostgreSQLStorageProvider extends ModuleProvider {
                 config.getNumOfSearchableValuesPerTag()
         ));
         this.registerServiceImplementation(
-                IHistoryDeleteDAO.class, new H2HistoryDeleteDAO(postgresqlClient));
+                IHistoryDeleteDAO.class, new H2HistoryDeleteDAO(postgresqlClient, partitioner));
         this.registerServiceImplementation(ITopNRecordsQueryDAO.class, new H2TopNRecordsQueryDAO(postgresqlClient));
         this.registerServiceImplementation(
                 ILogQueryDAO.class,
@@ -156,6 +165,8 @@ public class PostgreSQLStorageProvider extends ModuleProvider {
 
     @Override
     public void start() throws ServiceNotProvidedException, ModuleStartException {
+        batchDAO.setMonitor(new DataCarrierMonitor(getManager(), "H2BatchDAO"));
+
         final ConfigService configService = getManager().find(CoreModule.NAME)
                 .provider()
                 .getService(ConfigService.class);
@@ -185,7 +196,8 @@ public class PostgreSQLStorageProvider extends ModuleProvider {
             postgresqlClient.connect();
 
             MySQLTableInstaller installer = new PostgreSQLTableInstaller(
-                    postgresqlClient, getManager(), config.getMaxSizeOfArrayColumn(), config.getNumOfSearchableValuesPerTag()
+                    postgresqlClient, getManager(), config.getMaxSizeOfArrayColumn(), config.getNumOfSearchableValuesPerTag(),
+                    partitioner
             );
             getManager().find(CoreModule.NAME).provider().getService(ModelCreator.class).addModelListener(installer);
         } catch (StorageException e) {
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.postgresql;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.apache.skywalking.oap.server.library.client.jdbc.JDBCClientException;
+import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.TablePartitioner;
+
+/**
+ * Partition the tables through the declarative partitioning of PostgreSQL 11+, every partition is a table named as
+ * {@code <table>_<partition>}.
+ */
+public class PostgreSQLTablePartitioner extends TablePartitioner {
+    public PostgreSQLTablePartitioner(JDBCHikariCPClient client) {
+        super(client);
+    }
+
+    @Override
+    public String partitionBy(Model model) {
+        return " PARTITION BY RANGE (" + Metrics.TIME_BUCKET + ")";
+    }
+
+    @Override
+    protected void createBottomPartition(Connection connection, Model model) throws JDBCClientException {
+        client.execute(
+            connection,
+            "CREATE TABLE IF NOT EXISTS " + partitionTable(model, BOTTOM_PARTITION) + " PARTITION OF " + model.getName()
+                + " FOR VALUES FROM (MINVALUE) TO (" + bottomBound(model) + ")"
+        );
+    }
+
+    @Override
+    protected void createPartition(Connection connection, Model model, String partitionName, long from,
+                                   long to) throws JDBCClientException {
+        client.execute(
+            connection,
+            "CREATE TABLE IF NOT EXISTS " + partitionTable(model, partitionName) + " PARTITION OF " + model.getName()
+                + " FOR VALUES FROM (" + from + ") TO (" + to + ")"
+        );
+    }
+
+    @Override
+    protected void dropPartition(Connection connection, Model model,
+                                 String partitionName) throws JDBCClientException {
+        client.execute(connection, "DROP TABLE IF EXISTS " + partitionTable(model, partitionName));
+    }
+
+    @Override
+    protected List<String> listPartitions(Connection connection, Model model) throws JDBCClientException {
+        String prefix = partitionTable(model, "");
+        List<String> partitions = new ArrayList<>();
+        try (ResultSet resultSet = client.executeQuery(
+            connection,
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid"
+                + " JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = ?",
+            model.getName()
+        )) {
+            while (resultSet.next()) {
+                String table = resultSet.getString(1);
+                if (table.startsWith(prefix)) {
+                    partitions.add(table.substring(prefix.length()));
+                }
+            }
+        } catch (SQLException e) {
+            throw new JDBCClientException(e.getMessage(), e);
+        }
+        return partitions;
+    }
+
+    private static String partitionTable(Model model, String partitionName) {
+        return model.getName() + "_" + partitionName;
+    }
+}
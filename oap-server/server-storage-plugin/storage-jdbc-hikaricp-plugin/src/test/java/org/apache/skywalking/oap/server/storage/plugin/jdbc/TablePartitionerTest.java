@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.joda.time.DateTime;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TablePartitionerTest {
+    private final Model minuteMetrics = model("metrics", DownSampling.Minute, false);
+    private final Model hourMetrics = model("metrics", DownSampling.Hour, false);
+    private final Model record = model("record", DownSampling.Second, true);
+
+    @Test
+    public void testCreatePartitions() throws Exception {
+        FakePartitioner partitioner = new FakePartitioner();
+        partitioner.afterTableCreated(null, record);
+
+        DateTime today = new DateTime().withTimeAtStartOfDay();
+        List<String> expected = new ArrayList<>();
+        expected.add(TablePartitioner.BOTTOM_PARTITION);
+        for (int i = 0; i <= 2; i++) {
+            expected.add("p" + today.plusDays(i).toString("yyyyMMdd"));
+        }
+        Assert.assertEquals(expected, new ArrayList<>(partitioner.partitions.keySet()));
+        Assert.assertTrue(TableMetaInfo.isPartitioned("record"));
+
+        // The first day partition hosts the time buckets after the bottom partition, the others host one day.
+        long[] first = partitioner.partitions.get(expected.get(1));
+        Assert.assertEquals(10_000_000_000_000L, first[0]);
+        Assert.assertEquals(Long.parseLong(today.plusDays(1).toString("yyyyMMdd")) * 1_000_000L, first[1]);
+        long[] last = partitioner.partitions.get(expected.get(3));
+        Assert.assertEquals(Long.parseLong(today.plusDays(2).toString("yyyyMMdd")) * 1_000_000L, last[0]);
+        Assert.assertEquals(Long.parseLong(today.plusDays(3).toString("yyyyMMdd")) * 1_000_000L, last[1]);
+
+        // Idempotent.
+        partitioner.createPartitions(null, record);
+        Assert.assertEquals(expected, new ArrayList<>(partitioner.partitions.keySet()));
+    }
+
+    @Test
+    public void testCreatePartitionsAfterTheLastOne() throws Exception {
+        FakePartitioner partitioner = new FakePartitioner();
+        DateTime today = new DateTime().withTimeAtStartOfDay();
+        String yesterday = "p" + today.plusDays(-1).toString("yyyyMMdd");
+        partitioner.partitions.put(TablePartitioner.BOTTOM_PARTITION, new long[] {Long.MIN_VALUE, 100_000_000_000L});
+        partitioner.partitions.put(yesterday, new long[] {100_000_000_000L, 0});
+        partitioner.afterTableExists(null, minuteMetrics);
+
+        Assert.assertTrue(TableMetaInfo.isPartitioned("metrics"));
+        Assert.assertEquals(5, partitioner.partitions.size());
+        long[] todayPartition = partitioner.partitions.get("p" + today.toString("yyyyMMdd"));
+        Assert.assertEquals(Long.parseLong(today.toString("yyyyMMdd")) * 10_000L, todayPartition[0]);
+        Assert.assertEquals(Long.parseLong(today.plusDays(1).toString("yyyyMMdd")) * 10_000L, todayPartition[1]);
+    }
+
+    @Test
+    public void testDropPartitions() throws Exception {
+        FakePartitioner partitioner = new FakePartitioner();
+        partitioner.partitions.put(TablePartitioner.BOTTOM_PARTITION, new long[0]);
+        partitioner.partitions.put("p20210601", new long[0]);
+        partitioner.partitions.put("p20210602", new long[0]);
+        partitioner.partitions.put("p20210603", new long[0]);
+
+        // Only the days before the day of the deadline.
+        Assert.assertEquals(1, partitioner.dropPartitions(null, minuteMetrics, 202106022359L));
+        Assert.assertEquals(2, partitioner.dropPartitions(null, minuteMetrics, 202106040000L));
+        Assert.assertEquals(
+            Collections.singletonList(TablePartitioner.BOTTOM_PARTITION), new ArrayList<>(partitioner.partitions.keySet()));
+    }
+
+    @Test
+    public void testPartitionedBy() {
+        Assert.assertTrue(TablePartitioner.isPartitionable(hourMetrics));
+        Assert.assertTrue(TablePartitioner.isPartitionedBy(minuteMetrics));
+        Assert.assertTrue(TablePartitioner.isPartitionedBy(record));
+        Assert.assertFalse(TablePartitioner.isPartitionedBy(hourMetrics));
+        Assert.assertFalse(TablePartitioner.isPartitionable(model("template", DownSampling.None, false)));
+    }
+
+    private static Model model(String name, DownSampling downSampling, boolean record) {
+        return new Model(
+            name, Collections.emptyList(), Collections.emptyList(), 0, downSampling, record, false, null, false);
+    }
+
+    private static class FakePartitioner extends TablePartitioner {
+        private final Map<String, long[]> partitions = new LinkedHashMap<>();
+
+        private FakePartitioner() {
+            super(null);
+        }
+
+        @Override
+        public String partitionBy(Model model) {
+            return "";
+        }
+
+        @Override
+        protected void createBottomPartition(Connection connection, Model model) {
+            partitions.put(BOTTOM_PARTITION, new long[] {Long.MIN_VALUE, bottomBound(model)});
+        }
+
+        @Override
+        protected void createPartition(Connection connection, Model model, String partitionName, long from, long to) {
+            Assert.assertFalse(partitions.containsKey(partitionName));
+            partitions.put(partitionName, new long[] {from, to});
+        }
+
+        @Override
+        protected void dropPartition(Connection connection, Model model, String partitionName) {
+            partitions.remove(partitionName);
+        }
+
+        @Override
+        protected List<String> listPartitions(Connection connection, Model model) {
+            return new ArrayList<>(partitions.keySet());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Properties;
+import org.apache.skywalking.oap.server.library.client.jdbc.JDBCClientException;
+import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
+import org.apache.skywalking.oap.server.library.client.request.PrepareRequest;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.SQLExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compare executing the statements one by one in the auto-commit mode with the JDBC batches, on the embedded H2.
+ */
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class H2BatchDAOBenchmark {
+    private static final String TABLE = "batch_test";
+
+    @Param({"1000"})
+    private int statements;
+
+    private JDBCHikariCPClient h2Client;
+    private H2BatchDAO batchDAO;
+    private List<PrepareRequest> requests;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JDBCClientException, SQLException {
+        Properties settings = new Properties();
+        settings.setProperty("dataSourceClassName", "org.h2.jdbcx.JdbcDataSource");
+        settings.setProperty("dataSource.url", "jdbc:h2:mem:batch-benchmark-db;DB_CLOSE_DELAY=-1");
+        settings.setProperty("dataSource.user", "");
+        settings.setProperty("dataSource.password", "");
+        h2Client = new JDBCHikariCPClient(settings);
+        h2Client.connect();
+        try (Connection connection = h2Client.getConnection()) {
+            h2Client.execute(connection, "CREATE TABLE " + TABLE + " (id VARCHAR(512) PRIMARY KEY, value BIGINT)");
+        }
+        batchDAO = new H2BatchDAO(h2Client, 2000, 1);
+        requests = H2BatchDAOTest.inserts(0, statements);
+    }
+
+    @Setup(Level.Invocation)
+    public void truncate() throws JDBCClientException, SQLException {
+        try (Connection connection = h2Client.getConnection()) {
+            h2Client.execute(connection, "TRUNCATE TABLE " + TABLE);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        h2Client.shutdown();
+    }
+
+    @Benchmark
+    public void singleStatements() throws JDBCClientException, SQLException {
+        try (Connection connection = h2Client.getConnection()) {
+            for (PrepareRequest request : requests) {
+                ((SQLExecutor) request).invoke(connection);
+            }
+        }
+    }
+
+    @Benchmark
+    public void batchStatements() {
+        batchDAO.flush(requests);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(H2BatchDAOBenchmark.class.getSimpleName())
+            .build();
+        new Runner(opt).run();
+    }
+}
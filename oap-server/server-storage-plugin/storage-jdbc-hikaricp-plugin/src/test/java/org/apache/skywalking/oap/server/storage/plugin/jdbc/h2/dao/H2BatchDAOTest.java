@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import org.apache.skywalking.oap.server.core.storage.model.ColumnName;
+import org.apache.skywalking.oap.server.core.storage.model.ModelColumn;
+import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
+import org.apache.skywalking.oap.server.library.client.request.PrepareRequest;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.SQLExecutor;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.UpsertDialect;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class H2BatchDAOTest {
+    private static final String TABLE = "batch_test";
+
+    private JDBCHikariCPClient h2Client;
+
+    @Before
+    public void setUp() throws Exception {
+        Properties settings = new Properties();
+        settings.setProperty("dataSourceClassName", "org.h2.jdbcx.JdbcDataSource");
+        settings.setProperty("dataSource.url", "jdbc:h2:mem:batch-test-db;DB_CLOSE_DELAY=-1");
+        settings.setProperty("dataSource.user", "");
+        settings.setProperty("dataSource.password", "");
+        h2Client = new JDBCHikariCPClient(settings);
+        h2Client.connect();
+        try (Connection connection = h2Client.getConnection()) {
+            h2Client.execute(connection, "CREATE TABLE " + TABLE + " (id VARCHAR(512) PRIMARY KEY, value BIGINT)");
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Connection connection = h2Client.getConnection()) {
+            h2Client.execute(connection, "DROP TABLE " + TABLE);
+        }
+        h2Client.shutdown();
+    }
+
+    @Test
+    public void testFlushInBatches() throws Exception {
+        H2BatchDAO batchDAO = new H2BatchDAO(h2Client, 100, 1);
+        batchDAO.flush(inserts(0, 250));
+
+        Assert.assertEquals(250, count());
+    }
+
+    @Test
+    public void testFlushInParallel() throws Exception {
+        H2BatchDAO batchDAO = new H2BatchDAO(h2Client, 10, 4);
+        batchDAO.flush(inserts(0, 95));
+        batchDAO.flush(Collections.singletonList(
+            new SQLExecutor("UPDATE " + TABLE + " SET value=? WHERE id=?", Arrays.<Object>asList(100L, "0"))));
+
+        Assert.assertEquals(95, count());
+        Assert.assertEquals(100L, valueOf("0"));
+    }
+
+    @Test
+    public void testFallbackToSingleStatements() throws Exception {
+        H2BatchDAO batchDAO = new H2BatchDAO(h2Client, 100, 1);
+        batchDAO.flush(inserts(5, 6));
+
+        // The duplicate id fails the batch, the rest of the statements are still persisted.
+        batchDAO.flush(inserts(0, 10));
+
+        Assert.assertEquals(10, count());
+    }
+
+    @Test
+    public void testUpsert() throws Exception {
+        H2BatchDAO batchDAO = new H2BatchDAO(h2Client, 100, 1);
+        batchDAO.flush(inserts(0, 5));
+
+        String sql = UpsertDialect.H2.build(TABLE, "(?,?)", Collections.emptyList());
+        List<PrepareRequest> requests = new ArrayList<>();
+        for (int i = 3; i < 8; i++) {
+            requests.add(new SQLExecutor(sql, Arrays.<Object>asList(String.valueOf(i), 10L + i)));
+        }
+        batchDAO.flush(requests);
+
+        Assert.assertEquals(8, count());
+        Assert.assertEquals(2L, valueOf("2"));
+        Assert.assertEquals(13L, valueOf("3"));
+        Assert.assertEquals(17L, valueOf("7"));
+    }
+
+    @Test
+    public void testUpsertDialects() {
+        List<ModelColumn> columns = Arrays.asList(column("value"), column("time_bucket"));
+
+        Assert.assertEquals(
+            "INSERT INTO t VALUES(?,?,?) ON DUPLICATE KEY UPDATE value=VALUES(value),time_bucket=VALUES(time_bucket)",
+            UpsertDialect.MYSQL.build("t", "(?,?,?)", columns)
+        );
+        Assert.assertEquals(
+            "INSERT INTO t VALUES(?,?,?) ON CONFLICT (id) DO UPDATE SET value=EXCLUDED.value,time_bucket=EXCLUDED.time_bucket",
+            UpsertDialect.POSTGRESQL.build("t", "(?,?,?)", columns)
+        );
+    }
+
+    static List<PrepareRequest> inserts(int from, int to) {
+        List<PrepareRequest> requests = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            requests.add(new SQLExecutor(
+                "INSERT INTO " + TABLE + " VALUES(?,?)", Arrays.<Object>asList(String.valueOf(i), (long) i)));
+        }
+        return requests;
+    }
+
+    private static ModelColumn column(String name) {
+        return new ModelColumn(new ColumnName("t", name), long.class, long.class, false, false, true, 0, null);
+    }
+
+    private int count() throws Exception {
+        try (Connection connection = h2Client.getConnection();
+             ResultSet resultSet = h2Client.executeQuery(connection, "SELECT COUNT(*) FROM " + TABLE)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private long valueOf(String id) throws Exception {
+        try (Connection connection = h2Client.getConnection();
+             ResultSet resultSet = h2Client.executeQuery(
+                 connection, "SELECT value FROM " + TABLE + " WHERE id=?", id)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
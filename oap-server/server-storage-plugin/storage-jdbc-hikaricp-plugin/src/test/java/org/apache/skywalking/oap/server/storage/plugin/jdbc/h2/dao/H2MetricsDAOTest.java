@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao;
+
+import com.google.gson.JsonObject;
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.analysis.manual.instance.InstanceTraffic;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.storage.StorageHashMapBuilder;
+import org.apache.skywalking.oap.server.core.storage.model.ColumnName;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.apache.skywalking.oap.server.core.storage.model.ModelColumn;
+import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.TableMetaInfo;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.UpsertDialect;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class H2MetricsDAOTest {
+    private static final long FIRST_TIME_BUCKET = 202106010800L;
+    private static final long PING_TIME_BUCKET = 202106021200L;
+
+    private JDBCHikariCPClient h2Client;
+    private Model model;
+    private H2MetricsDAO metricsDAO;
+
+    @Before
+    public void setUp() throws Exception {
+        Properties settings = new Properties();
+        settings.setProperty("dataSourceClassName", "org.h2.jdbcx.JdbcDataSource");
+        settings.setProperty("dataSource.url", "jdbc:h2:mem:metrics-test-db;DB_CLOSE_DELAY=-1");
+        settings.setProperty("dataSource.user", "");
+        settings.setProperty("dataSource.password", "");
+        h2Client = new JDBCHikariCPClient(settings);
+        h2Client.connect();
+
+        List<ModelColumn> columns = Arrays.asList(
+            column(InstanceTraffic.SERVICE_ID, String.class),
+            column(InstanceTraffic.NAME, String.class),
+            column(InstanceTraffic.LAST_PING_TIME_BUCKET, long.class),
+            column(InstanceTraffic.PROPERTIES, JsonObject.class),
+            column(Metrics.TIME_BUCKET, long.class)
+        );
+        model = new Model(
+            InstanceTraffic.INDEX_NAME, columns, Collections.emptyList(), 0, DownSampling.Minute, false, false, null,
+            false
+        );
+        TableMetaInfo.addModel(model);
+        try (Connection connection = h2Client.getConnection()) {
+            h2Client.execute(
+                connection,
+                "CREATE TABLE " + InstanceTraffic.INDEX_NAME + " (id VARCHAR(512) PRIMARY KEY, service_id VARCHAR(512),"
+                    + " name VARCHAR(512), last_ping BIGINT, properties VARCHAR(50000), time_bucket BIGINT)"
+            );
+        }
+
+        @SuppressWarnings("unchecked")
+        StorageHashMapBuilder<Metrics> builder = (StorageHashMapBuilder) new InstanceTraffic.Builder();
+        metricsDAO = new H2MetricsDAO(h2Client, builder, UpsertDialect.H2);
+
+        InstanceTraffic registered = instance(FIRST_TIME_BUCKET);
+        JsonObject properties = new JsonObject();
+        properties.addProperty(InstanceTraffic.PropertyUtil.LANGUAGE, "java");
+        registered.setProperties(properties);
+        try (Connection connection = h2Client.getConnection()) {
+            metricsDAO.prepareBatchInsert(model, registered).invoke(connection);
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Connection connection = h2Client.getConnection()) {
+            h2Client.execute(connection, "DROP TABLE " + InstanceTraffic.INDEX_NAME);
+        }
+        h2Client.shutdown();
+    }
+
+    @Test
+    public void testReadBackTrafficOfEarlierTimeBucket() throws Exception {
+        List<Metrics> result = metricsDAO.multiGet(model, Collections.singletonList(instance(PING_TIME_BUCKET)));
+
+        Assert.assertEquals(1, result.size());
+        InstanceTraffic stored = (InstanceTraffic) result.get(0);
+        Assert.assertEquals(FIRST_TIME_BUCKET, stored.getTimeBucket());
+        Assert.assertEquals("java", stored.getProperties().get(InstanceTraffic.PropertyUtil.LANGUAGE).getAsString());
+    }
+
+    @Test
+    public void testReadBackTrafficOfPartitionedTable() throws Exception {
+        TableMetaInfo.addPartitionedTable(InstanceTraffic.INDEX_NAME);
+
+        List<Metrics> result = metricsDAO.multiGet(model, Collections.singletonList(instance(PING_TIME_BUCKET)));
+
+        Assert.assertEquals(1, result.size());
+        Assert.assertEquals(FIRST_TIME_BUCKET, result.get(0).getTimeBucket());
+    }
+
+    private static InstanceTraffic instance(long timeBucket) {
+        InstanceTraffic instance = new InstanceTraffic();
+        instance.setServiceId("svc");
+        instance.setName("instance-1");
+        instance.setLastPingTimestamp(timeBucket);
+        instance.setTimeBucket(timeBucket);
+        return instance;
+    }
+
+    private static ModelColumn column(String name, Class<?> type) {
+        return new ModelColumn(
+            new ColumnName(InstanceTraffic.INDEX_NAME, name), type, type, false, false, false, 0, null);
+    }
+}
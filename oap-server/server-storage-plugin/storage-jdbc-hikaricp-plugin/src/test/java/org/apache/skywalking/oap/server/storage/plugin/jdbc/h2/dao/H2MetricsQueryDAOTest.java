@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao;
+
+import java.sql.Connection;
+import java.util.Properties;
+import org.apache.skywalking.oap.server.core.query.input.Duration;
+import org.apache.skywalking.oap.server.core.query.input.Entity;
+import org.apache.skywalking.oap.server.core.query.input.MetricsCondition;
+import org.apache.skywalking.oap.server.core.query.sql.Function;
+import org.apache.skywalking.oap.server.core.source.DefaultScopeDefine;
+import org.apache.skywalking.oap.server.core.storage.annotation.Column;
+import org.apache.skywalking.oap.server.core.storage.annotation.ValueColumnMetadata;
+import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class H2MetricsQueryDAOTest {
+    private static final String TABLE = "latest_test";
+
+    private JDBCHikariCPClient h2Client;
+
+    @Before
+    public void setUp() throws Exception {
+        Properties settings = new Properties();
+        settings.setProperty("dataSourceClassName", "org.h2.jdbcx.JdbcDataSource");
+        settings.setProperty("dataSource.url", "jdbc:h2:mem:metrics-query-test-db;DB_CLOSE_DELAY=-1");
+        settings.setProperty("dataSource.user", "");
+        settings.setProperty("dataSource.password", "");
+        h2Client = new JDBCHikariCPClient(settings);
+        h2Client.connect();
+        try (Connection connection = h2Client.getConnection()) {
+            h2Client.execute(
+                connection,
+                "CREATE TABLE " + TABLE + " (id VARCHAR(512) PRIMARY KEY, entity_id VARCHAR(512), time_bucket BIGINT, value BIGINT)"
+            );
+            insert(connection, "svc", 202106011200L, 5);
+            insert(connection, "svc", 202106011201L, 7);
+            insert(connection, "svc", 202106011202L, 0);
+            insert(connection, "svc", 202106011203L, 9);
+            insert(connection, "other", 202106011202L, 3);
+        }
+        ValueColumnMetadata.INSTANCE.putIfAbsent(
+            TABLE, "value", Column.ValueDataType.COMMON_VALUE, Function.Latest, 0, DefaultScopeDefine.SERVICE);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Connection connection = h2Client.getConnection()) {
+            h2Client.execute(connection, "DROP TABLE " + TABLE);
+        }
+        h2Client.shutdown();
+    }
+
+    @Test
+    public void testReadLatestValue() throws Exception {
+        H2MetricsQueryDAO queryDAO = new H2MetricsQueryDAO(h2Client);
+
+        // The default value of the last time bucket is skipped, and the time bucket out of the duration is excluded.
+        Assert.assertEquals(7L, queryDAO.readMetricsValue(condition("svc"), "value", duration()));
+        Assert.assertEquals(3L, queryDAO.readMetricsValue(condition("other"), "value", duration()));
+        Assert.assertEquals(0L, queryDAO.readMetricsValue(condition("none"), "value", duration()));
+    }
+
+    private void insert(Connection connection, String entityId, long timeBucket, long value) throws Exception {
+        h2Client.execute(
+            connection,
+            "INSERT INTO " + TABLE + " VALUES('" + timeBucket + "_" + entityId + "','" + entityId + "'," + timeBucket + "," + value + ")"
+        );
+    }
+
+    private static MetricsCondition condition(String entityId) {
+        Entity entity = mock(Entity.class);
+        when(entity.buildId()).thenReturn(entityId);
+        MetricsCondition condition = new MetricsCondition();
+        condition.setName(TABLE);
+        condition.setEntity(entity);
+        return condition;
+    }
+
+    private static Duration duration() {
+        Duration duration = mock(Duration.class);
+        when(duration.getStartTimeBucket()).thenReturn(202106011200L);
+        when(duration.getEndTimeBucket()).thenReturn(202106011202L);
+        return duration;
+    }
+}
@@ -18,53 +18,27 @@
 
 package org.apache.skywalking.oap.server.storage.plugin.jdbc.tidb;
 
-import java.io.IOException;
 import java.sql.Connection;
-import java.sql.SQLException;
-import org.apache.skywalking.oap.server.core.storage.IHistoryDeleteDAO;
-import org.apache.skywalking.oap.server.core.storage.model.Model;
 import org.apache.skywalking.oap.server.library.client.jdbc.JDBCClientException;
 import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
-import org.apache.skywalking.oap.server.storage.plugin.jdbc.SQLBuilder;
-import org.joda.time.DateTime;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.TablePartitioner;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao.H2HistoryDeleteDAO;
 
-public class TiDBHistoryDeleteDAO implements IHistoryDeleteDAO {
+/**
+ * Delete the rows in the small transactions, TiDB limits the size of a transaction.
+ */
+public class TiDBHistoryDeleteDAO extends H2HistoryDeleteDAO {
 
     private final JDBCHikariCPClient client;
 
-    public TiDBHistoryDeleteDAO(JDBCHikariCPClient client) {
+    public TiDBHistoryDeleteDAO(JDBCHikariCPClient client, TablePartitioner partitioner) {
+        super(client, partitioner);
         this.client = client;
     }
 
     @Override
-    public void deleteHistory(Model model, String timeBucketColumnName, int ttl) throws IOException {
-        SQLBuilder dataDeleteSQL = new SQLBuilder("delete from " + model.getName() + " where ")
-            .append(timeBucketColumnName).append("<= ? ")
-            .append(" limit 10000");
-
-        try (Connection connection = client.getConnection()) {
-            long deadline;
-            if (model.isRecord()) {
-                deadline = Long.parseLong(new DateTime().plusDays(-ttl).toString("yyyyMMddHHmmss"));
-            } else {
-                switch (model.getDownsampling()) {
-                    case Minute:
-                        deadline = Long.parseLong(new DateTime().plusDays(-ttl).toString("yyyyMMddHHmm"));
-                        break;
-                    case Hour:
-                        deadline = Long.parseLong(new DateTime().plusDays(-ttl).toString("yyyyMMddHH"));
-                        break;
-                    case Day:
-                        deadline = Long.parseLong(new DateTime().plusDays(-ttl).toString("yyyyMMdd"));
-                        break;
-                    default:
-                        return;
-                }
-            }
-            while (client.executeUpdate(connection, dataDeleteSQL.toString(), deadline) > 0) {
-            }
-        } catch (JDBCClientException | SQLException e) {
-            throw new IOException(e.getMessage(), e);
+    protected void deleteRows(Connection connection, String sql, long deadline) throws JDBCClientException {
+        while (client.executeUpdate(connection, sql + " limit 10000", deadline) > 0) {
         }
     }
 }
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.telemetry.prometheus;
+
+import io.prometheus.client.Collector;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * BucketedHistogram counts the observations in the pre-defined buckets with striped adders, the bucket is found by a
+ * binary search. The counts are accumulated into the Prometheus cumulative buckets only when scraped.
+ */
+class BucketedHistogram {
+    /**
+     * Same as the default buckets of the Prometheus client, fit the latency in seconds.
+     */
+    static final double[] DEFAULT_BUCKETS = {.005, .01, .025, .05, .075, .1, .25, .5, .75, 1, 2.5, 5, 7.5, 10};
+
+    private final double[] upperBounds;
+    private final LongAdder[] counts;
+    private final DoubleAdder sum = new DoubleAdder();
+
+    /**
+     * @param upperBounds built by {@link #upperBounds(double...)}, shared by the histograms of the same family.
+     */
+    BucketedHistogram(double[] upperBounds) {
+        this.upperBounds = upperBounds;
+        counts = new LongAdder[upperBounds.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @return the sorted upper bounds of the buckets, ending with the positive infinity. The default buckets are used
+     * if none is given.
+     */
+    static double[] upperBounds(double... buckets) {
+        double[] bounds = buckets.length > 0 ? buckets.clone() : DEFAULT_BUCKETS.clone();
+        Arrays.sort(bounds);
+        if (bounds[bounds.length - 1] != Double.POSITIVE_INFINITY) {
+            bounds = Arrays.copyOf(bounds, bounds.length + 1);
+            bounds[bounds.length - 1] = Double.POSITIVE_INFINITY;
+        }
+        return bounds;
+    }
+
+    void observe(double value) {
+        // Find the first bucket whose upper bound is not less than the value.
+        int low = 0;
+        int high = upperBounds.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (upperBounds[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        counts[low].increment();
+        sum.add(value);
+    }
+
+    static void write(BucketedHistogram histogram, String name, List<String> labelNames, List<String> labelValues,
+                      List<Collector.MetricFamilySamples.Sample> samples) {
+        List<String> bucketLabelNames = new ArrayList<>(labelNames.size() + 1);
+        bucketLabelNames.addAll(labelNames);
+        bucketLabelNames.add("le");
+        long count = 0;
+        for (int i = 0; i < histogram.upperBounds.length; i++) {
+            count += histogram.counts[i].sum();
+            List<String> bucketLabelValues = new ArrayList<>(labelValues.size() + 1);
+            bucketLabelValues.addAll(labelValues);
+            bucketLabelValues.add(Collector.doubleToGoString(histogram.upperBounds[i]));
+            samples.add(new Collector.MetricFamilySamples.Sample(
+                name + "_bucket", bucketLabelNames, bucketLabelValues, count));
+        }
+        samples.add(new Collector.MetricFamilySamples.Sample(name + "_count", labelNames, labelValues, count));
+        samples.add(new Collector.MetricFamilySamples.Sample(
+            name + "_sum", labelNames, labelValues, histogram.sum.sum()));
+    }
+}
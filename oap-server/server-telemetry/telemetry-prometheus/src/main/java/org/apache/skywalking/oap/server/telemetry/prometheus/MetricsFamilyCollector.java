@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.telemetry.prometheus;
+
+import io.prometheus.client.Collector;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import org.apache.skywalking.oap.server.telemetry.api.TelemetryRelatedContext;
+
+/**
+ * MetricsFamilyCollector holds the children of the metrics with the same name, and materializes them into the
+ * Prometheus samples only when scraped. The children are plain striped adders, so recording a value costs no more
+ * than the adder. The SkyWalking native label is appended at the scrape time, so the values recorded before the
+ * instance id is ready are kept too.
+ *
+ * @param <C> type of the child holding the values of one set of labels.
+ */
+class MetricsFamilyCollector<C> extends Collector {
+    private static final Map<String, MetricsFamilyCollector<?>> ALL_FAMILIES = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final String help;
+    private final Type type;
+    private final List<String> labelNames;
+    private final Supplier<C> childFactory;
+    private final SampleWriter<C> sampleWriter;
+    private final ConcurrentMap<List<String>, C> children = new ConcurrentHashMap<>();
+
+    private MetricsFamilyCollector(String name, String help, Type type, String[] labelNames,
+                                   Supplier<C> childFactory, SampleWriter<C> sampleWriter) {
+        this.name = name;
+        this.help = help;
+        this.type = type;
+        this.labelNames = new ArrayList<>(labelNames.length + 1);
+        this.labelNames.add("sw_backend_instance");
+        this.labelNames.addAll(Arrays.asList(labelNames));
+        this.childFactory = childFactory;
+        this.sampleWriter = sampleWriter;
+    }
+
+    /**
+     * Get the family of the name, it is created and registered if absent. Metrics name should be unique, the type,
+     * label names and child factory of the first registration are used, so all children of the family are alike, such
+     * as the histograms sharing the same buckets.
+     */
+    @SuppressWarnings("unchecked")
+    static <C> MetricsFamilyCollector<C> getOrRegister(String name, String help, Type type, String[] labelNames,
+                                                       Supplier<C> childFactory, SampleWriter<C> sampleWriter) {
+        return (MetricsFamilyCollector<C>) ALL_FAMILIES.computeIfAbsent(
+            name,
+            key -> new MetricsFamilyCollector<>(name, help, type, labelNames, childFactory, sampleWriter).register()
+        );
+    }
+
+    /**
+     * @return the child of the label values, the metrics created with the same label values share one child.
+     */
+    C child(String[] labelValues) {
+        return children.computeIfAbsent(Arrays.asList(labelValues), key -> childFactory.get());
+    }
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        final String instanceId = TelemetryRelatedContext.INSTANCE.getId();
+        if (instanceId == null) {
+            return Collections.emptyList();
+        }
+        List<MetricFamilySamples.Sample> samples = new ArrayList<>(children.size());
+        children.forEach((values, child) -> {
+            List<String> labelValues = new ArrayList<>(values.size() + 1);
+            labelValues.add(instanceId);
+            labelValues.addAll(values);
+            sampleWriter.write(child, name, labelNames, labelValues, samples);
+        });
+        return Collections.singletonList(new MetricFamilySamples(name, type, help, samples));
+    }
+
+    /**
+     * Write the samples of the child in the scrape.
+     */
+    interface SampleWriter<C> {
+        void write(C child, String name, List<String> labelNames, List<String> labelValues,
+                   List<MetricFamilySamples.Sample> samples);
+    }
+}
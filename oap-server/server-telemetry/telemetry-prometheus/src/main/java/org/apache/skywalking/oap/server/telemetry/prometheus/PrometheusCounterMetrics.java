@@ -18,37 +18,32 @@
 
 package org.apache.skywalking.oap.server.telemetry.prometheus;
 
-import io.prometheus.client.Counter;
+import io.prometheus.client.Collector;
+import java.util.concurrent.atomic.DoubleAdder;
 import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
 import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
 
 /**
- * Counter metrics in Prometheus implementor.
+ * Counter metrics in Prometheus implementor. The value is held in a striped adder, and read when scraped.
  */
-public class PrometheusCounterMetrics extends BaseMetrics<Counter, Counter.Child> implements CounterMetrics {
+public class PrometheusCounterMetrics implements CounterMetrics {
+    private final DoubleAdder value;
 
     public PrometheusCounterMetrics(String name, String tips, MetricsTag.Keys labels, MetricsTag.Values values) {
-        super(name, tips, labels, values);
+        this.value = MetricsFamilyCollector.<DoubleAdder>getOrRegister(
+            name, tips, Collector.Type.COUNTER, labels.getKeys(), DoubleAdder::new,
+            (child, sampleName, labelNames, labelValues, samples) -> samples.add(
+                new Collector.MetricFamilySamples.Sample(sampleName, labelNames, labelValues, child.sum()))
+        ).child(values.getValues());
     }
 
     @Override
     public void inc() {
-        Counter.Child metrics = this.getMetric();
-        if (metrics != null) {
-            metrics.inc();
-        }
+        value.add(1);
     }
 
     @Override
     public void inc(double value) {
-        Counter.Child metrics = this.getMetric();
-        if (metrics != null) {
-            metrics.inc(value);
-        }
-    }
-
-    @Override
-    protected Counter create(String[] labelNames) {
-        return Counter.build().name(name).help(tips).labelNames(labelNames).register();
+        this.value.add(value);
     }
 }
@@ -18,43 +18,28 @@
 
 package org.apache.skywalking.oap.server.telemetry.prometheus;
 
-import io.prometheus.client.Histogram;
+import io.prometheus.client.Collector;
 import org.apache.skywalking.oap.server.telemetry.api.HistogramMetrics;
 import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
 
 /**
- * HistogramMetrics metrics in Prometheus implementor.
+ * HistogramMetrics metrics in Prometheus implementor. The observations are counted in the pre-defined buckets, and
+ * accumulated when scraped. The buckets of the first registration of the name are used by all its label values.
  */
 public class PrometheusHistogramMetrics extends HistogramMetrics {
-    private InnerMetricObject inner;
-    private final double[] buckets;
+    private final BucketedHistogram histogram;
 
     public PrometheusHistogramMetrics(String name, String tips, MetricsTag.Keys labels, MetricsTag.Values values,
         double... buckets) {
-        inner = new InnerMetricObject(name, tips, labels, values);
-        this.buckets = buckets;
+        final double[] upperBounds = BucketedHistogram.upperBounds(buckets);
+        this.histogram = MetricsFamilyCollector.<BucketedHistogram>getOrRegister(
+            name, tips, Collector.Type.HISTOGRAM, labels.getKeys(),
+            () -> new BucketedHistogram(upperBounds), BucketedHistogram::write
+        ).child(values.getValues());
     }
 
     @Override
     public void observe(double value) {
-        Histogram.Child metrics = inner.getMetric();
-        if (metrics != null) {
-            metrics.observe(value);
-        }
-    }
-
-    class InnerMetricObject extends BaseMetrics<Histogram, Histogram.Child> {
-        public InnerMetricObject(String name, String tips, MetricsTag.Keys labels, MetricsTag.Values values) {
-            super(name, tips, labels, values);
-        }
-
-        @Override
-        protected Histogram create(String[] labelNames) {
-            Histogram.Builder builder = Histogram.build().name(name).help(tips);
-            if (builder != null && buckets.length > 0) {
-                builder = builder.buckets(buckets);
-            }
-            return builder.labelNames(labelNames).register();
-        }
+        histogram.observe(value);
     }
 }
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.telemetry.prometheus;
+
+import io.prometheus.client.Counter;
+import io.prometheus.client.Histogram;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.HistogramMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
+import org.apache.skywalking.oap.server.telemetry.api.TelemetryRelatedContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compare the counters and histograms recording the self-observability metrics with the ones of the Prometheus client,
+ * and with the legacy wrappers, which read the client child through {@link BaseMetrics#getMetric()} in every call.
+ * <pre>
+ * # JMH version: 1.21
+ * # VM version: JDK 1.8.0_392, OpenJDK 64-Bit Server VM, 25.392-b08
+ * # Warmup: 3 iterations, 10 s each
+ * # Measurement: 5 iterations, 10 s each
+ * # Threads: 4 threads, will synchronize iterations, on 1 CPU
+ *
+ * Benchmark                                    Mode  Cnt          Score          Error  Units
+ * PrometheusMetricsBenchmark.clientCounter    thrpt    5  127275374.572 ± 35773648.758  ops/s
+ * PrometheusMetricsBenchmark.clientHistogram  thrpt    5   60285428.622 ± 43961270.014  ops/s
+ * PrometheusMetricsBenchmark.counter          thrpt    5  203485979.550 ± 39973413.121  ops/s
+ * PrometheusMetricsBenchmark.histogram        thrpt    5   81753011.544 ± 25962944.040  ops/s
+ * PrometheusMetricsBenchmark.legacyCounter    thrpt    5  126220822.190 ± 75197444.200  ops/s
+ * PrometheusMetricsBenchmark.legacyHistogram  thrpt    5   48026335.910 ± 33696622.962  ops/s
+ * </pre>
+ * The 4 threads take turns on 1 CPU, so the adders are not contended in these results, and the differences are within
+ * the error.
+ */
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PrometheusMetricsBenchmark {
+    private Counter.Child clientCounter;
+    private Histogram.Child clientHistogram;
+    private CounterMetrics legacyCounter;
+    private HistogramMetrics legacyHistogram;
+    private CounterMetrics counter;
+    private HistogramMetrics histogram;
+
+    @Setup
+    public void setUp() {
+        clientCounter = Counter.build()
+                               .name("benchmark_client_counter")
+                               .help("Benchmark")
+                               .labelNames("sw_backend_instance", "tag")
+                               .create()
+                               .labels("oap", "benchmark");
+        clientHistogram = Histogram.build()
+                                   .name("benchmark_client_histogram")
+                                   .help("Benchmark")
+                                   .labelNames("sw_backend_instance", "tag")
+                                   .create()
+                                   .labels("oap", "benchmark");
+        TelemetryRelatedContext.INSTANCE.setId("oap");
+        legacyCounter = new LegacyCounterMetrics(
+            "benchmark_legacy_counter", "Benchmark", new MetricsTag.Keys("tag"), new MetricsTag.Values("benchmark"));
+        legacyHistogram = new LegacyHistogramMetrics(
+            "benchmark_legacy_histogram", "Benchmark", new MetricsTag.Keys("tag"), new MetricsTag.Values("benchmark"));
+        PrometheusMetricsCreator creator = new PrometheusMetricsCreator();
+        counter = creator.createCounter(
+            "benchmark_counter", "Benchmark", new MetricsTag.Keys("tag"), new MetricsTag.Values("benchmark"));
+        histogram = creator.createHistogramMetric(
+            "benchmark_histogram", "Benchmark", new MetricsTag.Keys("tag"), new MetricsTag.Values("benchmark"));
+    }
+
+    @Benchmark
+    public void clientCounter() {
+        clientCounter.inc();
+    }
+
+    @Benchmark
+    public void legacyCounter() {
+        legacyCounter.inc();
+    }
+
+    @Benchmark
+    public void counter() {
+        counter.inc();
+    }
+
+    @Benchmark
+    public void clientHistogram() {
+        clientHistogram.observe(0.3);
+    }
+
+    @Benchmark
+    public void legacyHistogram() {
+        legacyHistogram.observe(0.3);
+    }
+
+    @Benchmark
+    public void histogram() {
+        histogram.observe(0.3);
+    }
+
+    /**
+     * The counter wrapper before recording in the striped adders.
+     */
+    private static class LegacyCounterMetrics extends BaseMetrics<Counter, Counter.Child> implements CounterMetrics {
+        LegacyCounterMetrics(String name, String tips, MetricsTag.Keys labels, MetricsTag.Values values) {
+            super(name, tips, labels, values);
+        }
+
+        @Override
+        public void inc() {
+            Counter.Child metrics = this.getMetric();
+            if (metrics != null) {
+                metrics.inc();
+            }
+        }
+
+        @Override
+        public void inc(double value) {
+            Counter.Child metrics = this.getMetric();
+            if (metrics != null) {
+                metrics.inc(value);
+            }
+        }
+
+        @Override
+        protected Counter create(String[] labelNames) {
+            return Counter.build().name(name).help(tips).labelNames(labelNames).create();
+        }
+    }
+
+    /**
+     * The histogram wrapper before recording in the striped adders.
+     */
+    private static class LegacyHistogramMetrics extends HistogramMetrics {
+        private final BaseMetrics<Histogram, Histogram.Child> inner;
+
+        LegacyHistogramMetrics(String name, String tips, MetricsTag.Keys labels, MetricsTag.Values values) {
+            inner = new BaseMetrics<Histogram, Histogram.Child>(name, tips, labels, values) {
+                @Override
+                protected Histogram create(String[] labelNames) {
+                    return Histogram.build().name(name).help(tips).labelNames(labelNames).create();
+                }
+            };
+        }
+
+        @Override
+        public void observe(double value) {
+            Histogram.Child metrics = inner.getMetric();
+            if (metrics != null) {
+                metrics.observe(value);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(PrometheusMetricsBenchmark.class.getSimpleName())
+            .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.telemetry.prometheus;
+
+import io.prometheus.client.CollectorRegistry;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.HistogramMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
+import org.apache.skywalking.oap.server.telemetry.api.TelemetryRelatedContext;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class PrometheusMetricsTest {
+    private static final CollectorRegistry REGISTRY = CollectorRegistry.defaultRegistry;
+
+    @BeforeClass
+    public static void setUp() {
+        TelemetryRelatedContext.INSTANCE.setId("oap-test");
+    }
+
+    @Test
+    public void testCounter() {
+        PrometheusMetricsCreator creator = new PrometheusMetricsCreator();
+        CounterMetrics counter = creator.createCounter(
+            "test_counter", "Test counter", new MetricsTag.Keys("tag"), new MetricsTag.Values("a"));
+        CounterMetrics sameCounter = creator.createCounter(
+            "test_counter", "Test counter", new MetricsTag.Keys("tag"), new MetricsTag.Values("a"));
+        CounterMetrics otherCounter = creator.createCounter(
+            "test_counter", "Test counter", new MetricsTag.Keys("tag"), new MetricsTag.Values("b"));
+        counter.inc();
+        sameCounter.inc(2);
+        otherCounter.inc();
+
+        String[] labelNames = {"sw_backend_instance", "tag"};
+        Assert.assertEquals(3, REGISTRY.getSampleValue("test_counter", labelNames, new String[] {"oap-test", "a"}), 0);
+        Assert.assertEquals(1, REGISTRY.getSampleValue("test_counter", labelNames, new String[] {"oap-test", "b"}), 0);
+    }
+
+    @Test
+    public void testHistogram() {
+        HistogramMetrics histogram = new PrometheusMetricsCreator().createHistogramMetric(
+            "test_histogram", "Test histogram", MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE, 1, 10, 100);
+        histogram.observe(0.5);
+        histogram.observe(1);
+        histogram.observe(5);
+        histogram.observe(1000);
+
+        String[] labelNames = {"sw_backend_instance", "le"};
+        Assert.assertEquals(2, bucket(labelNames, "1.0"), 0);
+        Assert.assertEquals(3, bucket(labelNames, "10.0"), 0);
+        Assert.assertEquals(3, bucket(labelNames, "100.0"), 0);
+        Assert.assertEquals(4, bucket(labelNames, "+Inf"), 0);
+        Assert.assertEquals(
+            4, REGISTRY.getSampleValue("test_histogram_count", new String[] {"sw_backend_instance"},
+                                       new String[] {"oap-test"}
+            ), 0);
+        Assert.assertEquals(
+            1006.5, REGISTRY.getSampleValue("test_histogram_sum", new String[] {"sw_backend_instance"},
+                                            new String[] {"oap-test"}
+            ), 0);
+    }
+
+    @Test
+    public void testHistogramBucketsOfFamily() {
+        PrometheusMetricsCreator creator = new PrometheusMetricsCreator();
+        HistogramMetrics histogram = creator.createHistogramMetric(
+            "test_family_histogram", "Test histogram", new MetricsTag.Keys("tag"), new MetricsTag.Values("a"), 1, 10);
+        HistogramMetrics otherHistogram = creator.createHistogramMetric(
+            "test_family_histogram", "Test histogram", new MetricsTag.Keys("tag"), new MetricsTag.Values("b"), 5, 50);
+        histogram.observe(3);
+        otherHistogram.observe(3);
+
+        String[] labelNames = {"sw_backend_instance", "tag", "le"};
+        for (String tag : new String[] {"a", "b"}) {
+            Assert.assertEquals(0, REGISTRY.getSampleValue(
+                "test_family_histogram_bucket", labelNames, new String[] {"oap-test", tag, "1.0"}), 0);
+            Assert.assertEquals(1, REGISTRY.getSampleValue(
+                "test_family_histogram_bucket", labelNames, new String[] {"oap-test", tag, "10.0"}), 0);
+            Assert.assertNull(REGISTRY.getSampleValue(
+                "test_family_histogram_bucket", labelNames, new String[] {"oap-test", tag, "5.0"}));
+        }
+    }
+
+    private static double bucket(String[] labelNames, String le) {
+        return REGISTRY.getSampleValue("test_histogram_bucket", labelNames, new String[] {"oap-test", le});
+    }
+}